@@ -0,0 +1,111 @@
+package com.nhnacademy.dataprocessorservice.benchmark;
+
+import com.influxdb.client.WriteApi;
+import com.nhnacademy.dataprocessorservice.influx.InfluxHttpSender;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelCoalesceOptions;
+import com.nhnacademy.dataprocessorservice.model.ModelCoalescingDispatcher;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 외부 시스템(InfluxDB, 모델 API) 없이 핫패스만 측정하기 위한 인메모리 스텁 모음입니다.
+ */
+final class InMemoryStubs {
+
+    private InMemoryStubs() {
+    }
+
+    /**
+     * 모든 호출을 횟수만 세고 버리는 WriteApi
+     */
+    static WriteApi writeApi(LongAdder calls) {
+        return (WriteApi) Proxy.newProxyInstance(
+                WriteApi.class.getClassLoader(),
+                new Class<?>[]{WriteApi.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryWriteApi";
+                    default -> {
+                        calls.increment();
+                        yield null;
+                    }
+                });
+    }
+
+    /**
+     * line protocol 본문을 전송하지 않고 바이트 수만 세는 sender
+     */
+    static InfluxHttpSender influxSender(LongAdder bytes) {
+        return new InfluxHttpSender("http://localhost:8086", "token", "org", "bucket", 0, 0, 1000) {
+            @Override
+            public boolean send(byte[] body, int length) {
+                bytes.add(length);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * POST 요청을 네트워크 없이 성공 처리하는 RestTemplate
+     */
+    static RestTemplate restTemplate(LongAdder calls) {
+        return new RestTemplate() {
+            @Override
+            public <T> ResponseEntity<T> postForEntity(String url, Object request, Class<T> responseType,
+                                                       Object... uriVariables) {
+                calls.increment();
+                return ResponseEntity.ok().build();
+            }
+        };
+    }
+
+    /**
+     * 응답마다 {@code latencyMs}만큼 블로킹하는 느린 모델 API를 흉내 내는 RestTemplate
+     */
+    static RestTemplate slowRestTemplate(long latencyMs, LongAdder calls) {
+        return new RestTemplate() {
+            @Override
+            public <T> ResponseEntity<T> postForEntity(String url, Object request, Class<T> responseType,
+                                                       Object... uriVariables) {
+                try {
+                    Thread.sleep(latencyMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                calls.increment();
+                return ResponseEntity.ok().build();
+            }
+        };
+    }
+
+    /**
+     * 기동하지 않은 최신값 병합 dispatcher (단건/배치 전송 경로를 측정할 때 사용)
+     */
+    static ModelCoalescingDispatcher idleCoalescingDispatcher(ModelBatchDispatcher transport) {
+        return new ModelCoalescingDispatcher(transport, ModelCoalesceOptions.builder()
+                .intervalMs(1000)
+                .minIntervalMs(50)
+                .deltas(Map.of())
+                .build());
+    }
+
+    /**
+     * {@code @Value} 주입 필드를 스프링 컨텍스트 없이 채웁니다.
+     */
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("필드 주입 실패: " + name, e);
+        }
+    }
+}
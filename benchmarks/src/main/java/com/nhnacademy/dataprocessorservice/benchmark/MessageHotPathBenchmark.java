@@ -0,0 +1,221 @@
+package com.nhnacademy.dataprocessorservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriteOptions;
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriter;
+import com.nhnacademy.dataprocessorservice.ingest.BackpressurePolicy;
+import com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter;
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import com.nhnacademy.dataprocessorservice.ingest.LateSamplePolicy;
+import com.nhnacademy.dataprocessorservice.logging.MessageLogBudget;
+import com.nhnacademy.dataprocessorservice.logging.MessageLogMode;
+import com.nhnacademy.dataprocessorservice.metrics.IngestPathMeters;
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchOptions;
+import com.nhnacademy.dataprocessorservice.replay.CaptureRecorder;
+import com.nhnacademy.dataprocessorservice.sensor.SensorPayloadDecoder;
+import com.nhnacademy.dataprocessorservice.sensor.SensorReading;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeRegistry;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadata;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadataCache;
+import com.nhnacademy.dataprocessorservice.service.InfluxService;
+import com.nhnacademy.dataprocessorservice.stats.RollingStatsStore;
+import com.nhnacademy.dataprocessorservice.stats.SensorStats;
+import com.nhnacademy.dataprocessorservice.trace.TraceSampler;
+import com.nhnacademy.dataprocessorservice.service.ModelDispatcherService;
+import com.nhnacademy.dataprocessorservice.service.MqttSubscriberService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MQTT 메시지 한 건이 워커에서 처리되는 전체 경로와 각 단계를 인메모리 스텁 위에서 측정합니다.
+ * <p>
+ * 처리량(Throughput)과 지연 분포(SampleTime, p50/p99/p99.9)를 함께 보고하며,
+ * 할당률은 {@code -prof gc} 옵션으로 확인합니다.
+ * </p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageHotPathBenchmark {
+
+    @Param({"flat", "nested"})
+    public String shape;
+
+    @Param({"64"})
+    public int topicCount;
+
+    private String[] topics;
+    private byte[] payload;
+    private int cursor;
+    private long deviceTime = 1700000000000L;
+
+    private final LongAdder influxWrites = new LongAdder();
+    private final LongAdder modelPosts = new LongAdder();
+    private final LongAdder lineProtocolBytes = new LongAdder();
+
+    private TopicMetadataCache topicMetadataCache;
+    private RollingStatsStore rollingStatsStore;
+    private SensorPayloadDecoder decoder;
+    private InfluxService influxService;
+    private LineProtocolWriter lineProtocolWriter;
+    private ModelDispatcherService dispatcher;
+    private ModelBatchDispatcher batchDispatcher;
+    private MqttSubscriberService subscriber;
+    private DuplicateFilter duplicateFilter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        topics = new String[topicCount];
+        for (int i = 0; i < topicCount; i++) {
+            topics[i] = "data/s/nhnacademy/b/gyeongnam/p/room" + i + "/d/24e124128c06" + i + "/e/temperature";
+        }
+        payload = PayloadDecodeBenchmark.Payloads.of(shape, "temperature", System.currentTimeMillis(), 23.5);
+
+        SensorTypeRegistry sensorTypes = SensorTypeRegistry.defaults();
+        topicMetadataCache = new TopicMetadataCache(sensorTypes, 10_000);
+        rollingStatsStore = new RollingStatsStore(true, 64);
+        decoder = new SensorPayloadDecoder(new ObjectMapper());
+        influxService = new InfluxService(InMemoryStubs.writeApi(influxWrites));
+        lineProtocolWriter = new LineProtocolWriter(InMemoryStubs.influxSender(lineProtocolBytes),
+                LineProtocolWriteOptions.builder()
+                        .batchSize(5000)
+                        .flushIntervalMs(1000)
+                        .maxPendingBatches(16)
+                        .enqueueTimeoutMs(1000)
+                        .maxRetries(0)
+                        .retryIntervalMs(0)
+                        .requestTimeoutMs(1000)
+                        .build());
+        lineProtocolWriter.start();
+        batchDispatcher = new ModelBatchDispatcher(InMemoryStubs.restTemplate(modelPosts), Runnable::run,
+                "http://localhost/model", batchOptions());
+        batchDispatcher.start();
+        // 단건 전송은 호출 스레드에서 바로 실행해 요청 구성 비용까지 측정
+        ModelBatchDispatcher idleBatchDispatcher = new ModelBatchDispatcher(InMemoryStubs.restTemplate(modelPosts),
+                Runnable::run, "http://localhost/model", batchOptions());
+        dispatcher = new ModelDispatcherService(InMemoryStubs.restTemplate(modelPosts), Runnable::run, idleBatchDispatcher,
+                InMemoryStubs.idleCoalescingDispatcher(idleBatchDispatcher), sensorTypes, ModelApiGuard.disabled());
+        InMemoryStubs.setField(dispatcher, "modelApiUrl", "http://localhost/model");
+
+        // processMessage 경로는 MQTT 연결을 사용하지 않음 (연결은 MqttSubscriptionManager 담당)
+        IngestPipeline pipeline = new IngestPipeline(1, 1, BackpressurePolicy.BLOCK, 0, System.getProperty("java.io.tmpdir"), false);
+        subscriber = new MqttSubscriberService(influxService, dispatcher, decoder, pipeline,
+                topicMetadataCache, rollingStatsStore, new TraceSampler(0.01), new MessageLogBudget(MessageLogMode.SUMMARY, 1),
+                new IngestPathMeters(new SimpleMeterRegistry()),
+                // 고정 페이로드의 time이 매번 같아 중복 확인을 켜면 두 번째부터 모두 중복으로 걸러짐, 비용은 duplicateCheck로 따로 측정
+                new DuplicateFilter(false, 16, 600_000, 100_000, LateSamplePolicy.ACCEPT),
+                CaptureRecorder.disabled());
+        duplicateFilter = new DuplicateFilter(true, 16, 600_000, 100_000, LateSamplePolicy.ACCEPT);
+        InMemoryStubs.setField(subscriber, "serviceName", "data-processor-service");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        lineProtocolWriter.close();
+        batchDispatcher.close();
+    }
+
+    private static ModelBatchOptions batchOptions() {
+        return ModelBatchOptions.builder()
+                .windowMs(200)
+                .maxBatchSize(100)
+                .maxPendingBatches(64)
+                .maxInFlight(4)
+                .enqueueTimeoutMs(1000)
+                .build();
+    }
+
+    private String nextTopic() {
+        int i = cursor++;
+        if (cursor == topics.length) {
+            cursor = 0;
+        }
+        return topics[i];
+    }
+
+    /** 토픽 해석 → 페이로드 디코딩 → Influx Point 생성 → 모델 전송(동기) 전체 */
+    @Benchmark
+    public void processMessage() {
+        subscriber.processMessage(nextTopic(), payload);
+    }
+
+    @Benchmark
+    public TopicMetadata topicExtraction() {
+        return topicMetadataCache.resolve(nextTopic());
+    }
+
+    @Benchmark
+    public SensorReading payloadParsing() {
+        return decoder.decode(payload, "temperature");
+    }
+
+    @Benchmark
+    public void influxPointWrite() {
+        influxService.writeSensorData("room1", "temperature", 23.5);
+    }
+
+    /** 배치 line protocol writer (인코딩/전송은 flush 스레드에서 수행) */
+    @Benchmark
+    public void lineProtocolWrite() {
+        lineProtocolWriter.write("sensor", "room1", "temperature", 23.5, 1700000000000L);
+    }
+
+    @Benchmark
+    public void modelDispatch() {
+        dispatcher.dispatch("room1", "temperature", 23.5);
+    }
+
+    /** 위치별 배치 버퍼에 추가 (직렬화/전송은 flush 스레드에서 수행) */
+    @Benchmark
+    public void modelBatchDispatch() {
+        batchDispatcher.add("room1", "temperature", 23.5);
+    }
+
+    @Benchmark
+    public void rollingStatsRecord() {
+        rollingStatsStore.record("room1", "temperature", 23.5, 1700000000000L);
+    }
+
+    /** 토픽별 최근 측정 시각 링에서 중복 확인 후 추가 (새 샘플 경로) */
+    @Benchmark
+    public DuplicateFilter.Verdict duplicateCheck() {
+        return duplicateFilter.check(nextTopic(), deviceTime++);
+    }
+
+    /** 대시보드 실시간 조회 한 건 (1m/5m/1h 집계 포함) */
+    @Benchmark
+    public SensorStats rollingStatsRead() {
+        return rollingStatsStore.find("room1", "temperature").orElse(null);
+    }
+
+    /** 변경 전 토픽 해석 방식 (split + substring + Set.of), 회귀 비교 기준 */
+    @Benchmark
+    public void legacyTopicExtraction(Blackhole bh) {
+        String topic = nextTopic();
+        String[] parts = topic.split("/");
+        bh.consume(parts[parts.length - 3]);
+        String type = topic.substring(topic.lastIndexOf('/') + 1);
+        bh.consume(java.util.Set.of("temperature", "humidity", "co2", "battery", "illumination").contains(type));
+    }
+}
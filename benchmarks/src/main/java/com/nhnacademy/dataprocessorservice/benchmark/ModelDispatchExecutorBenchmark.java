@@ -0,0 +1,111 @@
+package com.nhnacademy.dataprocessorservice.benchmark;
+
+import com.nhnacademy.dataprocessorservice.concurrent.BoundedVirtualThreadExecutor;
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchOptions;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeRegistry;
+import com.nhnacademy.dataprocessorservice.service.ModelDispatcherService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 느린 모델 API 앞에서 플랫폼 스레드 풀과 virtual thread executor의 단건 전송 처리량/지연을 비교합니다.
+ * <p>
+ * 한 번의 호출마다 {@value #BURST}건을 연달아 dispatch 하고 모두 응답받을 때까지 기다리므로,
+ * Throughput은 초당 처리 샘플 수, SampleTime의 p99/p99.9는 버스트 완료까지의 꼬리 지연을 나타냅니다.
+ * </p>
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelDispatchExecutorBenchmark {
+
+    private static final int BURST = 1000;
+
+    /** pool: 기존 ThreadPoolTaskExecutor, virtual: 세마포어 한도의 virtual thread executor */
+    @Param({"pool", "virtual"})
+    public String executor;
+
+    /** 모델 API 응답 지연 (ms) */
+    @Param({"20"})
+    public long modelLatencyMs;
+
+    /** pool 모드의 최대 스레드 수 / virtual 모드의 동시 실행 한도 */
+    @Param({"16", "256"})
+    public int concurrency;
+
+    private final LongAdder modelPosts = new LongAdder();
+    private Executor dispatchExecutor;
+    private ModelDispatcherService dispatcher;
+    private ModelBatchDispatcher idleBatchDispatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("virtual".equals(executor)) {
+            dispatchExecutor = new BoundedVirtualThreadExecutor("bench-dispatch-", concurrency, 60_000);
+        } else {
+            ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+            pool.setCorePoolSize(concurrency);
+            pool.setMaxPoolSize(concurrency);
+            pool.setQueueCapacity(BURST);
+            pool.setThreadNamePrefix("bench-dispatch-");
+            pool.initialize();
+            dispatchExecutor = pool;
+        }
+        idleBatchDispatcher = new ModelBatchDispatcher(InMemoryStubs.restTemplate(new LongAdder()), Runnable::run,
+                "http://localhost/model", ModelBatchOptions.builder()
+                .windowMs(200)
+                .maxBatchSize(100)
+                .maxPendingBatches(1)
+                .maxInFlight(1)
+                .enqueueTimeoutMs(0)
+                .build());
+        dispatcher = new ModelDispatcherService(InMemoryStubs.slowRestTemplate(modelLatencyMs, modelPosts),
+                dispatchExecutor, idleBatchDispatcher, InMemoryStubs.idleCoalescingDispatcher(idleBatchDispatcher),
+                SensorTypeRegistry.defaults(), ModelApiGuard.disabled());
+        InMemoryStubs.setField(dispatcher, "modelApiUrl", "http://localhost/model");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dispatchExecutor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (dispatchExecutor instanceof BoundedVirtualThreadExecutor virtual) {
+            virtual.close();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void dispatchBurst() {
+        long target = modelPosts.sum() + dispatcher.rejectedSamples() + BURST;
+        for (int i = 0; i < BURST; i++) {
+            dispatcher.dispatch("room" + (i & 63), "temperature", i);
+        }
+        while (modelPosts.sum() + dispatcher.rejectedSamples() < target) {
+            LockSupport.parkNanos(100_000);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nhnacademy.dataprocessorservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.dataprocessorservice.dto.SensorDataDto;
+import com.nhnacademy.dataprocessorservice.sensor.SensorPayloadDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 ObjectMapper → SensorDataDto 경로와 스트리밍 디코더의 페이로드 파싱 비용을 비교합니다.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadDecodeBenchmark {
+
+    @Param({"flat", "nested"})
+    public String shape;
+
+    private static final String TYPE = "temperature";
+
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+    private SensorPayloadDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        decoder = new SensorPayloadDecoder(objectMapper);
+        payload = Payloads.of(shape, TYPE, System.currentTimeMillis(), 23.5);
+    }
+
+    @Benchmark
+    public double objectMapperDto() throws Exception {
+        // 변경 전 MqttSubscriberService 경로: String 변환 → DTO 바인딩 → instanceof 탐색
+        SensorDataDto dto = objectMapper.readValue(new String(payload), SensorDataDto.class);
+        Object v = dto.getValue();
+        if (v instanceof Number) return ((Number) v).doubleValue() + dto.getTime();
+        if (v instanceof LinkedHashMap) {
+            Object inner = ((LinkedHashMap<?, ?>) v).get(TYPE);
+            if (inner instanceof Number) return ((Number) inner).doubleValue() + dto.getTime();
+        }
+        throw new IllegalStateException("unexpected payload");
+    }
+
+    @Benchmark
+    public double streamingDecoder() {
+        var reading = decoder.decode(payload, TYPE);
+        return reading.value() + reading.time();
+    }
+
+    /**
+     * 벤치마크 공용 페이로드 생성기
+     */
+    static final class Payloads {
+        private Payloads() {
+        }
+
+        static byte[] of(String shape, String type, long time, double value) {
+            String json = switch (shape) {
+                case "flat" -> "{\"time\":" + time + ",\"value\":" + value + "}";
+                case "nested" -> "{\"time\":" + time + ",\"value\":{\"humidity\":41.2,\"" + type + "\":" + value
+                        + ",\"co2\":612,\"battery\":97}}";
+                default -> throw new IllegalArgumentException(shape);
+            };
+            return json.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
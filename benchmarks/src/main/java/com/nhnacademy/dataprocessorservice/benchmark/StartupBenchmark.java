@@ -0,0 +1,172 @@
+package com.nhnacademy.dataprocessorservice.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 패키징된 서비스의 기동 시간(프로세스 시작부터 HTTP 요청에 응답할 때까지)을 측정합니다.
+ * <p>
+ * {@code mvn -Pfast-start package}로 만든 {@code target/fast-start}의 jar를 JVM 옵션만 바꿔 매번 새 프로세스로 띄웁니다.
+ * Config 서버와 Eureka는 기본적으로 끄므로 외부 서비스 없이 실행되며, MQTT 브로커 주소는 연결만 받고 응답하지 않는
+ * 소켓으로 지정해 브로커 핸드셰이크가 기동을 막지 않는지도 함께 확인합니다.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    private static final String JAR = "data-processor-service.jar";
+    private static final String CDS_ARCHIVE = "application.jsa";
+    private static final Duration READY_TIMEOUT = Duration.ofSeconds(60);
+
+    /** plain: 기존 실행, aot: AOT 빈 정의 사용, aot-cds: AOT + 학습 실행으로 만든 CDS 아카이브 */
+    @Param({"plain", "aot", "aot-cds"})
+    public String variant;
+
+    /** 풀어낸 jar가 있는 디렉터리 (작업 디렉터리 기준) */
+    @Param({"target/fast-start"})
+    public String appDir;
+
+    /** 비우면 Config 서버를 쓰지 않음 (예: http://localhost:10267) */
+    @Param({""})
+    public String configServer;
+
+    /** 비우면 Eureka 등록/조회를 하지 않음 (예: http://localhost:8761/eureka) */
+    @Param({""})
+    public String eurekaUrl;
+
+    private Path dir;
+    private ServerSocket silentBroker;
+    private HttpClient http;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Path.of(appDir).toAbsolutePath();
+        if (!Files.isRegularFile(dir.resolve(JAR))) {
+            throw new IllegalStateException(dir.resolve(JAR) + " 이(가) 없습니다. 먼저 mvn -Pfast-start package 를 실행하세요.");
+        }
+        if ("aot-cds".equals(variant) && !Files.isRegularFile(dir.resolve(CDS_ARCHIVE))) {
+            throw new IllegalStateException(dir.resolve(CDS_ARCHIVE) + " 이(가) 없습니다 (CDS 학습 실행 결과).");
+        }
+        // accept 하지 않아도 커널 backlog에서 TCP 연결은 성립하고, CONNACK은 오지 않음
+        silentBroker = new ServerSocket(0);
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        silentBroker.close();
+    }
+
+    @Benchmark
+    public int startUntilReady() throws Exception {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .directory(dir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("startup-benchmark.log").toFile())
+                .start();
+        HttpRequest ready = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/info"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("서비스가 기동 중 종료되었습니다 (exit=" + process.exitValue()
+                        + "), 로그: " + dir.resolve("startup-benchmark.log"));
+            }
+            try {
+                return http.send(ready, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException notYet) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+        throw new IllegalStateException(READY_TIMEOUT + " 안에 기동하지 못했습니다, 로그: " + dir.resolve("startup-benchmark.log"));
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopService() throws InterruptedException {
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        process = null;
+    }
+
+    /**
+     * 학습 실행과 같은 클래스패스(작업 디렉터리 기준 상대 경로)로 실행해야 CDS 아카이브가 사용됩니다.
+     */
+    private List<String> command(int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!"plain".equals(variant)) {
+            command.add("-Dspring.aot.enabled=true");
+        }
+        if ("aot-cds".equals(variant)) {
+            command.add("-XX:SharedArchiveFile=" + CDS_ARCHIVE);
+        }
+        command.add("-jar");
+        command.add(JAR);
+        command.add("--server.port=" + port);
+        command.add("--spring.main.banner-mode=off");
+        command.add("--logging.level.root=WARN");
+        if (configServer.isEmpty()) {
+            command.add("--spring.cloud.config.enabled=false");
+        } else {
+            command.add("--spring.cloud.config.uri=" + configServer);
+        }
+        if (eurekaUrl.isEmpty()) {
+            command.add("--eureka.client.register-with-eureka=false");
+            command.add("--eureka.client.fetch-registry=false");
+        } else {
+            command.add("--eureka.client.service-url.defaultZone=" + eurekaUrl);
+        }
+        command.add("--mqtt.broker.url=tcp://localhost:" + silentBroker.getLocalPort());
+        command.add("--mqtt.client.id=dps-startup-bench");
+        command.add("--mqtt.topic=data/#");
+        command.add("--influxdb.url=http://localhost:8086");
+        command.add("--influxdb.token=startup");
+        command.add("--influxdb.org=startup");
+        command.add("--influxdb.bucket=startup");
+        command.add("--model.api-url=http://localhost:8000/predict");
+        return command;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
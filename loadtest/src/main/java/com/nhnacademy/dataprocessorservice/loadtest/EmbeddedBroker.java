@@ -0,0 +1,60 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.IConfig;
+import io.moquette.broker.config.MemoryConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.Properties;
+
+/**
+ * 부하 테스트 프로세스 안에서 띄우는 Moquette MQTT 브로커입니다.
+ * <p>
+ * 익명 접속을 허용하고 세션을 디스크에 저장하지 않으며, 루프백의 빈 포트에서 TCP만 엽니다.
+ * </p>
+ */
+@Slf4j
+final class EmbeddedBroker implements AutoCloseable {
+
+    private static final String HOST = "127.0.0.1";
+
+    private final Server server = new Server();
+    private final int port;
+
+    private EmbeddedBroker(int port) {
+        this.port = port;
+    }
+
+    static EmbeddedBroker start() throws IOException {
+        EmbeddedBroker broker = new EmbeddedBroker(freePort());
+        Properties properties = new Properties();
+        properties.setProperty(IConfig.HOST_PROPERTY_NAME, HOST);
+        properties.setProperty(IConfig.PORT_PROPERTY_NAME, String.valueOf(broker.port));
+        properties.setProperty(IConfig.WEB_SOCKET_PORT_PROPERTY_NAME, "disabled");
+        properties.setProperty(IConfig.ALLOW_ANONYMOUS_PROPERTY_NAME, "true");
+        properties.setProperty(IConfig.PERSISTENCE_ENABLED_PROPERTY_NAME, "false");
+        broker.server.startServer(new MemoryConfig(properties));
+        log.info("🚀 내장 MQTT 브로커 기동: {}", broker.url());
+        return broker;
+    }
+
+    String url() {
+        return "tcp://" + HOST + ":" + port;
+    }
+
+    @Override
+    public void close() {
+        server.stopServer();
+    }
+
+    static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException("빈 포트를 찾지 못했습니다", e);
+        }
+    }
+}
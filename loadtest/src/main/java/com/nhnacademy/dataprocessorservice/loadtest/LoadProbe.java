@@ -0,0 +1,219 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriter;
+import com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter;
+import com.nhnacademy.dataprocessorservice.ingest.IngestMetrics;
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttDeliveryCounters;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttSubscriptionManager;
+import com.nhnacademy.dataprocessorservice.service.ModelDispatcherService;
+import com.sun.management.GarbageCollectionNotificationInfo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationContext;
+
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * 발행기, 스텁, 서비스 내부 카운터와 JVM GC 통계를 한 시점에 모아 읽습니다.
+ * <p>
+ * 카운터는 모두 누적값이므로 두 스냅샷의 차({@link Snapshot#minus})로 구간 값을 구합니다.
+ * GC 이벤트 시간은 JMX 알림으로 받아 히스토그램에 기록합니다 (동시 수집기의 경우 동시 단계 시간이 포함될 수 있음).
+ * </p>
+ */
+final class LoadProbe implements AutoCloseable {
+
+    private final LoadPublisher publisher;
+    private final StubInfluxServer influx;
+    private final StubModelServer model;
+    private final IngestMetrics ingestMetrics;
+    private final MqttDeliveryCounters deliveryCounters;
+    private final LineProtocolWriter lineProtocolWriter;
+    private final ModelDispatcherService modelDispatcher;
+    private final DuplicateFilter duplicateFilter;
+    private final ModelApiGuard modelGuard;
+    private final MeterRegistry meterRegistry;
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final LatencyHistogram gcEventMillis = new LatencyHistogram();
+    private final NotificationListener gcListener = (notification, handback) -> {
+        if (GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            gcEventMillis.record(info.getGcInfo().getDuration());
+        }
+    };
+
+    LoadProbe(ApplicationContext context, LoadPublisher publisher, StubInfluxServer influx, StubModelServer model) {
+        this.publisher = publisher;
+        this.influx = influx;
+        this.model = model;
+        this.ingestMetrics = context.getBean(IngestPipeline.class).metrics();
+        this.deliveryCounters = context.getBean(MqttSubscriptionManager.class).counters();
+        this.lineProtocolWriter = context.getBean(LineProtocolWriter.class);
+        this.modelDispatcher = context.getBean(ModelDispatcherService.class);
+        this.duplicateFilter = context.getBean(DuplicateFilter.class);
+        this.modelGuard = context.getBean(ModelApiGuard.class);
+        this.meterRegistry = context.getBean(MeterRegistry.class);
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+            }
+        }
+    }
+
+    /**
+     * 워밍업이 끝난 시점에 지연/GC 히스토그램을 비웁니다.
+     */
+    void resetHistograms() {
+        influx.endToEndMillis().reset();
+        gcEventMillis.reset();
+    }
+
+    LatencyHistogram endToEndMillis() {
+        return influx.endToEndMillis();
+    }
+
+    LatencyHistogram gcEventMillis() {
+        return gcEventMillis;
+    }
+
+    ModelApiGuard modelGuard() {
+        return modelGuard;
+    }
+
+    Snapshot snapshot() {
+        long gcCount = 0;
+        long gcTimeMs = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            gcCount += Math.max(0, collector.getCollectionCount());
+            gcTimeMs += Math.max(0, collector.getCollectionTime());
+        }
+        return new Snapshot(
+                System.nanoTime(),
+                publisher.published(),
+                publisher.publishedValid(),
+                publisher.published(PayloadMix.Kind.BAD),
+                publisher.published(PayloadMix.Kind.UNKNOWN),
+                publisher.rejected(),
+                publisher.behind(),
+                deliveryCounters.arrived(),
+                deliveryCounters.dropped(),
+                ingestMetrics.processed(),
+                ingestMetrics.failed(),
+                ingestMetrics.dropped(),
+                ingestMetrics.spilled(),
+                sum("dps.messages.invalid"),
+                sum("dps.messages.unsupported"),
+                influx.rawPoints(),
+                influx.otherPoints(),
+                influx.requests(),
+                lineProtocolWriter.droppedPoints(),
+                model.requests(),
+                model.errors(),
+                modelDispatcher.rejectedSamples(),
+                modelGuard.rejectedByLimit() + modelGuard.rejectedByBreaker(),
+                modelGuard.openedCount(),
+                duplicateFilter.duplicates(),
+                duplicateFilter.droppedLate(),
+                gcCount,
+                gcTimeMs);
+    }
+
+    private long sum(String counterName) {
+        double total = 0;
+        for (Counter counter : meterRegistry.find(counterName).counters()) {
+            total += counter.count();
+        }
+        return (long) total;
+    }
+
+    @Override
+    public void close() {
+        for (GarbageCollectorMXBean collector : collectors) {
+            if (collector instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(gcListener);
+                } catch (Exception ignored) {
+                    // 이미 제거된 경우
+                }
+            }
+        }
+    }
+
+    /**
+     * 한 시점의 누적 카운터 묶음입니다.
+     */
+    record Snapshot(
+            long nanoTime,
+            long published,
+            long publishedValid,
+            long publishedBad,
+            long publishedUnknown,
+            long publishRejected,
+            long publishBehind,
+            long mqttArrived,
+            long routeDropped,
+            long processed,
+            long processFailed,
+            long ingestDropped,
+            long ingestSpilled,
+            long invalid,
+            long unsupported,
+            long influxPoints,
+            long influxOtherPoints,
+            long influxRequests,
+            long writerDropped,
+            long modelRequests,
+            long modelErrors,
+            long modelRejected,
+            long modelShed,
+            long modelBreakerOpened,
+            long duplicates,
+            long droppedLate,
+            long gcCount,
+            long gcTimeMs) {
+
+        Snapshot minus(Snapshot base) {
+            return new Snapshot(
+                    nanoTime - base.nanoTime,
+                    published - base.published,
+                    publishedValid - base.publishedValid,
+                    publishedBad - base.publishedBad,
+                    publishedUnknown - base.publishedUnknown,
+                    publishRejected - base.publishRejected,
+                    publishBehind - base.publishBehind,
+                    mqttArrived - base.mqttArrived,
+                    routeDropped - base.routeDropped,
+                    processed - base.processed,
+                    processFailed - base.processFailed,
+                    ingestDropped - base.ingestDropped,
+                    ingestSpilled - base.ingestSpilled,
+                    invalid - base.invalid,
+                    unsupported - base.unsupported,
+                    influxPoints - base.influxPoints,
+                    influxOtherPoints - base.influxOtherPoints,
+                    influxRequests - base.influxRequests,
+                    writerDropped - base.writerDropped,
+                    modelRequests - base.modelRequests,
+                    modelErrors - base.modelErrors,
+                    modelRejected - base.modelRejected,
+                    modelShed - base.modelShed,
+                    modelBreakerOpened - base.modelBreakerOpened,
+                    duplicates - base.duplicates,
+                    droppedLate - base.droppedLate,
+                    gcCount - base.gcCount,
+                    gcTimeMs - base.gcTimeMs);
+        }
+
+        double seconds() {
+            return nanoTime / 1_000_000_000.0;
+        }
+    }
+}
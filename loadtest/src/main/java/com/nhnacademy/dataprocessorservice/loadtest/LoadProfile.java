@@ -0,0 +1,85 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import lombok.Builder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 한 번의 설정입니다.
+ *
+ * @param rate                  초당 발행 메시지 수 (전체 발행자 합계)
+ * @param durationSeconds       워밍업 이후 측정 시간
+ * @param warmupSeconds         측정에서 제외하는 시작 구간
+ * @param reportIntervalSeconds 측정 중 구간 리포트 주기
+ * @param drainSeconds          발행을 멈춘 뒤 InfluxDB 스텁 도착을 기다리는 최대 시간
+ * @param publishers            발행 연결(스레드) 수
+ * @param qos                   발행 QoS
+ * @param maxInflight           발행 연결당 응답 대기 중 메시지 최대 수
+ * @param locations             위치 수
+ * @param devicesPerLocation    위치당 디바이스 수 (토픽 수 = 위치 × 디바이스 × 센서 종류)
+ * @param mix                   페이로드 종류별 비율
+ * @param influxLatencyMs       InfluxDB 스텁 응답 지연
+ * @param modelLatencyMs        모델 API 스텁 응답 지연
+ * @param modelErrorRate        모델 API 스텁이 503으로 응답하는 비율 (0~1)
+ */
+@Builder
+public record LoadProfile(
+        double rate,
+        long durationSeconds,
+        long warmupSeconds,
+        long reportIntervalSeconds,
+        long drainSeconds,
+        int publishers,
+        int qos,
+        int maxInflight,
+        int locations,
+        int devicesPerLocation,
+        PayloadMix mix,
+        long influxLatencyMs,
+        long modelLatencyMs,
+        double modelErrorRate) {
+
+    /**
+     * {@code --key=value} 인자에서 부하 설정 키를 읽어 프로필을 만들고, 읽은 키는 {@code args}에서 제거합니다.
+     * 남은 키는 서비스 설정으로 그대로 넘깁니다.
+     */
+    static LoadProfile consume(Map<String, String> args) {
+        return LoadProfile.builder()
+                .rate(Double.parseDouble(take(args, "rate", "2000")))
+                .durationSeconds(Long.parseLong(take(args, "duration", "60")))
+                .warmupSeconds(Long.parseLong(take(args, "warmup", "10")))
+                .reportIntervalSeconds(Long.parseLong(take(args, "report-interval", "10")))
+                .drainSeconds(Long.parseLong(take(args, "drain", "15")))
+                .publishers(Integer.parseInt(take(args, "publishers", "2")))
+                .qos(Integer.parseInt(take(args, "qos", "1")))
+                .maxInflight(Integer.parseInt(take(args, "max-inflight", "1000")))
+                .locations(Integer.parseInt(take(args, "locations", "20")))
+                .devicesPerLocation(Integer.parseInt(take(args, "devices", "5")))
+                .mix(PayloadMix.parse(take(args, "mix", "flat=70,nested=20,bad=5,unknown=5")))
+                .influxLatencyMs(Long.parseLong(take(args, "influx-latency-ms", "0")))
+                .modelLatencyMs(Long.parseLong(take(args, "model-latency-ms", "5")))
+                .modelErrorRate(Double.parseDouble(take(args, "model-error-rate", "0")))
+                .build();
+    }
+
+    /**
+     * {@code --key=value} 형태만 받아 순서를 유지한 맵으로 바꿉니다.
+     */
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("--key=value 형식이 아닙니다: " + arg);
+            }
+            parsed.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return parsed;
+    }
+
+    private static String take(Map<String, String> args, String key, String defaultValue) {
+        String value = args.remove(key);
+        return value == null ? defaultValue : value;
+    }
+}
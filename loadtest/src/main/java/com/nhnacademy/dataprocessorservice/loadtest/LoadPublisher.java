@@ -0,0 +1,152 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.MqttAsyncClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 목표 발행률을 지키며 MQTT 메시지를 발행하는 부하 생성기입니다.
+ * <p>
+ * 발행 연결마다 전용 스레드가 {@code rate / publishers} 간격으로 발행합니다.
+ * 간격은 직전 발행 시각이 아니라 예정 시각 기준으로 이어가므로 발행이 잠깐 밀려도 평균 발행률이 유지되고,
+ * 1초 이상 밀리면 따라잡기를 포기하고 {@link #behind()}로 집계합니다 (브로커/클라이언트가 목표를 못 따라감).
+ * 응답 대기 중 메시지가 {@code maxInflight}를 넘어 발행이 거부되면 {@link #rejected()}로 집계합니다.
+ * </p>
+ */
+@Slf4j
+final class LoadPublisher implements AutoCloseable {
+
+    private static final long MAX_LAG_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadProfile profile;
+    private final List<MqttAsyncClient> clients = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private final LongAdder[] published = new LongAdder[PayloadMix.Kind.values().length];
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder behind = new LongAdder();
+
+    private volatile boolean running;
+
+    LoadPublisher(String brokerUrl, LoadProfile profile) throws MqttException {
+        this.profile = profile;
+        for (int i = 0; i < published.length; i++) {
+            published[i] = new LongAdder();
+        }
+        MqttConnectOptions options = new MqttConnectOptions();
+        options.setCleanSession(true);
+        options.setMaxInflight(profile.maxInflight());
+        for (int i = 0; i < profile.publishers(); i++) {
+            MqttAsyncClient client = new MqttAsyncClient(brokerUrl, "dps-loadgen-" + i, new MemoryPersistence());
+            client.connect(options).waitForCompletion();
+            clients.add(client);
+        }
+    }
+
+    void start() {
+        running = true;
+        long intervalNanos = (long) (1_000_000_000L * clients.size() / profile.rate());
+        for (int i = 0; i < clients.size(); i++) {
+            MqttAsyncClient client = clients.get(i);
+            threads.add(Thread.ofPlatform().name("loadgen-" + i).start(() -> publishLoop(client, intervalNanos)));
+        }
+        log.info("📤 발행 시작: rate={}/s, publishers={}, qos={}, mix={}",
+                profile.rate(), clients.size(), profile.qos(), profile.mix());
+    }
+
+    private void publishLoop(MqttAsyncClient client, long intervalNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long next = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            if (now - next < 0) {
+                LockSupport.parkNanos(next - now);
+                continue;
+            }
+            if (now - next > MAX_LAG_NANOS) {
+                behind.increment();
+                next = now;
+            }
+            PayloadMix.Message message = profile.mix().next(random, profile.locations(), profile.devicesPerLocation(),
+                    System.currentTimeMillis());
+            try {
+                client.publish(message.topic(), message.payload(), profile.qos(), false);
+                published[message.kind().ordinal()].increment();
+            } catch (MqttException e) {
+                rejected.increment();
+            }
+            next += intervalNanos;
+        }
+    }
+
+    /**
+     * 발행 스레드를 멈추고, 응답 대기 중 메시지가 정리될 때까지 잠시 기다립니다.
+     */
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (MqttAsyncClient client : clients) {
+            long deadline = System.nanoTime() + MAX_LAG_NANOS * 5;
+            while (client.getInFlightMessageCount() > 0 && System.nanoTime() - deadline < 0) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        }
+        log.info("📤 발행 종료");
+    }
+
+    long published() {
+        long sum = 0;
+        for (LongAdder adder : published) {
+            sum += adder.sum();
+        }
+        return sum;
+    }
+
+    long published(PayloadMix.Kind kind) {
+        return published[kind.ordinal()].sum();
+    }
+
+    /** InfluxDB에 원본 포인트로 기록되어야 하는 발행 건수 */
+    long publishedValid() {
+        long sum = 0;
+        for (PayloadMix.Kind kind : PayloadMix.Kind.values()) {
+            if (kind.isValid()) {
+                sum += published(kind);
+            }
+        }
+        return sum;
+    }
+
+    long rejected() {
+        return rejected.sum();
+    }
+
+    long behind() {
+        return behind.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (MqttAsyncClient client : clients) {
+            try {
+                if (client.isConnected()) {
+                    client.disconnect().waitForCompletion();
+                }
+                client.close();
+            } catch (MqttException e) {
+                log.warn("부하 생성기 연결 종료 실패: clientId={}", client.getClientId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * 부하 테스트 스냅샷을 사람이 읽는 리포트 문자열로 만듭니다.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    /**
+     * 측정 중 주기적으로 남기는 한 줄 요약입니다. 처리량은 구간 값, 지연은 워밍업 이후 누적 값입니다.
+     */
+    static String interval(LoadProbe.Snapshot delta, LatencyHistogram endToEnd) {
+        double seconds = delta.seconds();
+        return String.format(Locale.ROOT,
+                "발행 %.0f/s, InfluxDB %.0f points/s, 드롭 %d, 파싱 실패 %d, GC %d회 %dms | 종단 지연(누적) p50=%dms p99=%dms max=%dms",
+                delta.published() / seconds, delta.influxPoints() / seconds, drops(delta), delta.invalid(),
+                delta.gcCount(), delta.gcTimeMs(),
+                endToEnd.percentile(50), endToEnd.percentile(99), endToEnd.max());
+    }
+
+    /**
+     * 워밍업 이후 전체 측정 구간의 결과입니다.
+     *
+     * @param measured 워밍업 종료 시점부터 발행 종료 시점까지의 차이 (처리량 계산용)
+     * @param drained  워밍업 종료 시점부터 드레인 종료 시점까지의 차이 (유실/드롭 계산용)
+     */
+    static String summary(LoadProfile profile, LoadProbe.Snapshot measured, LoadProbe.Snapshot drained,
+                          LatencyHistogram endToEnd, LatencyHistogram gcEvents, ModelApiGuard modelGuard) {
+        double seconds = measured.seconds();
+        // 중복으로 걸러진 메시지는 기록되지 않는 것이 정상이므로 기대 건수에서 뺌
+        long expected = drained.publishedValid() - drained.duplicates();
+        long lost = expected - drained.influxPoints();
+        long heapUsedMb = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed() / (1024 * 1024);
+        StringBuilder report = new StringBuilder(1024).append('\n');
+        line(report, "===== 부하 테스트 결과 (측정 %.0fs, 워밍업 %ds 제외) =====", seconds, profile.warmupSeconds());
+        line(report, "발행        : %d건, %.0f/s (목표 %.0f/s), 발행 거부 %d, 목표 미달 %d회",
+                measured.published(), measured.published() / seconds, profile.rate(),
+                measured.publishRejected(), measured.publishBehind());
+        line(report, "서비스 수신 : MQTT %d, 처리 %d, 처리 실패 %d (파싱 실패 %d / 발행 %d), 미지원 종류 %d / 발행 %d",
+                drained.mqttArrived(), drained.processed(), drained.processFailed(),
+                drained.invalid(), drained.publishedBad(), drained.unsupported(), drained.publishedUnknown());
+        line(report, "InfluxDB    : %d points, %.0f points/s, 요청 %d, 유실 %d / 기대 %d (%.3f%%), 집계 포인트 %d",
+                drained.influxPoints(), measured.influxPoints() / seconds, drained.influxRequests(),
+                lost, expected, percent(lost, expected), drained.influxOtherPoints());
+        line(report, "종단 지연   : p50=%dms p90=%dms p99=%dms p99.9=%dms max=%dms (n=%d)",
+                endToEnd.percentile(50), endToEnd.percentile(90), endToEnd.percentile(99), endToEnd.percentile(99.9),
+                endToEnd.max(), endToEnd.count());
+        line(report, "드롭        : 라우팅 %d, 수집 큐 %d, 스필 %d, Influx writer %d, 모델 전송 거절 %d, 중복 %d, 늦은 샘플 %d",
+                drained.routeDropped(), drained.ingestDropped(), drained.ingestSpilled(), drained.writerDropped(),
+                drained.modelRejected(), drained.duplicates(), drained.droppedLate());
+        line(report, "모델 API    : 요청 %d, 503 응답 %d, 한도/차단기 거절 %d, 차단기 열림 %d회 (현재 %s, limit=%d)",
+                drained.modelRequests(), drained.modelErrors(), drained.modelShed(), drained.modelBreakerOpened(),
+                modelGuard.state(), modelGuard.limit());
+        line(report, "GC          : %d회, %dms (측정 시간의 %.2f%%), 이벤트 p99=%dms max=%dms, heap 사용 %dMB",
+                measured.gcCount(), measured.gcTimeMs(), percent(measured.gcTimeMs(), (long) (seconds * 1000)),
+                gcEvents.percentile(99), gcEvents.max(), heapUsedMb);
+        return report.toString();
+    }
+
+    static long drops(LoadProbe.Snapshot delta) {
+        // 같은 토픽에 같은 밀리초로 발행된 메시지는 서비스가 중복으로 거르므로 유실이 아닌 드롭으로 셈
+        return delta.routeDropped() + delta.ingestDropped() + delta.writerDropped() + delta.modelRejected()
+                + delta.duplicates() + delta.droppedLate();
+    }
+
+    private static void line(StringBuilder report, String format, Object... args) {
+        report.append(String.format(Locale.ROOT, format, args)).append('\n');
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+}
@@ -0,0 +1,107 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import com.nhnacademy.dataprocessorservice.DataProcessorServiceApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 서비스 없이 한 프로세스 안에서 서비스 전체 경로에 부하를 거는 하네스입니다.
+ * <p>
+ * 내장 MQTT 브로커, InfluxDB 스텁, 모델 API 스텁을 띄우고 서비스 컨텍스트를 그 주소로 기동한 뒤,
+ * 목표 발행률로 메시지를 발행하며 처리량, 종단 간 지연 백분위, GC, 드롭 건수를 리포트합니다.
+ * 부하 설정이 아닌 {@code --key=value} 인자는 서비스 설정으로 넘어가므로
+ * {@code --ingest.backpressure=DROP_OLDEST}, {@code --influxdb.writer=line-protocol} 처럼 조합을 바꿔 비교할 수 있습니다.
+ * </p>
+ */
+@Slf4j
+public final class LoadTestMain {
+
+    private static final long DRAIN_POLL_MS = 200;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> arguments = LoadProfile.parseArgs(args);
+        LoadProfile profile = LoadProfile.consume(arguments);
+        run(profile, arguments);
+        System.exit(0);
+    }
+
+    static void run(LoadProfile profile, Map<String, String> serviceOverrides) throws Exception {
+        try (EmbeddedBroker broker = EmbeddedBroker.start();
+             StubInfluxServer influx = StubInfluxServer.start(profile.influxLatencyMs());
+             StubModelServer model = StubModelServer.start(profile.modelLatencyMs(), profile.modelErrorRate());
+             ConfigurableApplicationContext context = startService(broker, influx, model, serviceOverrides);
+             LoadPublisher publisher = new LoadPublisher(broker.url(), profile);
+             LoadProbe probe = new LoadProbe(context, publisher, influx, model)) {
+
+            publisher.start();
+            TimeUnit.SECONDS.sleep(profile.warmupSeconds());
+            probe.resetHistograms();
+            LoadProbe.Snapshot baseline = probe.snapshot();
+            log.info("⏱️ 워밍업 종료, {}초 측정 시작", profile.durationSeconds());
+
+            LoadProbe.Snapshot previous = baseline;
+            long endAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(profile.durationSeconds());
+            while (System.nanoTime() - endAt < 0) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(endAt - System.nanoTime());
+                TimeUnit.MILLISECONDS.sleep(Math.min(TimeUnit.SECONDS.toMillis(profile.reportIntervalSeconds()),
+                        Math.max(1, remainingMs)));
+                LoadProbe.Snapshot current = probe.snapshot();
+                log.info("📊 {}", LoadReport.interval(current.minus(previous), probe.endToEndMillis()));
+                previous = current;
+            }
+
+            publisher.stop();
+            LoadProbe.Snapshot measured = probe.snapshot().minus(baseline);
+            LoadProbe.Snapshot drained = drain(probe, baseline, profile.drainSeconds());
+            log.info(LoadReport.summary(profile, measured, drained, probe.endToEndMillis(), probe.gcEventMillis(),
+                    probe.modelGuard()));
+        }
+    }
+
+    /**
+     * 발행을 멈춘 뒤 유효 메시지가 모두 InfluxDB 스텁에 도착하거나(드롭 포함) 제한 시간이 지날 때까지 기다립니다.
+     */
+    private static LoadProbe.Snapshot drain(LoadProbe probe, LoadProbe.Snapshot baseline, long drainSeconds)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(drainSeconds);
+        LoadProbe.Snapshot delta = probe.snapshot().minus(baseline);
+        while (delta.influxPoints() + LoadReport.drops(delta) < delta.publishedValid()
+                && System.nanoTime() - deadline < 0) {
+            TimeUnit.MILLISECONDS.sleep(DRAIN_POLL_MS);
+            delta = probe.snapshot().minus(baseline);
+        }
+        return delta;
+    }
+
+    private static ConfigurableApplicationContext startService(EmbeddedBroker broker, StubInfluxServer influx,
+                                                               StubModelServer model, Map<String, String> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.application.name", "data-processor-service");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("eureka.client.enabled", "false");
+        properties.put("server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.nhnacademy.dataprocessorservice.loadtest", "INFO");
+        properties.put("mqtt.broker.url", broker.url());
+        properties.put("mqtt.client.id", "dps-loadtest");
+        properties.put("mqtt.topic", PayloadMix.TOPIC_PREFIX + "/#");
+        properties.put("influxdb.url", influx.url());
+        properties.put("influxdb.token", "loadtest");
+        properties.put("influxdb.org", "loadtest");
+        properties.put("influxdb.bucket", "loadtest");
+        properties.put("model.api-url", model.url() + "/predict");
+        properties.putAll(overrides);
+        log.info("🚀 서비스 기동: overrides={}", overrides);
+        return new SpringApplicationBuilder(DataProcessorServiceApplication.class)
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,146 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import com.nhnacademy.dataprocessorservice.sensor.SensorType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 발행할 토픽/페이로드 종류와 비율입니다.
+ * <p>
+ * 토픽은 서비스가 해석하는 {@code data/{location}/{device}/{type}} 형태이며,
+ * 페이로드의 {@code time}에는 발행 시각을 넣어 InfluxDB 스텁에서 종단 간 지연을 계산합니다.
+ * </p>
+ * <ul>
+ *     <li>{@code flat} : {@code {"time":…,"value":23.5}}</li>
+ *     <li>{@code nested} : {@code {"time":…,"value":{"temperature":…,"humidity":…,…}}}</li>
+ *     <li>{@code bad} : 잘린 JSON, 객체가 아닌 JSON, value 누락을 번갈아 발행 (파싱 실패로 집계되어야 함)</li>
+ *     <li>{@code unknown} : 지원하지 않는 센서 종류 토픽 (건너뛰어야 함)</li>
+ * </ul>
+ */
+public final class PayloadMix {
+
+    public enum Kind {
+        FLAT, NESTED, BAD, UNKNOWN;
+
+        /** InfluxDB에 원본 포인트 하나로 기록되어야 하는 종류인지 */
+        public boolean isValid() {
+            return this == FLAT || this == NESTED;
+        }
+    }
+
+    public record Message(String topic, byte[] payload, Kind kind) {
+    }
+
+    static final String TOPIC_PREFIX = "data";
+    private static final String UNKNOWN_TYPE = "pressure";
+    private static final SensorType[] TYPES = SensorType.values();
+
+    private final Map<Kind, Integer> weights;
+    private final Kind[] kinds;
+    private final int[] cumulative;
+    private final int total;
+
+    private PayloadMix(Map<Kind, Integer> weights) {
+        this.weights = weights;
+        this.kinds = weights.keySet().toArray(Kind[]::new);
+        this.cumulative = new int[kinds.length];
+        int sum = 0;
+        for (int i = 0; i < kinds.length; i++) {
+            sum += weights.get(kinds[i]);
+            cumulative[i] = sum;
+        }
+        if (sum <= 0) {
+            throw new IllegalArgumentException("페이로드 비율의 합이 0입니다");
+        }
+        this.total = sum;
+    }
+
+    /**
+     * {@code flat=70,nested=20,bad=5,unknown=5} 형태의 비율을 읽습니다. 빠진 종류는 0입니다.
+     */
+    public static PayloadMix parse(String spec) {
+        Map<Kind, Integer> weights = new EnumMap<>(Kind.class);
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int eq = trimmed.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("비율 형식 오류: " + trimmed);
+            }
+            Kind kind = Kind.valueOf(trimmed.substring(0, eq).trim().toUpperCase(Locale.ROOT));
+            int weight = Integer.parseInt(trimmed.substring(eq + 1).trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("비율은 0 이상이어야 합니다: " + trimmed);
+            }
+            weights.put(kind, weight);
+        }
+        return new PayloadMix(weights);
+    }
+
+    /**
+     * 비율에 따라 종류를 고르고, 위치/디바이스/센서 종류를 무작위로 골라 메시지 하나를 만듭니다.
+     */
+    public Message next(ThreadLocalRandom random, int locations, int devicesPerLocation, long timeMillis) {
+        Kind kind = pick(random.nextInt(total));
+        String location = "loc" + random.nextInt(locations);
+        String device = location + "-dev" + random.nextInt(devicesPerLocation);
+        SensorType type = TYPES[random.nextInt(TYPES.length)];
+        double value = Math.round(random.nextDouble(type.getMin(), type.getMax()) * 10) / 10.0;
+
+        String typeId = kind == Kind.UNKNOWN ? UNKNOWN_TYPE : type.getId();
+        String topic = TOPIC_PREFIX + "/" + location + "/" + device + "/" + typeId;
+        String json = switch (kind) {
+            case FLAT, UNKNOWN -> flat(timeMillis, value);
+            case NESTED -> nested(timeMillis, type, value);
+            case BAD -> bad(random.nextInt(3), timeMillis);
+        };
+        return new Message(topic, json.getBytes(StandardCharsets.UTF_8), kind);
+    }
+
+    public int weight(Kind kind) {
+        return weights.getOrDefault(kind, 0);
+    }
+
+    private Kind pick(int roll) {
+        for (int i = 0; i < cumulative.length; i++) {
+            if (roll < cumulative[i]) {
+                return kinds[i];
+            }
+        }
+        return kinds[kinds.length - 1];
+    }
+
+    private static String flat(long time, double value) {
+        return "{\"time\":" + time + ",\"value\":" + value + "}";
+    }
+
+    private static String nested(long time, SensorType type, double value) {
+        StringBuilder json = new StringBuilder(128).append("{\"time\":").append(time).append(",\"value\":{");
+        for (int i = 0; i < TYPES.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(TYPES[i].getId()).append("\":").append(TYPES[i] == type ? value : 1.0);
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String bad(int variant, long time) {
+        return switch (variant) {
+            case 0 -> "{\"time\":" + time + ",\"value\":";
+            case 1 -> "[" + time + "]";
+            default -> "{\"time\":" + time + "}";
+        };
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
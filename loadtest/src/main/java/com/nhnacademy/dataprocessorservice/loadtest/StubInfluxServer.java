@@ -0,0 +1,143 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * InfluxDB v2 write API({@code POST /api/v2/write})를 흉내 내는 HTTP 스텁입니다.
+ * <p>
+ * 받은 line protocol을 줄 단위로 세고, 원본 측정값({@code sensor}) 포인트의 타임스탬프(ms)와
+ * 도착 시각의 차이를 종단 간 지연(발행 → InfluxDB 도착)으로 기록합니다.
+ * 서비스의 두 writer(WriteApi, line protocol writer) 모두 ms 정밀도로 기록하므로 같은 방식으로 해석합니다.
+ * </p>
+ */
+@Slf4j
+final class StubInfluxServer implements AutoCloseable {
+
+    private static final String RAW_MEASUREMENT = "sensor";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMs;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rawPoints = new LongAdder();
+    private final LongAdder otherPoints = new LongAdder();
+    private final LatencyHistogram endToEndMillis = new LatencyHistogram();
+
+    private StubInfluxServer(long latencyMs) throws IOException {
+        this.latencyMs = latencyMs;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/write", this::handleWrite);
+        server.createContext("/", exchange -> respond(exchange, 204));
+        server.setExecutor(executor);
+    }
+
+    static StubInfluxServer start(long latencyMs) throws IOException {
+        StubInfluxServer stub = new StubInfluxServer(latencyMs);
+        stub.server.start();
+        log.info("🚀 InfluxDB 스텁 기동: {} (응답 지연 {}ms)", stub.url(), latencyMs);
+        return stub;
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handleWrite(HttpExchange exchange) throws IOException {
+        long arrivedAt = System.currentTimeMillis();
+        byte[] body;
+        try (InputStream in = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))
+                ? new GZIPInputStream(exchange.getRequestBody())
+                : exchange.getRequestBody()) {
+            body = in.readAllBytes();
+        }
+        requests.increment();
+        count(new String(body, StandardCharsets.UTF_8), arrivedAt);
+        sleep(latencyMs);
+        respond(exchange, 204);
+    }
+
+    private void count(String lines, long arrivedAt) {
+        int start = 0;
+        while (start < lines.length()) {
+            int end = lines.indexOf('\n', start);
+            if (end < 0) {
+                end = lines.length();
+            }
+            if (end > start) {
+                record(lines.substring(start, end), arrivedAt);
+            }
+            start = end + 1;
+        }
+    }
+
+    private void record(String line, long arrivedAt) {
+        int measurementEnd = line.indexOf(',');
+        if (measurementEnd < 0 || !RAW_MEASUREMENT.equals(line.substring(0, measurementEnd))) {
+            otherPoints.increment();
+            return;
+        }
+        rawPoints.increment();
+        int timestampStart = line.lastIndexOf(' ');
+        if (timestampStart > 0) {
+            try {
+                endToEndMillis.record(arrivedAt - Long.parseLong(line.substring(timestampStart + 1).trim()));
+            } catch (NumberFormatException e) {
+                // 타임스탬프 없는 포인트는 지연 집계에서 제외
+            }
+        }
+    }
+
+    static void respond(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    /** 받은 원본({@code sensor}) 포인트 수 */
+    long rawPoints() {
+        return rawPoints.sum();
+    }
+
+    /** 다운샘플링 집계 등 원본 외 포인트 수 */
+    long otherPoints() {
+        return otherPoints.sum();
+    }
+
+    /** 디바이스 시각(발행 시각) → 스텁 도착까지의 지연 (ms) */
+    LatencyHistogram endToEndMillis() {
+        return endToEndMillis;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
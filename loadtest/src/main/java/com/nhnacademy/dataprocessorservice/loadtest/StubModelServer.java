@@ -0,0 +1,86 @@
+package com.nhnacademy.dataprocessorservice.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 모델 API를 흉내 내는 HTTP 스텁입니다.
+ * <p>
+ * 모든 POST를 {@code latencyMs}만큼 붙잡았다가 {@code {}}로 응답하며,
+ * {@code errorRate} 비율만큼은 503으로 응답해 모델 API 장애 상황을 재현합니다.
+ * </p>
+ */
+@Slf4j
+final class StubModelServer implements AutoCloseable {
+
+    private static final byte[] OK_BODY = "{}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long latencyMs;
+    private final double errorRate;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    private StubModelServer(long latencyMs, double errorRate) throws IOException {
+        this.latencyMs = latencyMs;
+        this.errorRate = errorRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    static StubModelServer start(long latencyMs, double errorRate) throws IOException {
+        StubModelServer stub = new StubModelServer(latencyMs, errorRate);
+        stub.server.start();
+        log.info("🚀 모델 API 스텁 기동: {} (응답 지연 {}ms, 오류율 {})", stub.url(), latencyMs, errorRate);
+        return stub;
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        requests.increment();
+        StubInfluxServer.sleep(latencyMs);
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            errors.increment();
+            StubInfluxServer.respond(exchange, 503);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, OK_BODY.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(OK_BODY);
+        }
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+}
@@ -0,0 +1,102 @@
+package com.nhnacademy.dataprocessorservice.concurrent;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 작업마다 virtual thread를 하나씩 띄우되, 동시에 실행 중인 작업 수를 세마포어로 제한하는 executor입니다.
+ * <p>
+ * 스레드 풀 크기 대신 {@code maxConcurrency}가 외부 시스템으로 나가는 동시 호출 수의 상한이 됩니다.
+ * 한도가 찬 상태에서 {@code acquireTimeoutMs}가 0이면(기본값) 기다리지 않고 바로 {@link RejectedExecutionException}을 던지므로
+ * 수집 워커처럼 호출 스레드를 막으면 안 되는 경로에서도 쓸 수 있습니다.
+ * 0보다 크면 그 시간 동안 자리가 나기를 기다린 뒤 거절합니다.
+ * </p>
+ */
+@Slf4j
+public class BoundedVirtualThreadExecutor implements Executor, AutoCloseable {
+
+    private static final long CLOSE_TIMEOUT_MS = 10_000;
+
+    private final String name;
+    private final int maxConcurrency;
+    private final long acquireTimeoutMs;
+    private final Semaphore permits;
+    private final ThreadFactory threadFactory;
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean closed;
+
+    public BoundedVirtualThreadExecutor(String namePrefix, int maxConcurrency, long acquireTimeoutMs) {
+        this.name = namePrefix;
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.permits = new Semaphore(maxConcurrency);
+        this.threadFactory = Thread.ofVirtual().name(namePrefix, 0).factory();
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (closed) {
+            throw new RejectedExecutionException(name + " executor가 종료되었습니다");
+        }
+        if (!acquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException(name + " 동시 실행 한도(" + maxConcurrency + ") 초과");
+        }
+        try {
+            threadFactory.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            }).start();
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private boolean acquire() {
+        if (acquireTimeoutMs <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("동시 실행 한도 대기 중 인터럽트", e);
+        }
+    }
+
+    /** 현재 실행 중인 작업 수 */
+    public int active() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 새 작업을 받지 않고, 실행 중인 작업이 끝날 때까지 잠시 기다립니다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            if (permits.tryAcquire(maxConcurrency, CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                permits.release(maxConcurrency);
+            } else {
+                log.warn("{} 작업 {}건이 종료 시점까지 끝나지 않았습니다", name, active());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
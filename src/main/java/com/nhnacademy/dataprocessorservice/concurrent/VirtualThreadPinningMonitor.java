@@ -0,0 +1,89 @@
+package com.nhnacademy.dataprocessorservice.concurrent;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * virtual thread가 carrier 스레드에 고정(pinning)되는 경우를 JFR {@code jdk.VirtualThreadPinned} 이벤트로 감시합니다.
+ * <p>
+ * Java 21에서는 {@code synchronized} 블록 안에서 블로킹하면 carrier가 함께 묶여
+ * 세마포어 한도보다 훨씬 적은 동시성밖에 나오지 않습니다.
+ * {@code thresholdMs} 이상 고정된 위치를 호출 지점별로 처음 한 번, 이후 {@value #LOG_EVERY}회마다 경고로 남깁니다.
+ * 기록만 할 뿐 고정을 막거나 풀지는 않으므로, 경고가 난 호출 지점은 {@code synchronized} 대신 {@code ReentrantLock}으로 바꿔야 합니다.
+ * </p>
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOG_EVERY = 1000;
+    private static final int STACK_DEPTH = 8;
+
+    private final Duration threshold;
+    private final ConcurrentHashMap<String, LongAdder> pinnedBySite = new ConcurrentHashMap<>();
+    private final LongAdder pinnedEvents = new LongAdder();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(long thresholdMs) {
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    public synchronized void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("📌 virtual thread pinning 감시 시작: threshold={}ms", threshold.toMillis());
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedEvents.increment();
+        String site = siteOf(event.getStackTrace());
+        LongAdder count = pinnedBySite.computeIfAbsent(site, s -> new LongAdder());
+        count.increment();
+        long total = count.sum();
+        if (total == 1 || total % LOG_EVERY == 0) {
+            log.warn("⚠️ virtual thread pinned {}ms ({}회): {}", event.getDuration().toMillis(), total, site);
+        }
+    }
+
+    private static String siteOf(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(stack trace 없음)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Math.min(STACK_DEPTH, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            if (i > 0) {
+                sb.append(" <- ");
+            }
+            sb.append(frame.getMethod().getType().getName()).append('#').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+
+    public long pinnedEvents() {
+        return pinnedEvents.sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
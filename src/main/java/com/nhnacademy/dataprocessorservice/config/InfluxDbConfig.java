@@ -4,14 +4,24 @@ import com.influxdb.client.InfluxDBClient;
 import com.influxdb.client.InfluxDBClientFactory;
 import com.influxdb.client.WriteApi;
 import com.influxdb.client.WriteOptions;
+import com.nhnacademy.dataprocessorservice.influx.BatchSink;
+import com.nhnacademy.dataprocessorservice.influx.DownsampleOptions;
+import com.nhnacademy.dataprocessorservice.influx.InfluxHttpSender;
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriteOptions;
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriter;
+import com.nhnacademy.dataprocessorservice.influx.WriteAheadLog;
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class InfluxDbConfig {
+    private static final String LINE_PROTOCOL = "line-protocol";
+
     @Value("${influxdb.url}")
     private String url;
 
@@ -46,4 +56,89 @@ public class InfluxDbConfig {
         );
     }
 
+    @Bean
+    public InfluxHttpSender influxHttpSender(
+            @Value("${influxdb.max-retries:5}") int maxRetries,
+            @Value("${influxdb.retry-interval-ms:1000}") long retryIntervalMs,
+            @Value("${influxdb.request-timeout-ms:10000}") long requestTimeoutMs) {
+        return new InfluxHttpSender(url, token, org, bucket, maxRetries, retryIntervalMs, requestTimeoutMs);
+    }
+
+    /**
+     * 원본/집계 기록 정책과 다운샘플링 윈도우 설정입니다.
+     * {@code influxdb.write-policy}가 {@code AGGREGATED} 또는 {@code BOTH}일 때만 집계가 기록됩니다.
+     */
+    @Bean
+    public DownsampleOptions downsampleOptions(
+            @Value("${influxdb.write-policy:RAW}") WritePolicy policy,
+            @Value("${influxdb.downsample.measurement:sensor_agg}") String measurement,
+            @Value("${influxdb.downsample.window-ms:60000}") long windowMs,
+            @Value("${influxdb.downsample.grace-ms:5000}") long graceMs,
+            @Value("${influxdb.downsample.flush-interval-ms:1000}") long flushIntervalMs) {
+        return DownsampleOptions.builder()
+                .policy(policy)
+                .measurement(measurement)
+                .windowMs(windowMs)
+                .graceMs(graceMs)
+                .flushIntervalMs(flushIntervalMs)
+                .build();
+    }
+
+    /**
+     * InfluxDB 장애 동안 배치를 디스크에 보관하는 WAL 입니다.
+     * {@code influxdb.wal.enabled=true}이고 line protocol writer를 사용할 때만 열립니다.
+     */
+    @Bean(destroyMethod = "close")
+    public WriteAheadLog writeAheadLog(
+            InfluxHttpSender influxHttpSender,
+            @Value("${influxdb.writer:point}") String writerMode,
+            @Value("${influxdb.wal.enabled:false}") boolean enabled,
+            @Value("${influxdb.wal.dir:${java.io.tmpdir}/data-processor-wal}") String directory,
+            @Value("${influxdb.wal.segment-bytes:67108864}") int segmentBytes,
+            @Value("${influxdb.wal.max-total-bytes:4294967296}") long maxTotalBytes,
+            @Value("${influxdb.wal.max-age-hours:24}") long maxAgeHours,
+            @Value("${influxdb.wal.drain-rate:0}") double drainRatePerSec,
+            @Value("${influxdb.retry-interval-ms:1000}") long retryIntervalMs,
+            @Value("${influxdb.wal.fsync:false}") boolean fsync) {
+        WriteAheadLog wal = new WriteAheadLog(Path.of(directory), influxHttpSender, segmentBytes, maxTotalBytes,
+                TimeUnit.HOURS.toMillis(maxAgeHours), drainRatePerSec, retryIntervalMs, fsync);
+        if (enabled && LINE_PROTOCOL.equalsIgnoreCase(writerMode)) {
+            wal.open();
+        }
+        return wal;
+    }
+
+    /**
+     * line protocol을 직접 배치 전송하는 writer입니다.
+     * {@code influxdb.writer=line-protocol}일 때만 기동되며, 그 외에는 기존 WriteApi 경로를 사용합니다.
+     * WAL이 열려 있으면 배치를 WAL에 기록하고, 아니면 InfluxDB로 바로 전송합니다.
+     */
+    @Bean(destroyMethod = "close")
+    public LineProtocolWriter lineProtocolWriter(
+            InfluxHttpSender influxHttpSender,
+            WriteAheadLog writeAheadLog,
+            @Value("${influxdb.writer:point}") String writerMode,
+            @Value("${influxdb.batch-size:5000}") int batchSize,
+            @Value("${influxdb.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${influxdb.max-pending-batches:16}") int maxPendingBatches,
+            @Value("${influxdb.enqueue-timeout-ms:1000}") long enqueueTimeoutMs,
+            @Value("${influxdb.max-retries:5}") int maxRetries,
+            @Value("${influxdb.retry-interval-ms:1000}") long retryIntervalMs,
+            @Value("${influxdb.request-timeout-ms:10000}") long requestTimeoutMs) {
+        BatchSink sink = writeAheadLog.isOpen() ? writeAheadLog : influxHttpSender;
+        LineProtocolWriter writer = new LineProtocolWriter(sink, LineProtocolWriteOptions.builder()
+                .batchSize(batchSize)
+                .flushIntervalMs(flushIntervalMs)
+                .maxPendingBatches(maxPendingBatches)
+                .enqueueTimeoutMs(enqueueTimeoutMs)
+                .maxRetries(maxRetries)
+                .retryIntervalMs(retryIntervalMs)
+                .requestTimeoutMs(requestTimeoutMs)
+                .build());
+        if (LINE_PROTOCOL.equalsIgnoreCase(writerMode)) {
+            writer.start();
+        }
+        return writer;
+    }
+
 }
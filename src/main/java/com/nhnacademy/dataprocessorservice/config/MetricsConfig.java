@@ -0,0 +1,228 @@
+package com.nhnacademy.dataprocessorservice.config;
+
+import com.influxdb.client.WriteApi;
+import com.influxdb.client.write.events.BackpressureEvent;
+import com.influxdb.client.write.events.WriteErrorEvent;
+import com.influxdb.client.write.events.WriteRetriableErrorEvent;
+import com.influxdb.client.write.events.WriteSuccessEvent;
+import com.nhnacademy.dataprocessorservice.concurrent.BoundedVirtualThreadExecutor;
+import com.nhnacademy.dataprocessorservice.influx.InfluxHttpSender;
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriter;
+import com.nhnacademy.dataprocessorservice.influx.TumblingAggregator;
+import com.nhnacademy.dataprocessorservice.influx.WriteAheadLog;
+import com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter;
+import com.nhnacademy.dataprocessorservice.ingest.IngestMetrics;
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelCoalescingDispatcher;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttConnectionPool;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttConnectionStats;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttDeliveryCounters;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttSubscriptionManager;
+import com.nhnacademy.dataprocessorservice.mqtt.TopicOwnership;
+import com.nhnacademy.dataprocessorservice.replay.CaptureRecorder;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadataCache;
+import com.nhnacademy.dataprocessorservice.service.InfluxService;
+import com.nhnacademy.dataprocessorservice.service.ModelDispatcherService;
+import com.nhnacademy.dataprocessorservice.stats.RollingStatsStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 수집 경로 컴포넌트들이 내부에서 집계하는 카운터/히스토그램을 Micrometer 지표로 연결합니다.
+ * <p>
+ * 모두 조회 시점에 값을 읽는 함수형 지표이므로 메시지 처리 경로에 비용을 더하지 않습니다.
+ * 메시지 단위로 직접 기록하는 지표는 {@code IngestPathMeters}에 있습니다.
+ * {@link LatencyHistogram}은 p50/p99/max를 {@code stat} 태그로 구분한 게이지로 노출합니다.
+ * </p>
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder ingestPipelineMeters(IngestPipeline pipeline, TopicMetadataCache topicMetadataCache,
+                                            RollingStatsStore rollingStatsStore, DuplicateFilter duplicateFilter,
+                                            CaptureRecorder captureRecorder) {
+        return registry -> {
+            IngestMetrics metrics = pipeline.metrics();
+            functionCounter(registry, "dps.ingest.enqueued", metrics, IngestMetrics::enqueued);
+            functionCounter(registry, "dps.ingest.processed", metrics, IngestMetrics::processed);
+            functionCounter(registry, "dps.ingest.failed", metrics, IngestMetrics::failed);
+            functionCounter(registry, "dps.ingest.dropped", metrics, IngestMetrics::dropped);
+            functionCounter(registry, "dps.ingest.spilled", metrics, IngestMetrics::spilled);
+            functionCounter(registry, "dps.ingest.blocked", metrics, IngestMetrics::blocked);
+            Gauge.builder("dps.ingest.queue.depth", pipeline, IngestPipeline::queueDepth).register(registry);
+            Gauge.builder("dps.ingest.spill.pending", pipeline, IngestPipeline::spillPending).register(registry);
+            histogram(registry, "dps.ingest.queue.wait", metrics.queueWaitNanos(), TimeUnit.NANOSECONDS);
+            histogram(registry, "dps.ingest.latency", metrics.latencyNanos(), TimeUnit.NANOSECONDS);
+
+            Gauge.builder("dps.topic.cache.size", topicMetadataCache, TopicMetadataCache::size).register(registry);
+            functionCounter(registry, "dps.topic.cache.hits", topicMetadataCache, TopicMetadataCache::hits);
+            functionCounter(registry, "dps.topic.cache.misses", topicMetadataCache, TopicMetadataCache::misses);
+            Gauge.builder("dps.stats.series", rollingStatsStore, RollingStatsStore::seriesCount).register(registry);
+
+            Gauge.builder("dps.dedup.topics", duplicateFilter, DuplicateFilter::topics).register(registry);
+            functionCounter(registry, "dps.dedup.checked", duplicateFilter, DuplicateFilter::checked);
+            functionCounter(registry, "dps.dedup.duplicates", duplicateFilter, DuplicateFilter::duplicates);
+            functionCounter(registry, "dps.dedup.out-of-order", duplicateFilter, DuplicateFilter::outOfOrder);
+            functionCounter(registry, "dps.dedup.expired", duplicateFilter, DuplicateFilter::expired);
+            functionCounter(registry, "dps.dedup.dropped-late", duplicateFilter, DuplicateFilter::droppedLate);
+            functionCounter(registry, "dps.capture.recorded", captureRecorder, CaptureRecorder::recordedCount);
+            functionCounter(registry, "dps.capture.failed", captureRecorder, CaptureRecorder::failedCount);
+        };
+    }
+
+    @Bean
+    public MeterBinder mqttMeters(MqttSubscriptionManager subscriptionManager, MqttConnectionPool connectionPool,
+                                  TopicOwnership topicOwnership) {
+        return registry -> {
+            MqttDeliveryCounters counters = subscriptionManager.counters();
+            functionCounter(registry, "dps.mqtt.arrived", counters, MqttDeliveryCounters::arrived);
+            functionCounter(registry, "dps.mqtt.orphaned", counters, MqttDeliveryCounters::orphaned);
+            functionCounter(registry, "dps.mqtt.redelivered", counters, MqttDeliveryCounters::redelivered);
+            functionCounter(registry, "dps.mqtt.accepted", counters, MqttDeliveryCounters::accepted);
+            functionCounter(registry, "dps.mqtt.skipped", counters, MqttDeliveryCounters::skipped);
+            functionCounter(registry, "dps.mqtt.dropped", counters, MqttDeliveryCounters::dropped);
+            functionCounter(registry, "dps.mqtt.resubscribes", counters, MqttDeliveryCounters::resubscribes);
+            for (int i = 0; i < connectionPool.size(); i++) {
+                MqttConnectionStats stats = connectionPool.stats().get(i);
+                String connection = String.valueOf(i);
+                FunctionCounter.builder("dps.mqtt.connection.received", stats, MqttConnectionStats::received)
+                        .tag("connection", connection).register(registry);
+                FunctionCounter.builder("dps.mqtt.connection.reconnects", stats, MqttConnectionStats::reconnects)
+                        .tag("connection", connection).register(registry);
+                FunctionCounter.builder("dps.mqtt.connection.losses", stats, MqttConnectionStats::connectionLosses)
+                        .tag("connection", connection).register(registry);
+                Gauge.builder("dps.mqtt.connection.last-message-age", stats, s -> s.lastMessageAgeMs() / 1000.0)
+                        .tag("connection", connection).baseUnit("seconds").register(registry);
+                Gauge.builder("dps.mqtt.connection.connected", connectionPool.connections().get(i),
+                                c -> c.client().isConnected() ? 1 : 0)
+                        .tag("connection", connection).register(registry);
+                histogram(registry, "dps.mqtt.connection.handoff", stats.handoff(), TimeUnit.MICROSECONDS,
+                        "connection", connection);
+            }
+            Gauge.builder("dps.mqtt.scale-out.members", topicOwnership, o -> o.members().size()).register(registry);
+            functionCounter(registry, "dps.mqtt.scale-out.rebalances", topicOwnership, TopicOwnership::rebalances);
+        };
+    }
+
+    @Bean
+    public MeterBinder influxMeters(WriteApi writeApi, InfluxHttpSender influxHttpSender,
+                                    LineProtocolWriter lineProtocolWriter, WriteAheadLog writeAheadLog,
+                                    InfluxService influxService) {
+        return registry -> {
+            Counter success = Counter.builder("dps.influx.client.writes").tag("result", "success").register(registry);
+            Counter retriable = Counter.builder("dps.influx.client.writes").tag("result", "retriable").register(registry);
+            Counter error = Counter.builder("dps.influx.client.writes").tag("result", "error").register(registry);
+            Counter backpressure = Counter.builder("dps.influx.client.backpressure").register(registry);
+            writeApi.listenEvents(WriteSuccessEvent.class, event -> success.increment());
+            writeApi.listenEvents(WriteRetriableErrorEvent.class, event -> retriable.increment());
+            writeApi.listenEvents(WriteErrorEvent.class, event -> error.increment());
+            writeApi.listenEvents(BackpressureEvent.class, event -> backpressure.increment());
+
+            functionCounter(registry, "dps.influx.http.requests", influxHttpSender, InfluxHttpSender::requests);
+            functionCounter(registry, "dps.influx.http.retries", influxHttpSender, InfluxHttpSender::retries);
+            functionCounter(registry, "dps.influx.http.retryable-failures", influxHttpSender,
+                    InfluxHttpSender::retryableFailures);
+            functionCounter(registry, "dps.influx.http.rejected", influxHttpSender, InfluxHttpSender::rejectedRequests);
+
+            Gauge.builder("dps.influx.writer.pending-batches", lineProtocolWriter, LineProtocolWriter::pendingBatches)
+                    .register(registry);
+            functionCounter(registry, "dps.influx.writer.points", lineProtocolWriter, LineProtocolWriter::writtenPoints);
+            functionCounter(registry, "dps.influx.writer.dropped-points", lineProtocolWriter,
+                    LineProtocolWriter::droppedPoints);
+            functionCounter(registry, "dps.influx.writer.failed-flushes", lineProtocolWriter,
+                    LineProtocolWriter::failedFlushes);
+            functionCounter(registry, "dps.influx.writer.rejected-points", lineProtocolWriter,
+                    LineProtocolWriter::rejectedPoints);
+            histogram(registry, "dps.influx.writer.flush", lineProtocolWriter.flushLatencyMicros(), TimeUnit.MICROSECONDS);
+            Gauge.builder("dps.influx.writer.batch-size", lineProtocolWriter,
+                    writer -> writer.batchSizes().percentile(50)).tag("stat", "p50").register(registry);
+
+            Gauge.builder("dps.influx.wal.backlog", writeAheadLog, WriteAheadLog::backlogBytes)
+                    .baseUnit("bytes").register(registry);
+            functionCounter(registry, "dps.influx.wal.shipped", writeAheadLog, WriteAheadLog::shippedRecords);
+            functionCounter(registry, "dps.influx.wal.dropped-segments", writeAheadLog, WriteAheadLog::droppedSegments);
+
+            TumblingAggregator aggregator = influxService.aggregator();
+            if (aggregator != null) {
+                functionCounter(registry, "dps.influx.downsample.windows", aggregator, TumblingAggregator::emittedWindows);
+                functionCounter(registry, "dps.influx.downsample.late", aggregator, TumblingAggregator::lateSamples);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder modelMeters(ModelDispatcherService dispatcherService,
+                                   @Qualifier("modelDispatcherExecutor") Executor executor,
+                                   ModelBatchDispatcher batchDispatcher,
+                                   ModelCoalescingDispatcher coalescingDispatcher,
+                                   ModelApiGuard guard) {
+        return registry -> {
+            functionCounter(registry, "dps.model.rejected", dispatcherService, ModelDispatcherService::rejectedSamples);
+            functionCounter(registry, "dps.model.shed", dispatcherService, ModelDispatcherService::shedSamples);
+            if (executor instanceof ThreadPoolTaskExecutor pool) {
+                Gauge.builder("dps.model.executor.queue", pool, ThreadPoolTaskExecutor::getQueueSize).register(registry);
+                Gauge.builder("dps.model.executor.active", pool, ThreadPoolTaskExecutor::getActiveCount).register(registry);
+            } else if (executor instanceof BoundedVirtualThreadExecutor bounded) {
+                Gauge.builder("dps.model.executor.active", bounded, BoundedVirtualThreadExecutor::active).register(registry);
+                functionCounter(registry, "dps.model.executor.rejected", bounded, BoundedVirtualThreadExecutor::rejected);
+            }
+
+            Gauge.builder("dps.model.batch.in-flight", batchDispatcher, ModelBatchDispatcher::inFlightRequests)
+                    .register(registry);
+            functionCounter(registry, "dps.model.batch.samples", batchDispatcher, ModelBatchDispatcher::dispatchedSamples);
+            functionCounter(registry, "dps.model.batch.dropped", batchDispatcher, ModelBatchDispatcher::droppedSamples);
+            functionCounter(registry, "dps.model.batch.failed-requests", batchDispatcher,
+                    ModelBatchDispatcher::failedRequests);
+            histogram(registry, "dps.model.batch.request", batchDispatcher.requestLatencyMicros(), TimeUnit.MICROSECONDS);
+
+            functionCounter(registry, "dps.model.coalesce.received", coalescingDispatcher,
+                    ModelCoalescingDispatcher::receivedSamples);
+            functionCounter(registry, "dps.model.coalesce.flushed", coalescingDispatcher,
+                    ModelCoalescingDispatcher::flushedSamples);
+            functionCounter(registry, "dps.model.coalesce.returned", coalescingDispatcher,
+                    ModelCoalescingDispatcher::returnedSamples);
+
+            Gauge.builder("dps.model.guard.limit", guard, ModelApiGuard::limit).register(registry);
+            Gauge.builder("dps.model.guard.in-flight", guard, ModelApiGuard::inFlight).register(registry);
+            for (ModelApiGuard.State state : ModelApiGuard.State.values()) {
+                Gauge.builder("dps.model.guard.state", guard, g -> g.state() == state ? 1 : 0)
+                        .tag("state", state.name().toLowerCase(Locale.ROOT)).register(registry);
+            }
+            FunctionCounter.builder("dps.model.guard.rejected", guard, ModelApiGuard::rejectedByLimit)
+                    .tag("reason", "limit").register(registry);
+            FunctionCounter.builder("dps.model.guard.rejected", guard, ModelApiGuard::rejectedByBreaker)
+                    .tag("reason", "breaker").register(registry);
+            functionCounter(registry, "dps.model.guard.slow-calls", guard, ModelApiGuard::slowCalls);
+            functionCounter(registry, "dps.model.guard.failed-calls", guard, ModelApiGuard::failedCalls);
+            functionCounter(registry, "dps.model.guard.opened", guard, ModelApiGuard::openedCount);
+        };
+    }
+
+    private static <T> void functionCounter(MeterRegistry registry, String name, T target, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(name, target, count).register(registry);
+    }
+
+    private static void histogram(MeterRegistry registry, String name, LatencyHistogram histogram, TimeUnit unit,
+                                  String... tags) {
+        TimeGauge.builder(name, histogram, unit, h -> h.percentile(50)).tags(tags).tag("stat", "p50").register(registry);
+        TimeGauge.builder(name, histogram, unit, h -> h.percentile(99)).tags(tags).tag("stat", "p99").register(registry);
+        TimeGauge.builder(name, histogram, unit, LatencyHistogram::max).tags(tags).tag("stat", "max").register(registry);
+    }
+}
@@ -1,24 +1,28 @@
 package com.nhnacademy.dataprocessorservice.config;
 
+import com.nhnacademy.dataprocessorservice.mqtt.MqttConnectionPool;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttSubscriptionManager;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttTopicFilters;
+import com.nhnacademy.dataprocessorservice.mqtt.ScaleOutMode;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.paho.client.mqttv3.MqttClient;
 import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
 import org.eclipse.paho.client.mqttv3.MqttException;
-import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
-import org.eclipse.paho.client.mqttv3.MqttMessage;
-import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.List;
+
 /**
  * MQTT 클라이언트 설정을 관리하는 구성 클래스입니다.
  * <p>
  * 애플리케이션 시작 시 랜덤 클라이언트 ID를 생성하고, MQTT 브로커와의 연결 옵션을 설정합니다.
- * cleanSession=true 로 이전 세션을 초기화하며, 재연결 시 자동으로 구독을 유지합니다.
- * 종료 시 구독 해제 및 연결 해제를 수행합니다.
+ * cleanSession=true 로 이전 세션을 초기화하며, 재연결 시 연결별로 자기 몫의 필터를 다시 구독합니다.
+ * {@code mqtt.connections}개의 연결을 열어 구독 필터를 나눠 맡기며, 연결·구독·재구독·종료는
+ * {@link MqttSubscriptionManager}가 전담합니다.
+ * {@code mqtt.scale-out.mode=SHARED}이면 {@code $share/<group>/<topic>} 공유 구독을 사용해
+ * 같은 그룹의 인스턴스(와 연결)들이 메시지를 나눠 받습니다.
  * </p>
  */
 @Slf4j
@@ -34,8 +38,17 @@ public class MqttConfig {
     @Value("${mqtt.topic}")
     private String topic;
 
+    @Value("${mqtt.scale-out.mode:NONE}")
+    private ScaleOutMode scaleOutMode;
+
+    @Value("${mqtt.scale-out.group:${spring.application.name}}")
+    private String shareGroup;
+
+    @Value("${mqtt.connections:1}")
+    private int connections;
+
     private String clientId;
-    private MqttClient client;
+    private List<String> filters;
     private static final int QOS = 1;
 
     /**
@@ -44,7 +57,9 @@ public class MqttConfig {
     @PostConstruct
     public void init() {
         this.clientId = clientIdPrefix + "-" + java.util.UUID.randomUUID().toString().substring(0, 8);
-        log.info("MQTT 설정: brokerUrl={}, clientId={}, topic={}", brokerUrl, clientId, topic);
+        this.filters = MqttTopicFilters.subscriptionFilters(topic, scaleOutMode, shareGroup);
+        log.info("MQTT 설정: brokerUrl={}, clientId={}, topic={}, scaleOut={}, filters={}, connections={}",
+                brokerUrl, clientId, topic, scaleOutMode, filters, connections);
     }
 
     /**
@@ -64,59 +79,13 @@ public class MqttConfig {
     }
 
     /**
-     * MqttClient 빈을 생성하여 브로커에 연결하고 구독을 설정합니다.
-     *
-     * @param options mqttConnectOptions()에서 생성된 연결 옵션
-     * @return 초기화된 MqttClient 객체
-     * @throws MqttException 연결 또는 구독 중 오류 발생 시
-     */
-    @Bean
-    public MqttClient mqttClient(MqttConnectOptions options) throws MqttException {
-        client = new MqttClient(brokerUrl, clientId, new MemoryPersistence());
-
-        client.setCallback(new MqttCallbackExtended() {
-            @Override
-            public void connectComplete(boolean reconnect, String serverURI) {
-                log.info("MQTT 연결 완료 (reconnect={}): {}", reconnect, serverURI);
-                try {
-                    client.subscribe(topic, QOS);
-                    log.info("MQTT 재구독 완료: {}", topic);
-                } catch (MqttException e) {
-                    log.error("MQTT 구독 실패: {}", e.getMessage(), e);
-                }
-            }
-
-            @Override
-            public void connectionLost(Throwable cause) {
-                log.warn("MQTT 연결 끊김: {}", cause.getMessage());
-            }
-
-            @Override
-            public void messageArrived(String t, MqttMessage message) {
-                log.debug("메시지 도착: topic={}, payload={}", t, new String(message.getPayload()));
-            }
-
-            @Override
-            public void deliveryComplete(org.eclipse.paho.client.mqttv3.IMqttDeliveryToken token) { }
-        });
-
-        client.connect(options);
-        client.subscribe(topic, QOS);
-        log.info("MQTT 최초 연결 및 구독 완료 → broker={}, topic={}", brokerUrl, topic);
-        return client;
-    }
-
-    /**
-     * 애플리케이션 종료 시 호출되어 MQTT 구독 해제와 연결 종료를 수행합니다.
+     * 구독 필터를 나눠 맡는 MQTT 연결 풀을 생성합니다. 이 시점에는 브로커에 연결하지 않습니다.
      *
-     * @throws MqttException 해제 또는 연결 종료 중 오류 발생 시
+     * @return 연결 전 상태의 MqttConnectionPool 객체
+     * @throws MqttException 클라이언트 생성 중 오류 발생 시
      */
-    @PreDestroy
-    public void cleanup() throws MqttException {
-        if (client != null && client.isConnected()) {
-            client.unsubscribe(topic);
-            client.disconnect();
-            log.info("MQTT 세션 정리 완료");
-        }
+    @Bean(destroyMethod = "close")
+    public MqttConnectionPool mqttConnectionPool() throws MqttException {
+        return new MqttConnectionPool(brokerUrl, clientId, filters, connections, scaleOutMode);
     }
-}
\ No newline at end of file
+}
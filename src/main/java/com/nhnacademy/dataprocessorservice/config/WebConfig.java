@@ -2,13 +2,26 @@ package com.nhnacademy.dataprocessorservice.config;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.dataprocessorservice.concurrent.BoundedVirtualThreadExecutor;
+import com.nhnacademy.dataprocessorservice.concurrent.VirtualThreadPinningMonitor;
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchOptions;
+import com.nhnacademy.dataprocessorservice.model.ModelCoalesceOptions;
+import com.nhnacademy.dataprocessorservice.model.ModelCoalescingDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelGuardOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.concurrent.Executor;
 
 
@@ -16,9 +29,26 @@ import java.util.concurrent.Executor;
 @EnableAspectJAutoProxy(exposeProxy = true, proxyTargetClass = true)
 
 public class WebConfig {
+    private static final String BATCH = "batch";
+    private static final String COALESCE = "coalesce";
+
+    /**
+     * keep-alive 연결을 재사용하는 JDK HttpClient 기반 RestTemplate 입니다.
+     * 모델 API가 멈췄을 때 전송 스레드가 무한정 묶이지 않도록 연결/응답 타임아웃을 둡니다.
+     * {@link RestTemplateBuilder}로 만들어 모델 API 호출 지연이 {@code http.client.requests} 지표로 기록됩니다.
+     */
     @Bean
-    public RestTemplate restTemplate(){
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder,
+            @Value("${model.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${model.read-timeout-ms:5000}") long readTimeoutMs){
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return restTemplateBuilder.requestFactory(() -> requestFactory).build();
     }
 
 
@@ -27,15 +57,130 @@ public class WebConfig {
         return new ObjectMapper();
     }
 
+    /**
+     * 모델 전송 executor 입니다.
+     * {@code async.virtual-threads=true}이면 풀 크기 대신 {@code async.max-concurrency}로 동시 호출 수만 제한하는
+     * virtual thread executor를, 아니면 기존 플랫폼 스레드 풀을 사용합니다.
+     */
     @Bean(name = "modelDispatcherExecutor")
     public Executor modelDispatcherExecutor(
-            @Value("${async.core-pool-size}") int corePool,
-            @Value("${async.max-pool-size}") int maxPool) {
+            @Value("${async.virtual-threads:false}") boolean virtualThreads,
+            @Value("${async.max-concurrency:256}") int maxConcurrency,
+            @Value("${async.acquire-timeout-ms:0}") long acquireTimeoutMs,
+            @Value("${async.core-pool-size:8}") int corePool,
+            @Value("${async.max-pool-size:16}") int maxPool,
+            @Value("${async.queue-capacity:1000}") int queueCapacity) {
+        if (virtualThreads) {
+            return new BoundedVirtualThreadExecutor("model-dispatch-", maxConcurrency, acquireTimeoutMs);
+        }
         ThreadPoolTaskExecutor exec = new ThreadPoolTaskExecutor();
         exec.setCorePoolSize(corePool);
         exec.setMaxPoolSize(maxPool);
+        exec.setQueueCapacity(queueCapacity);
         exec.setThreadNamePrefix("model-dispatch-");
         exec.initialize();
         return exec;
     }
+
+    /**
+     * virtual thread 모드에서 carrier 고정(pinning)을 감시해 로그로 남깁니다 (고정을 막지는 않음).
+     * 모델 전송이나 수집 워커 중 하나라도 virtual thread를 사용할 때만 기동됩니다.
+     */
+    @Bean(destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${async.virtual-threads:false}") boolean asyncVirtualThreads,
+            @Value("${ingest.virtual-threads:false}") boolean ingestVirtualThreads,
+            @Value("${virtual-threads.pinning-threshold-ms:20}") long thresholdMs) {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(thresholdMs);
+        if (asyncVirtualThreads || ingestVirtualThreads) {
+            monitor.start();
+        }
+        return monitor;
+    }
+
+    /**
+     * 모델 API 호출의 적응형 동시 요청 한도와 차단기입니다. 단건/배치 전송이 함께 사용합니다.
+     */
+    @Bean
+    public ModelApiGuard modelApiGuard(
+            @Value("${model.guard.enabled:true}") boolean enabled,
+            @Value("${model.guard.initial-limit:16}") int initialLimit,
+            @Value("${model.guard.min-limit:1}") int minLimit,
+            @Value("${model.guard.max-limit:256}") int maxLimit,
+            @Value("${model.guard.latency-threshold-ms:1000}") long latencyThresholdMs,
+            @Value("${model.guard.backoff-ratio:0.9}") double backoffRatio,
+            @Value("${model.guard.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${model.guard.window-size:20}") int windowSize,
+            @Value("${model.guard.min-calls:10}") int minCalls,
+            @Value("${model.guard.open-ms:5000}") long openMs,
+            @Value("${model.guard.half-open-probes:3}") int halfOpenProbes) {
+        return new ModelApiGuard(ModelGuardOptions.builder()
+                .enabled(enabled)
+                .initialLimit(initialLimit)
+                .minLimit(minLimit)
+                .maxLimit(maxLimit)
+                .latencyThresholdMs(latencyThresholdMs)
+                .backoffRatio(backoffRatio)
+                .failureRateThreshold(failureRateThreshold)
+                .windowSize(windowSize)
+                .minCalls(minCalls)
+                .openMs(openMs)
+                .halfOpenProbes(halfOpenProbes)
+                .build());
+    }
+
+    /**
+     * 위치별로 샘플을 모아 배열로 전송하는 dispatcher 입니다.
+     * {@code model.dispatch-mode=batch}일 때, 그리고 {@code coalesce} 모드의 전송 수단으로 기동되며,
+     * 그 외에는 샘플마다 단건 전송합니다.
+     */
+    @Bean(destroyMethod = "close")
+    public ModelBatchDispatcher modelBatchDispatcher(
+            RestTemplate restTemplate,
+            @Qualifier("modelDispatcherExecutor") Executor modelDispatcherExecutor,
+            ModelApiGuard modelApiGuard,
+            @Value("${model.dispatch-mode:single}") String dispatchMode,
+            @Value("${model.batch-api-url:${model.api-url}}") String batchApiUrl,
+            @Value("${model.batch.window-ms:200}") long windowMs,
+            @Value("${model.batch.max-size:100}") int maxBatchSize,
+            @Value("${model.batch.max-pending-batches:64}") int maxPendingBatches,
+            @Value("${model.batch.max-in-flight:4}") int maxInFlight,
+            @Value("${model.batch.enqueue-timeout-ms:1000}") long enqueueTimeoutMs) {
+        ModelBatchDispatcher dispatcher = new ModelBatchDispatcher(restTemplate, modelDispatcherExecutor, batchApiUrl,
+                ModelBatchOptions.builder()
+                        .windowMs(windowMs)
+                        .maxBatchSize(maxBatchSize)
+                        .maxPendingBatches(maxPendingBatches)
+                        .maxInFlight(maxInFlight)
+                        .enqueueTimeoutMs(enqueueTimeoutMs)
+                        .build(),
+                modelApiGuard);
+        if (BATCH.equalsIgnoreCase(dispatchMode) || COALESCE.equalsIgnoreCase(dispatchMode)) {
+            dispatcher.start();
+        }
+        return dispatcher;
+    }
+
+    /**
+     * (location, sensor_type)별 최신값만 위치 단위 주기로 전송하는 dispatcher 입니다.
+     * {@code model.dispatch-mode=coalesce}일 때만 기동됩니다.
+     */
+    @Bean(destroyMethod = "close")
+    public ModelCoalescingDispatcher modelCoalescingDispatcher(
+            ModelBatchDispatcher modelBatchDispatcher,
+            @Value("${model.dispatch-mode:single}") String dispatchMode,
+            @Value("${model.coalesce.interval-ms:1000}") long intervalMs,
+            @Value("${model.coalesce.min-interval-ms:50}") long minIntervalMs,
+            @Value("${model.coalesce.deltas:temperature=0.5,humidity=2,co2=100}") String deltas) {
+        ModelCoalescingDispatcher dispatcher = new ModelCoalescingDispatcher(modelBatchDispatcher,
+                ModelCoalesceOptions.builder()
+                        .intervalMs(intervalMs)
+                        .minIntervalMs(minIntervalMs)
+                        .deltas(ModelCoalesceOptions.parseDeltas(deltas))
+                        .build());
+        if (COALESCE.equalsIgnoreCase(dispatchMode)) {
+            dispatcher.start();
+        }
+        return dispatcher;
+    }
 }
@@ -0,0 +1,42 @@
+package com.nhnacademy.dataprocessorservice.controller;
+
+import com.nhnacademy.dataprocessorservice.stats.RollingStatsStore;
+import com.nhnacademy.dataprocessorservice.stats.SensorStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 메모리에 유지 중인 센서 최신값과 롤링 집계를 조회합니다.
+ * InfluxDB를 거치지 않으므로 대시보드의 실시간 조회용으로 사용합니다.
+ */
+@RestController
+@RequestMapping("/api/sensors/stats")
+@RequiredArgsConstructor
+public class SensorStatsController {
+
+    private final RollingStatsStore rollingStatsStore;
+
+    @GetMapping
+    public List<SensorStats> findAll() {
+        return rollingStatsStore.findAll();
+    }
+
+    @GetMapping("/{location}")
+    public ResponseEntity<List<SensorStats>> findByLocation(@PathVariable String location) {
+        List<SensorStats> stats = rollingStatsStore.findByLocation(location);
+        return stats.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/{location}/{type}")
+    public ResponseEntity<SensorStats> find(@PathVariable String location, @PathVariable String type) {
+        return rollingStatsStore.find(location, type)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
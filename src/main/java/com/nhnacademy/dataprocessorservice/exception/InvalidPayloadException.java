@@ -1,7 +1,39 @@
 package com.nhnacademy.dataprocessorservice.exception;
 
 public class InvalidPayloadException extends RuntimeException {
+
+    /**
+     * 페이로드를 처리하지 못한 원인 분류 (지표 태그로 사용)
+     */
+    public enum Reason {
+        /** 토픽 세그먼트가 부족함 */
+        TOPIC_FORMAT,
+        /** 최상위 JSON이 객체가 아님 */
+        NOT_OBJECT,
+        /** JSON 문법 오류 또는 잘린 본문 */
+        MALFORMED_JSON,
+        /** 센서 종류에 해당하는 수치 value가 없음 */
+        MISSING_VALUE,
+        /** time 필드 형식 오류 */
+        BAD_TIME,
+        /** 값이 센서 종류의 유효 범위를 벗어남 */
+        OUT_OF_RANGE,
+        /** 그 외 */
+        OTHER
+    }
+
+    private final Reason reason;
+
     public InvalidPayloadException(String message) {
+        this(Reason.OTHER, message);
+    }
+
+    public InvalidPayloadException(Reason reason, String message) {
         super(message);
+        this.reason = reason;
+    }
+
+    public Reason reason() {
+        return reason;
     }
 }
@@ -0,0 +1,15 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+/**
+ * 직렬화된 line protocol 배치를 받는 대상입니다.
+ * InfluxDB로 바로 보내는 {@link InfluxHttpSender}와 디스크에 먼저 기록하는 {@link WriteAheadLog}가 있습니다.
+ */
+public interface BatchSink {
+
+    /**
+     * 배치를 넘깁니다. 호출이 끝나면 body 배열을 재사용해도 됩니다.
+     *
+     * @return 배치를 받아들였으면 true, 버려졌으면 false
+     */
+    boolean accept(byte[] body, int length) throws InterruptedException;
+}
@@ -0,0 +1,22 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import lombok.Builder;
+
+/**
+ * {@link TumblingAggregator}의 다운샘플링 설정입니다.
+ *
+ * @param policy          원본/집계 기록 정책
+ * @param measurement     집계를 기록할 measurement 이름
+ * @param windowMs        tumbling 윈도우 길이
+ * @param graceMs         윈도우 종료 후 늦게 도착하는 샘플을 기다리는 시간. 다음 윈도우 샘플이 들어와도
+ *                        측정 시각이 종료 + grace에 이를 때까지 직전 윈도우를 열어 두고, 수신이 없으면 벽시계 기준으로 닫음
+ * @param flushIntervalMs 닫을 윈도우를 확인하는 주기
+ */
+@Builder
+public record DownsampleOptions(
+        WritePolicy policy,
+        String measurement,
+        long windowMs,
+        long graceMs,
+        long flushIntervalMs) {
+}
@@ -0,0 +1,148 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 직렬화가 끝난 line protocol 본문을 InfluxDB v2 write API로 전송합니다.
+ * <p>
+ * 429/5xx 응답과 네트워크 오류는 지수 백오프로 재시도하고,
+ * 그 외 4xx 응답은 데이터 자체의 문제로 보고 재시도하지 않습니다.
+ * </p>
+ */
+@Slf4j
+public class InfluxHttpSender implements BatchSink {
+
+    /**
+     * 단일 전송 시도 결과
+     */
+    public enum Result {
+        /** 2xx */
+        OK,
+        /** 429/5xx 또는 네트워크 오류, 나중에 다시 보내면 성공할 수 있음 */
+        RETRYABLE,
+        /** 그 외 4xx, 다시 보내도 실패 */
+        REJECTED
+    }
+
+    private final HttpClient httpClient;
+    private final URI writeUri;
+    private final String authorization;
+    private final int maxRetries;
+    private final long retryIntervalMs;
+    private final Duration requestTimeout;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder retryableFailures = new LongAdder();
+    private final LongAdder rejectedRequests = new LongAdder();
+
+    public InfluxHttpSender(String url, String token, String org, String bucket,
+                            int maxRetries, long retryIntervalMs, long requestTimeoutMs) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(requestTimeoutMs))
+                .build();
+        this.writeUri = URI.create(stripTrailingSlash(url) + "/api/v2/write?org=" + encode(org)
+                + "&bucket=" + encode(bucket) + "&precision=ms");
+        this.authorization = "Token " + token;
+        this.maxRetries = maxRetries;
+        this.retryIntervalMs = retryIntervalMs;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+    }
+
+    @Override
+    public boolean accept(byte[] body, int length) throws InterruptedException {
+        return send(body, length);
+    }
+
+    /**
+     * 본문을 전송합니다. 호출이 끝나면 body 배열을 재사용해도 됩니다.
+     *
+     * @return 전송 성공 여부 (재시도 소진 또는 재시도 불가 응답이면 false)
+     */
+    public boolean send(byte[] body, int length) throws InterruptedException {
+        long backoff = retryIntervalMs;
+        for (int attempt = 0; ; attempt++) {
+            Result result = post(body, 0, length);
+            if (result == Result.OK) {
+                return true;
+            }
+            if (result == Result.REJECTED || attempt >= maxRetries) {
+                return false;
+            }
+            retries.increment();
+            log.warn("InfluxDB 쓰기 재시도 {}/{}", attempt + 1, maxRetries);
+            Thread.sleep(backoff);
+            backoff = Math.min(backoff * 2, 60_000);
+        }
+    }
+
+    /**
+     * 재시도 없이 한 번만 전송합니다.
+     */
+    public Result post(byte[] body, int offset, int length) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(writeUri)
+                .timeout(requestTimeout)
+                .header("Authorization", authorization)
+                .header("Content-Type", "text/plain; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body, offset, length))
+                .build();
+        requests.increment();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status / 100 == 2) {
+                return Result.OK;
+            }
+            if (status == 429 || status / 100 == 5) {
+                retryableFailures.increment();
+                log.warn("InfluxDB 쓰기 실패({}): {}", status, response.body());
+                return Result.RETRYABLE;
+            }
+            rejectedRequests.increment();
+            log.error("❌ InfluxDB 쓰기 거부({}): {}", status, response.body());
+            return Result.REJECTED;
+        } catch (IOException e) {
+            retryableFailures.increment();
+            log.warn("InfluxDB 연결 실패: {}", e.getMessage());
+            return Result.RETRYABLE;
+        }
+    }
+
+    /** 전송 시도(HTTP 요청) 수 */
+    public long requests() {
+        return requests.sum();
+    }
+
+    /** 백오프 후 다시 보낸 횟수 */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /** 429/5xx 또는 네트워크 오류 응답 수 */
+    public long retryableFailures() {
+        return retryableFailures.sum();
+    }
+
+    /** 재시도 불가 4xx 응답 수 */
+    public long rejectedRequests() {
+        return rejectedRequests.sum();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,25 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import lombok.Builder;
+
+/**
+ * {@link LineProtocolWriter}의 배치/재시도 설정입니다.
+ *
+ * @param batchSize         배치당 최대 포인트 수, 도달하면 즉시 전송
+ * @param flushIntervalMs   배치가 덜 찼더라도 전송하는 최대 대기 시간
+ * @param maxPendingBatches 전송 대기 중인 배치의 최대 개수 (메모리 상한)
+ * @param enqueueTimeoutMs  전송 대기열이 가득 찼을 때 기다리는 최대 시간, 초과 시 배치를 버림
+ * @param maxRetries        429/5xx 응답 또는 네트워크 오류 시 재시도 횟수
+ * @param retryIntervalMs   첫 재시도 대기 시간 (이후 두 배씩 증가)
+ * @param requestTimeoutMs  HTTP 요청 타임아웃
+ */
+@Builder
+public record LineProtocolWriteOptions(
+        int batchSize,
+        long flushIntervalMs,
+        int maxPendingBatches,
+        long enqueueTimeoutMs,
+        int maxRetries,
+        long retryIntervalMs,
+        long requestTimeoutMs) {
+}
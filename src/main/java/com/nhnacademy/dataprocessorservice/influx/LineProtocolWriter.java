@@ -0,0 +1,422 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * InfluxDB line protocol을 재사용 버퍼에 직접 이어 붙여 배치 단위로 전송하는 writer입니다.
+ * <p>
+ * {@code Point} 빌더와 태그/필드 맵을 거치지 않고, (measurement, location, type)별로
+ * 이스케이프가 끝난 {@code "sensor,location=..,type=.. "} 접두어를 캐시해 둡니다.
+ * 배치가 {@code batchSize}에 도달하거나 {@code flushIntervalMs}가 지나면 전용 flush 스레드가
+ * UTF-8로 인코딩해 {@link BatchSink}({@link InfluxHttpSender} 또는 {@link WriteAheadLog})로 넘깁니다.
+ * 전송 대기열이 가득 찬 상태가 {@code enqueueTimeoutMs} 이상 지속되면 배치를 버리고 dropped로 집계합니다.
+ * </p>
+ * <p>
+ * {@link #close()} 이후의 쓰기는 배치에 넣지 않고 rejected로 집계합니다. 종료 시에는 남은 배치 수 × 배치당 최대 전송 시간
+ * (요청 타임아웃과 재시도 백오프 합)만큼 전송을 기다리고, 그 안에 끝나지 않은 배치는 버린 뒤 건수를 로그로 남깁니다.
+ * </p>
+ */
+@Slf4j
+public class LineProtocolWriter implements AutoCloseable {
+
+    private final BatchSink sink;
+    private final LineProtocolWriteOptions options;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, ConcurrentHashMap<String, String>>> prefixes =
+            new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final BlockingQueue<Batch> sealed;
+    private final BlockingQueue<Batch> free;
+
+    private final LatencyHistogram flushLatencyMicros = new LatencyHistogram();
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final LongAdder writtenPoints = new LongAdder();
+    private final LongAdder droppedPoints = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder rejectedPoints = new LongAdder();
+    private final AtomicBoolean rejectWarned = new AtomicBoolean();
+
+    private Batch current;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private ByteBuffer encoded = ByteBuffer.allocate(64 * 1024);
+
+    public LineProtocolWriter(BatchSink sink, LineProtocolWriteOptions options) {
+        this.sink = sink;
+        this.options = options;
+        this.sealed = new ArrayBlockingQueue<>(options.maxPendingBatches());
+        this.free = new ArrayBlockingQueue<>(options.maxPendingBatches() + 2);
+        this.current = newBatch();
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "influx-line-flusher");
+        flusher.start();
+        log.info("📝 line protocol writer 기동: batchSize={}, flushInterval={}ms",
+                options.batchSize(), options.flushIntervalMs());
+    }
+
+    /**
+     * 포인트 한 건을 현재 배치에 추가합니다.
+     *
+     * @param measurement measurement 이름
+     * @param location    location 태그
+     * @param type        type 태그
+     * @param value       value 필드
+     * @param timeMillis  포인트 시각 (epoch millis)
+     */
+    public void write(String measurement, String location, String type, double value, long timeMillis) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            droppedPoints.increment();
+            return;
+        }
+        String prefix = prefixOf(measurement, location, type);
+        Batch full;
+        lock.lock();
+        try {
+            if (!running) {
+                reject();
+                return;
+            }
+            current.lines.append(prefix).append("value=").append(value).append(' ').append(timeMillis).append('\n');
+            full = sealIfFull();
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            enqueue(full);
+        }
+    }
+
+    /**
+     * 다운샘플링된 윈도우 집계 한 건을 현재 배치에 추가합니다.
+     *
+     * @param timeMillis 윈도우 시작 시각 (epoch millis)
+     */
+    public void writeAggregate(String measurement, String location, String type,
+                               double min, double max, double mean, double last, long count, long timeMillis) {
+        String prefix = prefixOf(measurement, location, type);
+        Batch full;
+        lock.lock();
+        try {
+            if (!running) {
+                reject();
+                return;
+            }
+            current.lines.append(prefix)
+                    .append("min=").append(min)
+                    .append(",max=").append(max)
+                    .append(",mean=").append(mean)
+                    .append(",last=").append(last)
+                    .append(",count=").append(count).append('i')
+                    .append(' ').append(timeMillis).append('\n');
+            full = sealIfFull();
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            enqueue(full);
+        }
+    }
+
+    /**
+     * 종료된 뒤 들어온 쓰기를 집계합니다. 종료 후 새 배치를 만들면 아무도 flush하지 않으므로 버립니다.
+     */
+    private void reject() {
+        rejectedPoints.increment();
+        if (rejectWarned.compareAndSet(false, true)) {
+            log.warn("line protocol writer가 종료된 뒤 들어온 쓰기를 버립니다");
+        }
+    }
+
+    /**
+     * lock을 쥔 상태에서 호출합니다. 배치가 가득 찼으면 새 배치로 교체하고 가득 찬 배치를 반환합니다.
+     */
+    private Batch sealIfFull() {
+        if (++current.points < options.batchSize()) {
+            return null;
+        }
+        Batch full = current;
+        current = newBatch();
+        return full;
+    }
+
+    /**
+     * 캐시된 접두어를 찾습니다. 적중 시 캡처 람다 생성을 피하기 위해 get을 먼저 시도합니다.
+     */
+    private String prefixOf(String measurement, String location, String type) {
+        ConcurrentHashMap<String, ConcurrentHashMap<String, String>> byLocation = prefixes.get(measurement);
+        if (byLocation == null) {
+            byLocation = prefixes.computeIfAbsent(measurement, m -> new ConcurrentHashMap<>());
+        }
+        ConcurrentHashMap<String, String> byType = byLocation.get(location);
+        if (byType == null) {
+            byType = byLocation.computeIfAbsent(location, l -> new ConcurrentHashMap<>());
+        }
+        String prefix = byType.get(type);
+        if (prefix == null) {
+            prefix = byType.computeIfAbsent(type, t -> tagPrefixOf(measurement, location, t) + ' ');
+        }
+        return prefix;
+    }
+
+    static String tagPrefixOf(String measurement, String location, String type) {
+        StringBuilder sb = new StringBuilder(measurement.length() + location.length() + type.length() + 24);
+        escape(sb, measurement, false);
+        sb.append(",location=");
+        escape(sb, location, true);
+        sb.append(",type=");
+        escape(sb, type, true);
+        return sb.toString();
+    }
+
+    private static void escape(StringBuilder sb, String value, boolean tag) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == ' ' || (tag && c == '=')) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+    }
+
+    private void enqueue(Batch batch) {
+        try {
+            if (!sealed.offer(batch, options.enqueueTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                droppedPoints.add(batch.points);
+                log.warn("InfluxDB 전송 대기열 포화, 배치 {}건을 버립니다", batch.points);
+                recycle(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedPoints.add(batch.points);
+            recycle(batch);
+        }
+    }
+
+    private void runFlusher() {
+        while (running || !sealed.isEmpty()) {
+            Batch batch;
+            try {
+                batch = sealed.poll(options.flushIntervalMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == null) {
+                batch = sealCurrentIfDue();
+            }
+            if (batch != null) {
+                try {
+                    send(batch);
+                } catch (InterruptedException e) {
+                    // 종료 대기 시간을 넘겨 중단된 경우, 보내던 배치도 버린 것으로 집계
+                    Thread.currentThread().interrupt();
+                    droppedPoints.add(batch.points);
+                    return;
+                }
+            }
+        }
+    }
+
+    private Batch sealCurrentIfDue() {
+        lock.lock();
+        try {
+            if (current.points == 0
+                    || System.currentTimeMillis() - current.createdAt < options.flushIntervalMs()) {
+                return null;
+            }
+            Batch due = current;
+            current = newBatch();
+            return due;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void send(Batch batch) throws InterruptedException {
+        if (batch.points == 0) {
+            recycle(batch);
+            return;
+        }
+        long start = System.nanoTime();
+        int length = encode(batch.lines);
+        boolean ok = sink.accept(encoded.array(), length);
+        flushLatencyMicros.record((System.nanoTime() - start) / 1_000);
+        batchSizes.record(batch.points);
+        if (ok) {
+            writtenPoints.add(batch.points);
+        } else {
+            failedFlushes.increment();
+            droppedPoints.add(batch.points);
+        }
+        recycle(batch);
+    }
+
+    /**
+     * flush 스레드 전용 버퍼에 UTF-8로 인코딩합니다. 부족하면 버퍼를 두 배로 늘립니다.
+     */
+    private int encode(CharSequence lines) {
+        CharBuffer chars = CharBuffer.wrap(lines);
+        encoded.clear();
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, encoded, true);
+            if (result.isOverflow()) {
+                ByteBuffer larger = ByteBuffer.allocate(encoded.capacity() * 2);
+                encoded.flip();
+                larger.put(encoded);
+                encoded = larger;
+                continue;
+            }
+            break;
+        }
+        encoder.flush(encoded);
+        return encoded.position();
+    }
+
+    private Batch newBatch() {
+        Batch batch = free.poll();
+        if (batch == null) {
+            batch = new Batch(options.batchSize());
+        }
+        batch.createdAt = System.currentTimeMillis();
+        return batch;
+    }
+
+    private void recycle(Batch batch) {
+        batch.lines.setLength(0);
+        batch.points = 0;
+        free.offer(batch);
+    }
+
+    /**
+     * 현재 배치를 봉인하고 대기열이 모두 전송될 때까지 기다립니다.
+     * 남은 배치를 모두 최악의 경우(재시도 소진)로 보내는 시간까지만 기다리고, 그래도 남은 배치는 버립니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        Batch last;
+        lock.lock();
+        try {
+            // lock 안에서 내려야 이후 write가 봉인된 current에 끼어들지 않고 거부됨
+            running = false;
+            last = current;
+            current = newBatch();
+        } finally {
+            lock.unlock();
+        }
+        // 비어 있는 배치라도 넣어 poll 대기 중인 flush 스레드를 깨움
+        enqueue(last);
+        long timeoutMs = options.flushIntervalMs() + worstCaseSendMs(options) * (sealed.size() + 1);
+        try {
+            flusher.join(timeoutMs);
+            if (flusher.isAlive() || !sealed.isEmpty()) {
+                abandonPending(timeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("📝 line protocol writer 종료: written={}, dropped={}, rejected={}",
+                writtenPoints.sum(), droppedPoints.sum(), rejectedPoints.sum());
+    }
+
+    /**
+     * 종료 대기 시간 안에 끝나지 않은 전송을 중단하고, 대기열에 남은 배치를 버린 것으로 집계합니다.
+     */
+    private void abandonPending(long timeoutMs) throws InterruptedException {
+        long droppedBefore = droppedPoints.sum();
+        int batches = sealed.size() + 1;
+        flusher.interrupt();
+        flusher.join(options.requestTimeoutMs());
+        Batch batch;
+        while ((batch = sealed.poll()) != null) {
+            droppedPoints.add(batch.points);
+            recycle(batch);
+        }
+        log.warn("⚠️ {}ms 안에 InfluxDB 전송을 마치지 못해 남은 배치를 버립니다: batches={}(전송 중 포함), points={}",
+                timeoutMs, batches, droppedPoints.sum() - droppedBefore);
+    }
+
+    /**
+     * 배치 하나를 보내는 데 걸릴 수 있는 최대 시간입니다.
+     * {@link InfluxHttpSender#send}와 같이 (재시도 + 1)번의 요청 타임아웃과 두 배씩 늘어나는(최대 60초) 백오프를 더합니다.
+     */
+    static long worstCaseSendMs(LineProtocolWriteOptions options) {
+        long total = options.requestTimeoutMs() * (options.maxRetries() + 1L);
+        long backoff = options.retryIntervalMs();
+        for (int attempt = 0; attempt < options.maxRetries(); attempt++) {
+            total += backoff;
+            backoff = Math.min(backoff * 2, 60_000);
+        }
+        return total;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int pendingBatches() {
+        return sealed.size();
+    }
+
+    /** 배치 전달(인코딩 + HTTP 재시도 또는 WAL 기록)에 걸린 시간 (µs) */
+    public LatencyHistogram flushLatencyMicros() {
+        return flushLatencyMicros;
+    }
+
+    /** 전송된 배치의 포인트 수 분포 */
+    public LatencyHistogram batchSizes() {
+        return batchSizes;
+    }
+
+    public long writtenPoints() {
+        return writtenPoints.sum();
+    }
+
+    public long droppedPoints() {
+        return droppedPoints.sum();
+    }
+
+    public long failedFlushes() {
+        return failedFlushes.sum();
+    }
+
+    /** 종료 후 들어와 버린 포인트 수 */
+    public long rejectedPoints() {
+        return rejectedPoints.sum();
+    }
+
+    private static final class Batch {
+        private final StringBuilder lines;
+        private int points;
+        private long createdAt;
+
+        private Batch(int batchSize) {
+            this.lines = new StringBuilder(batchSize * 64);
+        }
+    }
+}
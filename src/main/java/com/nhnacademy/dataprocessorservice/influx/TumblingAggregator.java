@@ -0,0 +1,297 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * (location, type)별로 측정 시각 기준 tumbling 윈도우의 min/max/mean/last/count를 누적합니다.
+ * <p>
+ * 원본 샘플은 보관하지 않고 시계열마다 최근 윈도우 두 개(현재, 직전)의 누적값만 유지합니다.
+ * 한 시계열에는 같은 위치의 여러 디바이스 토픽이 섞여 들어오므로, 다음 윈도우의 샘플이 들어와도
+ * 직전 윈도우는 측정 시각이 그 종료 시각 + {@code graceMs}에 이를 때까지 열어 두어 다른 디바이스의 늦은 샘플을 받습니다.
+ * 수신이 끊긴 시계열은 전용 스레드가 벽시계 기준으로 종료 시각 + {@code graceMs}가 지난 윈도우를 닫아
+ * {@link WindowAggregate}로 내보냅니다. 이미 닫힌 윈도우에 속하는 늦은 샘플은 집계에서 제외하고 late로 집계합니다.
+ * 종료 시에는 열린 윈도우를 모두 내보냅니다.
+ * </p>
+ * <p>
+ * {@link #start()} 없이 쓰면 벽시계로 닫지 않고 측정 시각으로만 윈도우를 닫습니다.
+ * 캡처 파일 재처리처럼 과거 샘플을 집계할 때 사용하며, 끝나면 {@link #close()}로 남은 윈도우를 내보냅니다.
+ * </p>
+ */
+@Slf4j
+public class TumblingAggregator implements AutoCloseable {
+
+    private final DownsampleOptions options;
+    private final Consumer<WindowAggregate> sink;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Series>> seriesByLocation =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder recordedSamples = new LongAdder();
+    private final LongAdder lateSamples = new LongAdder();
+    private final LongAdder emittedWindows = new LongAdder();
+
+    private Thread flusher;
+    private volatile boolean running;
+    private boolean closed;
+
+    public TumblingAggregator(DownsampleOptions options, Consumer<WindowAggregate> sink) {
+        this(options, sink, System::currentTimeMillis);
+    }
+
+    TumblingAggregator(DownsampleOptions options, Consumer<WindowAggregate> sink, LongSupplier clock) {
+        this.options = options;
+        this.sink = sink;
+        this.clock = clock;
+    }
+
+    public synchronized void start() {
+        if (running || closed) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "influx-downsample-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("🧊 다운샘플링 기동: policy={}, measurement={}, window={}ms",
+                options.policy(), options.measurement(), options.windowMs());
+    }
+
+    /**
+     * 샘플 하나를 해당 윈도우에 누적합니다. 닫을 때가 된 윈도우는 호출 스레드에서 내보냅니다.
+     *
+     * @param timeMillis 측정 시각 (epoch millis)
+     */
+    public void record(String location, String type, double value, long timeMillis) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        long windowStart = timeMillis - Math.floorMod(timeMillis, options.windowMs());
+        Series series = seriesOf(location, type);
+        List<WindowAggregate> closed = new ArrayList<>(2);
+        series.lock.lock();
+        try {
+            Bucket bucket = series.bucketFor(windowStart, closed);
+            if (bucket == null) {
+                lateSamples.increment();
+            } else {
+                bucket.add(value, timeMillis);
+                recordedSamples.increment();
+            }
+            series.newestTime = Math.max(series.newestTime, timeMillis);
+            // 측정 시각이 직전 윈도우의 종료 + grace를 지났으면 더 기다리지 않음
+            if (series.previous != null
+                    && series.newestTime >= series.previous.start + options.windowMs() + options.graceMs()) {
+                closed.add(series.closePrevious());
+            }
+        } finally {
+            series.lock.unlock();
+        }
+        closed.forEach(this::emit);
+    }
+
+    private Series seriesOf(String location, String type) {
+        ConcurrentHashMap<String, Series> byType = seriesByLocation.get(location);
+        if (byType == null) {
+            byType = seriesByLocation.computeIfAbsent(location, l -> new ConcurrentHashMap<>());
+        }
+        Series series = byType.get(type);
+        if (series == null) {
+            series = byType.computeIfAbsent(type, t -> new Series(location, t));
+        }
+        return series;
+    }
+
+    private void runFlusher() {
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(options.flushIntervalMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flushExpired(false);
+        }
+    }
+
+    /**
+     * 종료 시각에 grace를 더한 시점이 지난 윈도우를 닫습니다.
+     *
+     * @param all true면 시각과 관계없이 열린 윈도우를 모두 닫음
+     */
+    void flushExpired(boolean all) {
+        long deadline = clock.getAsLong() - options.graceMs();
+        List<WindowAggregate> closed = new ArrayList<>();
+        for (ConcurrentHashMap<String, Series> byType : seriesByLocation.values()) {
+            for (Series series : byType.values()) {
+                series.lock.lock();
+                try {
+                    if (series.previous != null && (all || series.previous.start + options.windowMs() <= deadline)) {
+                        closed.add(series.closePrevious());
+                    }
+                    if (series.current != null && (all || series.current.start + options.windowMs() <= deadline)) {
+                        closed.add(series.closeCurrent());
+                    }
+                } finally {
+                    series.lock.unlock();
+                }
+            }
+        }
+        closed.forEach(this::emit);
+    }
+
+    private void emit(WindowAggregate aggregate) {
+        try {
+            sink.accept(aggregate);
+            emittedWindows.increment();
+        } catch (RuntimeException e) {
+            log.error("다운샘플 집계 기록 실패: location={}, type={}", aggregate.location(), aggregate.type(), e);
+        }
+    }
+
+    /**
+     * 열린 윈도우를 모두 내보내고 종료합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (running) {
+            running = false;
+            flusher.interrupt();
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flushExpired(true);
+        log.info("🧊 다운샘플링 종료: recorded={}, late={}, windows={}",
+                recordedSamples.sum(), lateSamples.sum(), emittedWindows.sum());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long recordedSamples() {
+        return recordedSamples.sum();
+    }
+
+    /** 이미 닫힌 윈도우에 속해 집계에서 제외된 샘플 수 */
+    public long lateSamples() {
+        return lateSamples.sum();
+    }
+
+    public long emittedWindows() {
+        return emittedWindows.sum();
+    }
+
+    /**
+     * 시계열 하나의 열린 윈도우. {@code previous}는 항상 {@code current}보다 이른 윈도우입니다.
+     */
+    private static final class Series {
+        private final String location;
+        private final String type;
+        private final ReentrantLock lock = new ReentrantLock();
+        private Bucket current;
+        private Bucket previous;
+        private long lastClosedStart = Long.MIN_VALUE;
+        private long newestTime = Long.MIN_VALUE;
+
+        private Series(String location, String type) {
+            this.location = location;
+            this.type = type;
+        }
+
+        /**
+         * 샘플이 들어갈 윈도우를 찾습니다. 현재 윈도우보다 늦은 윈도우면 현재를 직전으로 넘기고 새로 열며,
+         * 이때 이미 열려 있던 직전 윈도우는 닫아 {@code closed}에 담습니다.
+         *
+         * @return 이미 닫혔거나 열린 적 없는 이전 윈도우면 null
+         */
+        private Bucket bucketFor(long windowStart, List<WindowAggregate> closed) {
+            if (current != null && windowStart == current.start) {
+                return current;
+            }
+            if (previous != null && windowStart == previous.start) {
+                return previous;
+            }
+            if (windowStart <= lastClosedStart || (current != null && windowStart < current.start)) {
+                return null;
+            }
+            if (current != null) {
+                if (previous != null) {
+                    closed.add(closePrevious());
+                }
+                previous = current;
+            }
+            current = new Bucket(windowStart);
+            return current;
+        }
+
+        private WindowAggregate closePrevious() {
+            WindowAggregate aggregate = previous.toAggregate(location, type);
+            lastClosedStart = Math.max(lastClosedStart, previous.start);
+            previous = null;
+            return aggregate;
+        }
+
+        private WindowAggregate closeCurrent() {
+            WindowAggregate aggregate = current.toAggregate(location, type);
+            lastClosedStart = Math.max(lastClosedStart, current.start);
+            current = null;
+            return aggregate;
+        }
+    }
+
+    /**
+     * 윈도우 하나의 누적값
+     */
+    private static final class Bucket {
+        private final long start;
+        private long count;
+        private double sum;
+        private double min;
+        private double max;
+        private double last;
+        private long lastTime;
+
+        private Bucket(long start) {
+            this.start = start;
+        }
+
+        private void add(double value, long timeMillis) {
+            if (count == 0) {
+                min = value;
+                max = value;
+                last = value;
+                lastTime = timeMillis;
+            } else {
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                if (timeMillis >= lastTime) {
+                    last = value;
+                    lastTime = timeMillis;
+                }
+            }
+            sum += value;
+            count++;
+        }
+
+        private WindowAggregate toAggregate(String location, String type) {
+            return new WindowAggregate(location, type, start, min, max, sum / count, last, count);
+        }
+    }
+}
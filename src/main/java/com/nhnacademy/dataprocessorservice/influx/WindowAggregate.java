@@ -0,0 +1,24 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+/**
+ * (location, type) 하나의 닫힌 tumbling 윈도우 집계입니다.
+ *
+ * @param location    위치
+ * @param type        센서 종류
+ * @param windowStart 윈도우 시작 시각 (epoch millis), InfluxDB 포인트 시각으로 사용
+ * @param min         최솟값
+ * @param max         최댓값
+ * @param mean        평균
+ * @param last        윈도우 안에서 측정 시각이 가장 늦은 값
+ * @param count       샘플 수
+ */
+public record WindowAggregate(
+        String location,
+        String type,
+        long windowStart,
+        double min,
+        double max,
+        double mean,
+        double last,
+        long count) {
+}
@@ -0,0 +1,472 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * {@link LineProtocolWriter}와 InfluxDB 사이에 놓이는 디스크 기반 write-ahead log 입니다.
+ * <p>
+ * 배치는 고정 크기의 메모리 매핑 세그먼트 파일에 {@code [length][crc][body]} 형식으로 추가만 되고,
+ * 전용 shipper 스레드가 checkpoint 위치부터 순서대로 읽어 InfluxDB로 전송합니다.
+ * InfluxDB가 내려가 있는 동안에는 같은 레코드를 백오프하며 재시도하므로 힙이 아닌 디스크에 쌓이고,
+ * 재기동 시에는 checkpoint 이후 레코드를 {@code drainRatePerSec} 속도로 재전송합니다.
+ * 전송이 끝난 세그먼트는 바로 삭제하며, 전체 크기나 보존 기간을 넘긴 가장 오래된 세그먼트는
+ * 전송 전이라도 삭제하고 dropped로 집계합니다.
+ * </p>
+ */
+@Slf4j
+public class WriteAheadLog implements BatchSink, AutoCloseable {
+
+    private static final String SUFFIX = ".wal";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int HEADER_BYTES = 8;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final Path directory;
+    private final InfluxHttpSender sender;
+    private final int segmentBytes;
+    private final long maxTotalBytes;
+    private final long maxAgeMs;
+    private final double drainRatePerSec;
+    private final long retryIntervalMs;
+    private final boolean fsync;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    private final LongAdder appendedRecords = new LongAdder();
+    private final LongAdder shippedRecords = new LongAdder();
+    private final LongAdder rejectedRecords = new LongAdder();
+    private final LongAdder droppedSegments = new LongAdder();
+    private final LongAdder droppedBytes = new LongAdder();
+
+    private volatile Segment active;
+    private FileChannel checkpointChannel;
+    private final ByteBuffer checkpointBuffer = ByteBuffer.allocate(16);
+    private volatile long readSegment;
+    private volatile int readOffset;
+
+    private Thread shipper;
+    private volatile boolean running;
+
+    public WriteAheadLog(Path directory, InfluxHttpSender sender, int segmentBytes, long maxTotalBytes,
+                         long maxAgeMs, double drainRatePerSec, long retryIntervalMs, boolean fsync) {
+        this.directory = directory;
+        this.sender = sender;
+        this.segmentBytes = segmentBytes;
+        this.maxTotalBytes = maxTotalBytes;
+        this.maxAgeMs = maxAgeMs;
+        this.drainRatePerSec = drainRatePerSec;
+        this.retryIntervalMs = retryIntervalMs;
+        this.fsync = fsync;
+    }
+
+    /**
+     * 기존 세그먼트와 checkpoint를 복구하고 shipper 스레드를 기동합니다.
+     */
+    public synchronized void open() {
+        if (running) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 복구 실패: " + directory, e);
+        }
+        running = true;
+        shipper = new Thread(this::runShipper, "influx-wal-shipper");
+        shipper.start();
+        log.info("💾 WAL 기동: dir={}, segments={}, backlog={}bytes, checkpoint={}:{}",
+                directory, segments.size(), backlogBytes(), readSegment, readOffset);
+    }
+
+    private void recover() throws IOException {
+        checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long checkpointSegment = 0;
+        int checkpointOffset = 0;
+        if (checkpointChannel.size() >= 12) {
+            ByteBuffer buf = ByteBuffer.allocate(12);
+            checkpointChannel.read(buf, 0);
+            buf.flip();
+            checkpointSegment = buf.getLong();
+            checkpointOffset = buf.getInt();
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        for (Path file : files) {
+            long index = Long.parseLong(file.getFileName().toString().replace(SUFFIX, ""));
+            if (index < checkpointSegment) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            Segment segment = Segment.open(index, file, (int) Math.max(segmentBytes, Files.size(file)));
+            segment.scan();
+            segments.put(index, segment);
+        }
+
+        if (segments.isEmpty()) {
+            active = Segment.open(checkpointSegment, segmentPath(checkpointSegment), segmentBytes);
+            segments.put(active.index, active);
+            checkpointOffset = 0;
+        } else {
+            active = segments.lastEntry().getValue();
+            for (Segment segment : segments.headMap(active.index).values()) {
+                segment.sealed = true;
+            }
+        }
+        if (!segments.containsKey(checkpointSegment)) {
+            checkpointSegment = segments.firstKey();
+            checkpointOffset = 0;
+        }
+        readSegment = checkpointSegment;
+        readOffset = checkpointOffset;
+    }
+
+    /**
+     * 배치를 현재 세그먼트에 추가합니다. 디스크 기록만 하므로 InfluxDB 상태와 무관하게 빠르게 반환됩니다.
+     */
+    @Override
+    public boolean accept(byte[] body, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(body, 0, length);
+        lock.lock();
+        try {
+            if (active.remaining() < HEADER_BYTES + length) {
+                roll(HEADER_BYTES + length);
+            }
+            active.append(body, length, (int) crc.getValue(), fsync);
+            appendedRecords.increment();
+            appended.signalAll();
+        } catch (IOException e) {
+            log.error("WAL 기록 실패, 배치를 버립니다", e);
+            return false;
+        } finally {
+            lock.unlock();
+        }
+        enforceRetention();
+        return true;
+    }
+
+    private void roll(int required) throws IOException {
+        active.seal();
+        long next = active.index + 1;
+        active = Segment.open(next, segmentPath(next), Math.max(segmentBytes, required));
+        segments.put(next, active);
+    }
+
+    /**
+     * 전체 크기 또는 보존 기간을 넘긴 가장 오래된 세그먼트를 전송 여부와 관계없이 삭제합니다.
+     */
+    private void enforceRetention() {
+        long now = System.currentTimeMillis();
+        while (segments.size() > 1) {
+            Segment oldest = segments.firstEntry().getValue();
+            boolean tooLarge = maxTotalBytes > 0 && totalBytes() > maxTotalBytes;
+            boolean tooOld = maxAgeMs > 0 && now - oldest.createdAt > maxAgeMs;
+            if (!tooLarge && !tooOld) {
+                return;
+            }
+            if (segments.remove(oldest.index) != null) {
+                long unsent = oldest.index == readSegment ? oldest.written - readOffset : oldest.written;
+                droppedSegments.increment();
+                droppedBytes.add(Math.max(0, unsent));
+                log.warn("⚠️ WAL 보존 한도 초과, 세그먼트 {} 삭제 (미전송 {}bytes)", oldest.index, unsent);
+                oldest.delete();
+            }
+        }
+    }
+
+    private void runShipper() {
+        byte[] buffer = new byte[64 * 1024];
+        long backoff = retryIntervalMs;
+        long nextSendAt = System.nanoTime();
+        long intervalNanos = drainRatePerSec > 0 ? (long) (1_000_000_000L / drainRatePerSec) : 0;
+
+        while (running) {
+            try {
+                Segment segment = segments.get(readSegment);
+                if (segment == null) {
+                    // 보존 정책으로 삭제되었으면 남아 있는 가장 오래된 세그먼트부터 이어감
+                    Long first = segments.ceilingKey(readSegment);
+                    moveTo(first != null ? first : active.index, 0);
+                    continue;
+                }
+                int length = segment.lengthAt(readOffset);
+                if (length <= 0) {
+                    if (segment.sealed && readOffset >= segment.written) {
+                        Long next = segments.higherKey(segment.index);
+                        if (next != null) {
+                            moveTo(next, 0);
+                            segments.remove(segment.index);
+                            segment.delete();
+                            continue;
+                        }
+                    }
+                    awaitAppend();
+                    continue;
+                }
+
+                if (buffer.length < length) {
+                    buffer = new byte[Integer.highestOneBit(length) << 1];
+                }
+                if (!segment.read(readOffset, buffer, length)) {
+                    log.error("WAL 레코드 CRC 불일치, 세그먼트 {} 의 나머지를 건너뜁니다", segment.index);
+                    segment.sealed = true;
+                    readOffset = segment.written;
+                    continue;
+                }
+
+                if (intervalNanos > 0) {
+                    long wait = nextSendAt - System.nanoTime();
+                    if (wait > 0) {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    }
+                    nextSendAt = Math.max(nextSendAt, System.nanoTime() - intervalNanos) + intervalNanos;
+                }
+
+                InfluxHttpSender.Result result = sender.post(buffer, 0, length);
+                if (result == InfluxHttpSender.Result.RETRYABLE) {
+                    Thread.sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+                    continue;
+                }
+                backoff = retryIntervalMs;
+                if (result == InfluxHttpSender.Result.OK) {
+                    shippedRecords.increment();
+                } else {
+                    rejectedRecords.increment();
+                }
+                moveTo(segment.index, readOffset + HEADER_BYTES + length);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("WAL checkpoint 기록 실패", e);
+            }
+        }
+    }
+
+    private void awaitAppend() throws InterruptedException {
+        lock.lock();
+        try {
+            appended.await(200, TimeUnit.MILLISECONDS);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveTo(long segment, int offset) throws IOException {
+        readSegment = segment;
+        readOffset = offset;
+        checkpointBuffer.clear();
+        checkpointBuffer.putLong(segment).putInt(offset).flip();
+        checkpointChannel.write(checkpointBuffer, 0);
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%020d%s", index, SUFFIX));
+    }
+
+    private long totalBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.capacity;
+        }
+        return total;
+    }
+
+    /**
+     * 아직 InfluxDB로 전송되지 않은 바이트 수
+     */
+    public long backlogBytes() {
+        long backlog = 0;
+        long currentSegment = readSegment;
+        for (Segment segment : segments.values()) {
+            if (segment.index == currentSegment) {
+                backlog += Math.max(0, segment.written - readOffset);
+            } else if (segment.index > currentSegment) {
+                backlog += segment.written;
+            }
+        }
+        return backlog;
+    }
+
+    public boolean isOpen() {
+        return running;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    public long appendedRecords() {
+        return appendedRecords.sum();
+    }
+
+    public long shippedRecords() {
+        return shippedRecords.sum();
+    }
+
+    public long rejectedRecords() {
+        return rejectedRecords.sum();
+    }
+
+    public long droppedSegments() {
+        return droppedSegments.sum();
+    }
+
+    public long droppedBytes() {
+        return droppedBytes.sum();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        shipper.interrupt();
+        try {
+            shipper.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            active.force();
+            checkpointChannel.force(true);
+            checkpointChannel.close();
+        } catch (IOException e) {
+            log.error("WAL 종료 중 오류", e);
+        } finally {
+            lock.unlock();
+        }
+        log.info("💾 WAL 종료: backlog={}bytes, shipped={}, dropped segments={}",
+                backlogBytes(), shippedRecords.sum(), droppedSegments.sum());
+    }
+
+    /**
+     * 메모리 매핑된 세그먼트 파일 하나
+     */
+    private static final class Segment {
+        private final long index;
+        private final Path path;
+        private final int capacity;
+        private final long createdAt;
+        private final MappedByteBuffer buffer;
+        private volatile int written;
+        private volatile boolean sealed;
+
+        private Segment(long index, Path path, int capacity, long createdAt, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.capacity = capacity;
+            this.createdAt = createdAt;
+            this.buffer = buffer;
+        }
+
+        static Segment open(long index, Path path, int capacity) throws IOException {
+            boolean exists = Files.exists(path);
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                long createdAt = exists ? Files.getLastModifiedTime(path).toMillis() : System.currentTimeMillis();
+                return new Segment(index, path, capacity, createdAt, buffer);
+            }
+        }
+
+        /**
+         * 복구 시 유효한 레코드의 끝을 찾습니다. 길이가 0이거나 CRC가 맞지 않는 지점에서 멈춥니다.
+         */
+        void scan() {
+            int offset = 0;
+            byte[] scratch = new byte[0];
+            while (offset + HEADER_BYTES <= capacity) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_BYTES + length > capacity) {
+                    break;
+                }
+                if (scratch.length < length) {
+                    scratch = new byte[length];
+                }
+                if (!read(offset, scratch, length)) {
+                    break;
+                }
+                offset += HEADER_BYTES + length;
+            }
+            written = offset;
+        }
+
+        int remaining() {
+            return capacity - written;
+        }
+
+        /**
+         * 본문과 CRC를 먼저 쓰고 길이를 마지막에 기록해, 읽는 쪽이 완성된 레코드만 보도록 합니다.
+         */
+        void append(byte[] body, int length, int crc, boolean fsync) {
+            int offset = written;
+            buffer.put(offset + HEADER_BYTES, body, 0, length);
+            buffer.putInt(offset + 4, crc);
+            buffer.putInt(offset, length);
+            written = offset + HEADER_BYTES + length;
+            if (fsync) {
+                buffer.force(offset, HEADER_BYTES + length);
+            }
+        }
+
+        int lengthAt(int offset) {
+            if (offset + HEADER_BYTES > written) {
+                return 0;
+            }
+            return buffer.getInt(offset);
+        }
+
+        boolean read(int offset, byte[] target, int length) {
+            buffer.get(offset + HEADER_BYTES, target, 0, length);
+            CRC32C crc = new CRC32C();
+            crc.update(target, 0, length);
+            return (int) crc.getValue() == buffer.getInt(offset + 4);
+        }
+
+        void seal() {
+            sealed = true;
+            force();
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void delete() {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("WAL 세그먼트 삭제 실패: {}", path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+/**
+ * 센서 값을 InfluxDB에 어떤 형태로 기록할지 정합니다.
+ */
+public enum WritePolicy {
+    /** 원본 샘플만 {@code sensor} measurement에 기록 (기본) */
+    RAW,
+    /** 윈도우 집계만 다운샘플 measurement에 기록 */
+    AGGREGATED,
+    /** 원본과 윈도우 집계를 모두 기록 */
+    BOTH;
+
+    public boolean writesRaw() {
+        return this != AGGREGATED;
+    }
+
+    public boolean writesAggregated() {
+        return this != RAW;
+    }
+}
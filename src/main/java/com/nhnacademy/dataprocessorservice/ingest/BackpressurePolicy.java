@@ -0,0 +1,13 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+/**
+ * 수집 큐가 가득 찼을 때의 처리 정책입니다.
+ */
+public enum BackpressurePolicy {
+    /** 큐에 자리가 날 때까지 MQTT 콜백 스레드를 대기시킵니다. */
+    BLOCK,
+    /** 가장 오래된 메시지를 버리고 새 메시지를 넣습니다. */
+    DROP_OLDEST,
+    /** 넘치는 메시지를 로컬 디스크에 기록해 두었다가 여유가 생기면 다시 넣습니다. */
+    SPILL
+}
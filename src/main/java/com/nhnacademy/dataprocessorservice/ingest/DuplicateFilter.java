@@ -0,0 +1,263 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * (토픽, 디바이스 측정 시각)으로 중복 샘플을 걸러내고 늦게 도착한 샘플에 {@link LateSamplePolicy}를 적용합니다.
+ * <p>
+ * QoS 1 재전송과 디바이스 재송신은 같은 토픽에 같은 {@code time}으로 다시 들어오므로,
+ * 토픽마다 최근 측정 시각 {@code ring-size}개를 고정 크기 링 버퍼에 보관해 선형 탐색으로 중복을 확인합니다.
+ * 따라서 중복을 확실히 걸러내는 범위는 링에 남은 최근 {@code ring-size}개 측정 시각까지입니다 (1Hz 디바이스에서 기본값 16이면 약 16초).
+ * 링에서 밀려난 측정 시각 이하이거나 토픽의 최신 측정 시각에서 {@code window-ms}보다 이른 샘플은
+ * 중복 여부를 알 수 없으므로 expired로 분류해 늦은 샘플 정책을 적용합니다.
+ * 더 오래된 재전송까지 걸러내려면 {@code ring-size}를 디바이스 전송 주기 × 허용할 재전송 지연 이상으로 잡습니다.
+ * 토픽 수가 {@code max-topics}를 넘으면 {@code window-ms} 동안 수신이 없던 토픽부터 제거하므로 메모리는 토픽 수 × 링 크기로 제한됩니다.
+ * 같은 토픽은 항상 같은 수집 워커에서 처리되므로 토픽별 잠금은 사실상 경합하지 않습니다.
+ * </p>
+ * <p>
+ * 캡처 파일 재처리(백필)는 본래 과거 샘플이므로 {@link #checkBackfill}로 확인합니다.
+ * 늦은 샘플 정책을 적용하지 않고, 실시간 샘플의 링과 최신 측정 시각도 바꾸지 않습니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class DuplicateFilter {
+
+    /**
+     * 샘플 하나에 대한 판정입니다.
+     */
+    public enum Verdict {
+        /** 기록합니다. */
+        ACCEPT,
+        /** 이미 받은 (토픽, 측정 시각)이므로 버립니다. */
+        DUPLICATE,
+        /** 늦은 샘플 정책에 따라 버립니다. */
+        LATE
+    }
+
+    private final boolean enabled;
+    private final int ringSize;
+    private final long windowMs;
+    private final int maxTopics;
+    private final LateSamplePolicy latePolicy;
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, Window> windows = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder outOfOrder = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder droppedLate = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public DuplicateFilter(
+            @Value("${ingest.dedup.enabled:true}") boolean enabled,
+            @Value("${ingest.dedup.ring-size:16}") int ringSize,
+            @Value("${ingest.dedup.window-ms:600000}") long windowMs,
+            @Value("${ingest.dedup.max-topics:100000}") int maxTopics,
+            @Value("${ingest.dedup.late-policy:ACCEPT}") LateSamplePolicy latePolicy) {
+        this(enabled, ringSize, windowMs, maxTopics, latePolicy, System::currentTimeMillis);
+    }
+
+    DuplicateFilter(boolean enabled, int ringSize, long windowMs, int maxTopics, LateSamplePolicy latePolicy,
+                    LongSupplier clock) {
+        this.enabled = enabled;
+        this.ringSize = Math.max(1, ringSize);
+        this.windowMs = Math.max(1, windowMs);
+        this.maxTopics = Math.max(1, maxTopics);
+        this.latePolicy = latePolicy;
+        this.clock = clock;
+    }
+
+    /**
+     * 샘플을 판정하고, 기록할 샘플이면 해당 토픽의 최근 측정 시각에 추가합니다. 수집 워커 스레드에서 호출됩니다.
+     *
+     * @param timeMillis 디바이스가 보고한 측정 시각, 0 이하(시각 없음)이면 중복 여부를 알 수 없어 항상 기록
+     */
+    public Verdict check(String topic, long timeMillis) {
+        if (!enabled || timeMillis <= 0) {
+            return Verdict.ACCEPT;
+        }
+        checked.increment();
+        Window window = windows.get(topic);
+        if (window == null) {
+            if (windows.size() >= maxTopics) {
+                evict();
+            }
+            window = windows.computeIfAbsent(topic, t -> new Window(ringSize));
+        }
+        synchronized (window) {
+            window.lastSeenMillis = clock.getAsLong();
+            if (timeMillis < window.newest) {
+                return checkLate(window, timeMillis);
+            }
+            if (timeMillis == window.newest) {
+                duplicates.increment();
+                return Verdict.DUPLICATE;
+            }
+            window.newest = timeMillis;
+            window.add(timeMillis);
+            return Verdict.ACCEPT;
+        }
+    }
+
+    /**
+     * 재처리 샘플을 판정합니다. 링에 남아 있는 (토픽, 측정 시각)과 같을 때만 중복으로 버리고,
+     * 그 외에는 실시간 토픽보다 이른 시각이어도 늦은 샘플 정책과 관계없이 기록합니다.
+     * 실시간 중복 확인 상태를 바꾸지 않습니다 (캡처 파일에는 중복이 걸러진 샘플만 기록되어 있음).
+     *
+     * @param timeMillis 디바이스가 보고한 측정 시각, 0 이하(시각 없음)이면 항상 기록
+     */
+    public Verdict checkBackfill(String topic, long timeMillis) {
+        if (!enabled || timeMillis <= 0) {
+            return Verdict.ACCEPT;
+        }
+        Window window = windows.get(topic);
+        if (window == null) {
+            return Verdict.ACCEPT;
+        }
+        synchronized (window) {
+            if (window.contains(timeMillis)) {
+                duplicates.increment();
+                return Verdict.DUPLICATE;
+            }
+            return Verdict.ACCEPT;
+        }
+    }
+
+    /**
+     * 최신 측정 시각보다 이른 샘플을 판정합니다. 링에 있으면 중복이고,
+     * 링에서 이미 밀려난 시각 이하이거나 {@code window-ms}보다 이르면 중복 여부를 알 수 없어 expired입니다.
+     */
+    private Verdict checkLate(Window window, long timeMillis) {
+        if (window.contains(timeMillis)) {
+            duplicates.increment();
+            return Verdict.DUPLICATE;
+        }
+        if (timeMillis <= window.forgottenUpTo || window.newest - timeMillis > windowMs) {
+            expired.increment();
+            if (latePolicy != LateSamplePolicy.ACCEPT) {
+                droppedLate.increment();
+                return Verdict.LATE;
+            }
+            return Verdict.ACCEPT;
+        }
+        outOfOrder.increment();
+        if (latePolicy == LateSamplePolicy.DROP_OUT_OF_ORDER) {
+            droppedLate.increment();
+            return Verdict.LATE;
+        }
+        window.add(timeMillis);
+        return Verdict.ACCEPT;
+    }
+
+    /**
+     * {@code window-ms} 동안 수신이 없던 토픽을 제거합니다. 그래도 한도를 넘으면 임의의 토픽을 제거합니다.
+     * 동시에 여러 스레드가 들어오면 한 스레드만 정리하고 나머지는 그대로 진행합니다.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int target = maxTopics - Math.max(1, maxTopics / 10);
+            long idleBefore = clock.getAsLong() - windowMs;
+            Iterator<Window> it = windows.values().iterator();
+            while (it.hasNext() && windows.size() > target) {
+                if (it.next().lastSeenMillis < idleBefore) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+            it = windows.values().iterator();
+            while (it.hasNext() && windows.size() > target) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+            log.debug("중복 확인 토픽 정리: topics={}, evictions={}", windows.size(), evictions.sum());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public int topics() {
+        return windows.size();
+    }
+
+    /** 중복 확인 대상이 된 샘플 수 (시각이 없는 샘플 제외) */
+    public long checked() {
+        return checked.sum();
+    }
+
+    public long duplicates() {
+        return duplicates.sum();
+    }
+
+    /** 최신 측정 시각보다 이르지만 링으로 중복 여부를 확인할 수 있었던 샘플 수 (정책에 따라 기록되었을 수 있음) */
+    public long outOfOrder() {
+        return outOfOrder.sum();
+    }
+
+    /** 링에서 밀려났거나 window-ms를 벗어나 중복 여부를 알 수 없던 늦은 샘플 수 (정책에 따라 기록되었을 수 있음) */
+    public long expired() {
+        return expired.sum();
+    }
+
+    /** 늦은 샘플 정책으로 버린 샘플 수 */
+    public long droppedLate() {
+        return droppedLate.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * 토픽 하나의 최근 측정 시각 링 버퍼입니다. 가장 오래된 시각부터 덮어쓰고, 덮어쓴 시각 중 가장 늦은 값을 기억합니다.
+     */
+    private static final class Window {
+        private final long[] times;
+        private int next;
+        private int size;
+        private long newest = Long.MIN_VALUE;
+        /** 링에서 밀려난 측정 시각 중 가장 늦은 값. 이 시각 이하는 중복 여부를 알 수 없음 */
+        private long forgottenUpTo = Long.MIN_VALUE;
+        private long lastSeenMillis;
+
+        private Window(int size) {
+            this.times = new long[size];
+        }
+
+        private void add(long time) {
+            if (size == times.length) {
+                forgottenUpTo = Math.max(forgottenUpTo, times[next]);
+            } else {
+                size++;
+            }
+            times[next] = time;
+            next = next + 1 == times.length ? 0 : next + 1;
+        }
+
+        private boolean contains(long time) {
+            for (long t : times) {
+                if (t == time) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
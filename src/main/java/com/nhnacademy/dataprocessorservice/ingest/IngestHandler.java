@@ -0,0 +1,9 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+/**
+ * 워커 스레드에서 큐의 메시지를 처리하는 핸들러입니다.
+ */
+@FunctionalInterface
+public interface IngestHandler {
+    void handle(IngestMessage message);
+}
@@ -0,0 +1,12 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+/**
+ * MQTT 콜백에서 큐로 전달되는 원본 메시지입니다.
+ *
+ * @param topic      MQTT 토픽
+ * @param payload    수신한 원본 페이로드 바이트
+ * @param enqueuedAt 큐 적재 시각 (System.nanoTime 기준)
+ * @param traceId    콜백에서 발급한 추적 id ({@link com.nhnacademy.dataprocessorservice.trace.TraceIds})
+ */
+public record IngestMessage(String topic, byte[] payload, long enqueuedAt, long traceId) {
+}
@@ -0,0 +1,94 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 수집 파이프라인의 처리량, 드롭 수, 큐 대기 및 처리 지연시간을 집계합니다.
+ */
+public class IngestMetrics {
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LatencyHistogram queueWaitNanos = new LatencyHistogram();
+    private final LatencyHistogram latencyNanos = new LatencyHistogram();
+    private final LatencyHistogram intervalQueueWaitNanos = new LatencyHistogram();
+    private final LatencyHistogram intervalLatencyNanos = new LatencyHistogram();
+
+    void onEnqueued() {
+        enqueued.increment();
+    }
+
+    void onProcessed(long enqueuedAt, long dequeuedAt, long finishedAt) {
+        processed.increment();
+        queueWaitNanos.record(dequeuedAt - enqueuedAt);
+        latencyNanos.record(finishedAt - enqueuedAt);
+        intervalQueueWaitNanos.record(dequeuedAt - enqueuedAt);
+        intervalLatencyNanos.record(finishedAt - enqueuedAt);
+    }
+
+    void onFailed() {
+        failed.increment();
+    }
+
+    void onDropped() {
+        dropped.increment();
+    }
+
+    void onSpilled() {
+        spilled.increment();
+    }
+
+    void onBlocked() {
+        blocked.increment();
+    }
+
+    public long enqueued() {
+        return enqueued.sum();
+    }
+
+    public long processed() {
+        return processed.sum();
+    }
+
+    public long failed() {
+        return failed.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long spilled() {
+        return spilled.sum();
+    }
+
+    public long blocked() {
+        return blocked.sum();
+    }
+
+    /** 큐 적재부터 워커가 꺼내기까지의 대기시간 (ns) */
+    public LatencyHistogram queueWaitNanos() {
+        return queueWaitNanos;
+    }
+
+    /** 큐 적재부터 처리 완료까지의 지연시간 (ns) */
+    public LatencyHistogram latencyNanos() {
+        return latencyNanos;
+    }
+
+    /** 주기 로그용 큐 대기시간 (ns), 로그를 남길 때마다 비움 */
+    LatencyHistogram intervalQueueWaitNanos() {
+        return intervalQueueWaitNanos;
+    }
+
+    /** 주기 로그용 처리 지연시간 (ns), 로그를 남길 때마다 비움 */
+    LatencyHistogram intervalLatencyNanos() {
+        return intervalLatencyNanos;
+    }
+}
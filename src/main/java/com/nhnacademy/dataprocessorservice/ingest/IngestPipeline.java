@@ -0,0 +1,366 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import com.nhnacademy.dataprocessorservice.trace.TraceIds;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MQTT 콜백 스레드와 메시지 처리를 분리하는 bounded 수집 파이프라인입니다.
+ * <p>
+ * 콜백은 원본 바이트만 토픽별 샤드 큐에 적재하고 즉시 반환하며,
+ * 샤드마다 하나의 워커 스레드가 파싱 → 보강 → 저장을 수행합니다.
+ * 같은 토픽은 항상 같은 샤드로 가므로 센서별 처리 순서가 유지됩니다.
+ * 큐가 가득 찬 경우의 동작은 {@link BackpressurePolicy}로 지정합니다.
+ * SPILL에서는 한 번 spill이 생긴 샤드의 메시지를 spill이 모두 재투입될 때까지 계속 spill로 보내,
+ * 나중에 도착한 메시지가 먼저 spill된 메시지를 앞지르지 않게 합니다.
+ * {@code ingest.virtual-threads=true}이면 워커를 virtual thread로 띄워, 처리 중 InfluxDB/모델 API 호출에서
+ * 블로킹되는 동안 carrier 스레드를 다른 샤드에 양보합니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class IngestPipeline {
+
+    private static final long POLL_TIMEOUT_MS = 200;
+    private static final long SPILL_DRAIN_INTERVAL_MS = 100;
+
+    private final int workerCount;
+    private final int queueCapacity;
+    private final BackpressurePolicy policy;
+    private final long drainTimeoutMs;
+    private final Path spillDirectory;
+    private final boolean virtualThreads;
+    private final IngestMetrics metrics = new IngestMetrics();
+
+    private BlockingQueue<IngestMessage>[] shards;
+    private Thread[] workers;
+    private Thread spillDrainer;
+    private SpillBuffer spillBuffer;
+    private AtomicBoolean[] spilling;
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private IngestHandler handler;
+    private volatile boolean running;
+
+    public IngestPipeline(
+            @Value("${ingest.workers:0}") int workers,
+            @Value("${ingest.queue-capacity:8192}") int queueCapacity,
+            @Value("${ingest.backpressure:BLOCK}") BackpressurePolicy policy,
+            @Value("${ingest.drain-timeout-ms:10000}") long drainTimeoutMs,
+            @Value("${ingest.spill-dir:${java.io.tmpdir}/data-processor-spill}") String spillDirectory,
+            @Value("${ingest.virtual-threads:false}") boolean virtualThreads) {
+        this.workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.policy = policy;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.spillDirectory = Path.of(spillDirectory);
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * 워커 스레드를 기동합니다. 여러 번 호출해도 한 번만 기동됩니다.
+     *
+     * @param handler 워커에서 메시지를 처리할 핸들러
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void start(IngestHandler handler) {
+        if (running) {
+            return;
+        }
+        this.handler = handler;
+        this.shards = new BlockingQueue[workerCount];
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            shards[i] = new ArrayBlockingQueue<>(queueCapacity);
+        }
+        if (policy == BackpressurePolicy.SPILL) {
+            spillBuffer = new SpillBuffer(spillDirectory);
+            // 이전 실행에서 남은 spill이 있으면 그것부터 재투입되도록 모든 샤드를 spill 상태로 시작.
+            // submit()이 running을 보기 전에 상태가 정해져 있어야 새 메시지가 남은 레코드를 앞지르지 않음
+            boolean leftovers = spillBuffer.hasPending();
+            spilling = new AtomicBoolean[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                spilling[i] = new AtomicBoolean(leftovers);
+            }
+        }
+        this.running = true;
+
+        Thread.Builder workerBuilder = virtualThreads
+                ? Thread.ofVirtual().name("ingest-worker-", 0)
+                : Thread.ofPlatform().name("ingest-worker-", 0);
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<IngestMessage> queue = shards[i];
+            workers[i] = workerBuilder.start(() -> runWorker(queue));
+        }
+
+        if (spillBuffer != null) {
+            spillDrainer = new Thread(this::runSpillDrainer, "ingest-spill-drainer");
+            spillDrainer.setDaemon(true);
+            spillDrainer.start();
+        }
+
+        log.info("🧵 수집 파이프라인 기동: workers={}, queueCapacity={}, backpressure={}, virtualThreads={}",
+                workerCount, queueCapacity, policy, virtualThreads);
+    }
+
+    /**
+     * 메시지를 토픽 샤드 큐에 적재합니다. MQTT 콜백 스레드에서 호출됩니다.
+     *
+     * @return 큐 또는 spill 버퍼에 적재되었으면 true, 버려졌으면 false
+     */
+    public boolean submit(String topic, byte[] payload) {
+        if (!running) {
+            metrics.onDropped();
+            return false;
+        }
+        IngestMessage message = new IngestMessage(topic, payload, System.nanoTime(), TraceIds.next());
+        int shard = shardOf(topic);
+        if (policy == BackpressurePolicy.SPILL && spilling[shard].get()) {
+            return spillBehind(shard, message);
+        }
+        BlockingQueue<IngestMessage> queue = shards[shard];
+        if (queue.offer(message)) {
+            metrics.onEnqueued();
+            return true;
+        }
+        return switch (policy) {
+            case BLOCK -> enqueueBlocking(queue, message);
+            case DROP_OLDEST -> enqueueDroppingOldest(queue, message);
+            case SPILL -> spill(shard, message);
+        };
+    }
+
+    private boolean enqueueBlocking(BlockingQueue<IngestMessage> queue, IngestMessage message) {
+        metrics.onBlocked();
+        try {
+            queue.put(message);
+            metrics.onEnqueued();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            metrics.onDropped();
+            return false;
+        }
+    }
+
+    private boolean enqueueDroppingOldest(BlockingQueue<IngestMessage> queue, IngestMessage message) {
+        while (!queue.offer(message)) {
+            if (queue.poll() != null) {
+                metrics.onDropped();
+            }
+        }
+        metrics.onEnqueued();
+        return true;
+    }
+
+    /**
+     * 샤드에 재투입되지 않은 spill이 있으면 그 뒤에 이어 기록합니다.
+     * 확인과 기록 사이에 drainer가 spill 상태를 풀었으면 큐로 바로 보냅니다.
+     */
+    private boolean spillBehind(int shard, IngestMessage message) {
+        spillLock.lock();
+        try {
+            if (spilling[shard].get()) {
+                return spill(shard, message);
+            }
+        } finally {
+            spillLock.unlock();
+        }
+        if (shards[shard].offer(message)) {
+            metrics.onEnqueued();
+            return true;
+        }
+        return spill(shard, message);
+    }
+
+    private boolean spill(int shard, IngestMessage message) {
+        spillLock.lock();
+        try {
+            spillBuffer.append(message);
+            spilling[shard].set(true);
+            metrics.onSpilled();
+            return true;
+        } catch (IOException e) {
+            log.error("spill 기록 실패, 메시지를 버립니다: topic={}", message.topic(), e);
+            metrics.onDropped();
+            return false;
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    private int shardOf(String topic) {
+        return (topic.hashCode() & Integer.MAX_VALUE) % workerCount;
+    }
+
+    private void runWorker(BlockingQueue<IngestMessage> queue) {
+        while (running || !queue.isEmpty()) {
+            IngestMessage message;
+            try {
+                message = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (message == null) {
+                continue;
+            }
+            long dequeuedAt = System.nanoTime();
+            try {
+                handler.handle(message);
+                metrics.onProcessed(message.enqueuedAt(), dequeuedAt, System.nanoTime());
+            } catch (Exception e) {
+                metrics.onFailed();
+                log.error("🔥 메시지 처리 실패: topic={}", message.topic(), e);
+            }
+        }
+    }
+
+    private void runSpillDrainer() {
+        while (running) {
+            try {
+                if (spillBuffer.hasPending()) {
+                    long drained = spillBuffer.drain(this::enqueueFromSpill);
+                    log.info("spill 메시지 {}건 재투입", drained);
+                    releaseDrainedShards();
+                } else {
+                    Thread.sleep(SPILL_DRAIN_INTERVAL_MS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.error("spill 재투입 실패, {}ms 후 다시 시도합니다", SPILL_DRAIN_INTERVAL_MS, e);
+                try {
+                    Thread.sleep(SPILL_DRAIN_INTERVAL_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void enqueueFromSpill(IngestMessage message) throws InterruptedException {
+        shards[shardOf(message.topic())].put(message);
+        metrics.onEnqueued();
+    }
+
+    /**
+     * drain 도중 새로 spill된 메시지가 없으면 모든 샤드를 큐 직행으로 되돌립니다.
+     * 확인과 해제를 spill 기록과 같은 잠금 안에서 하므로, 해제 뒤에 spill에 남는 메시지는 없습니다.
+     */
+    private void releaseDrainedShards() {
+        spillLock.lock();
+        try {
+            if (!spillBuffer.hasPending()) {
+                for (AtomicBoolean shard : spilling) {
+                    shard.set(false);
+                }
+            }
+        } finally {
+            spillLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 모든 샤드 큐에 쌓여 있는 메시지 수
+     */
+    public int queueDepth() {
+        if (shards == null) {
+            return 0;
+        }
+        int depth = 0;
+        for (BlockingQueue<IngestMessage> shard : shards) {
+            depth += shard.size();
+        }
+        return depth;
+    }
+
+    public long spillPending() {
+        return spillBuffer == null ? 0 : spillBuffer.pending();
+    }
+
+    public IngestMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * 주기적으로 큐 깊이와 지연시간을 로그로 남겨 용량 산정에 활용합니다.
+     * 건수는 누적값, 지연 백분위는 직전 로그 이후 구간 값입니다.
+     */
+    @Scheduled(fixedDelayString = "${ingest.metrics-log-interval-ms:60000}")
+    public void logStats() {
+        if (!running) {
+            return;
+        }
+        LatencyHistogram wait = metrics.intervalQueueWaitNanos();
+        LatencyHistogram latency = metrics.intervalLatencyNanos();
+        log.info("📈 수집 통계: depth={}, enqueued={}, processed={}, failed={}, dropped={}, spilled={}, blocked={}, "
+                        + "구간 n={} wait(p50/p99)={}/{}µs, latency(p50/p99/max)={}/{}/{}µs",
+                queueDepth(), metrics.enqueued(), metrics.processed(), metrics.failed(),
+                metrics.dropped(), metrics.spilled(), metrics.blocked(), latency.count(),
+                wait.percentile(50) / 1_000, wait.percentile(99) / 1_000,
+                latency.percentile(50) / 1_000, latency.percentile(99) / 1_000, latency.max() / 1_000);
+        wait.reset();
+        latency.reset();
+    }
+
+    /**
+     * 남은 큐를 처리한 뒤 워커를 종료합니다. spill 파일은 다음 기동 시 재처리됩니다.
+     * <p>
+     * spill 재투입을 먼저 멈춥니다. 워커가 빠져나가는 동안 재투입이 계속되면 파일에서는 이미 지운 레코드가
+     * 아무도 읽지 않는 큐에 남아 사라지므로, drainer를 인터럽트해 넘기지 못한 레코드를 파일에 남기고 끝난 뒤에 워커를 멈춥니다.
+     * </p>
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + drainTimeoutMs;
+        if (spillDrainer != null) {
+            spillDrainer.interrupt();
+            try {
+                spillDrainer.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (spillDrainer.isAlive()) {
+                log.warn("spill 재투입이 {}ms 안에 멈추지 않았습니다", drainTimeoutMs);
+            }
+        }
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (worker.isAlive()) {
+                worker.interrupt();
+            }
+        }
+        if (spillBuffer != null) {
+            try {
+                spillBuffer.close();
+            } catch (IOException e) {
+                log.error("spill 버퍼 정리 실패", e);
+            }
+        }
+        log.info("🧵 수집 파이프라인 종료: 남은 메시지={}, processed={}, dropped={}",
+                queueDepth(), metrics.processed(), metrics.dropped());
+    }
+}
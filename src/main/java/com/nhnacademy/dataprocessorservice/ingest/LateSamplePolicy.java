@@ -0,0 +1,13 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+/**
+ * 같은 토픽에서 이미 받은 측정 시각보다 이른 샘플(순서 뒤바뀜/지연 도착)의 처리 정책입니다.
+ */
+public enum LateSamplePolicy {
+    /** 중복이 아니면 모두 기록합니다. 중복 확인 범위를 벗어난 샘플도 기록하되 expired로 집계합니다. */
+    ACCEPT,
+    /** 링으로 중복 여부를 확인할 수 있는 늦은 샘플은 기록하고, 링에서 밀려났거나 window-ms를 벗어나 알 수 없는 샘플은 버립니다. */
+    DROP_EXPIRED,
+    /** 토픽의 최신 측정 시각보다 이른 샘플은 모두 버려 토픽별로 시각이 증가하는 샘플만 기록합니다. */
+    DROP_OUT_OF_ORDER
+}
@@ -0,0 +1,248 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import com.nhnacademy.dataprocessorservice.trace.TraceIds;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 큐가 가득 찼을 때 넘치는 메시지를 로컬 파일에 순차 기록하는 버퍼입니다.
+ * <p>
+ * 기록 중인 파일은 drain 시점에 봉인되고, 봉인된 파일은 처음부터 읽어 다시 큐로 넣은 뒤 삭제됩니다.
+ * 재투입 도중 인터럽트나 예외로 멈추면 이미 넘긴 레코드는 잘라내고 남은 레코드만 파일에 남겨, 다음 drain이나 다음 기동 때 이어서 재투입합니다.
+ * 프로세스가 비정상 종료되어 남은 파일은 다음 기동 시 봉인된 파일로 간주해 재처리하며, 그 레코드 수부터 {@link #pending()}에 더합니다.
+ * </p>
+ */
+@Slf4j
+class SpillBuffer {
+
+    private static final String SUFFIX = ".spill";
+
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Deque<Path> sealed = new ArrayDeque<>();
+    private final AtomicLong pending = new AtomicLong();
+
+    private DataOutputStream out;
+    private Path active;
+    private long sequence;
+
+    SpillBuffer(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            List<Path> leftovers = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+                files.forEach(leftovers::add);
+            }
+            leftovers.sort(null);
+            sealed.addAll(leftovers);
+            for (Path file : leftovers) {
+                pending.addAndGet(countRecords(file));
+            }
+            if (!leftovers.isEmpty()) {
+                log.warn("이전 실행에서 남은 spill 파일 {}개(메시지 {}건)를 재처리합니다: {}",
+                        leftovers.size(), pending.get(), directory);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("spill 디렉터리 초기화 실패: " + directory, e);
+        }
+    }
+
+    void append(IngestMessage message) throws IOException {
+        lock.lock();
+        try {
+            if (out == null) {
+                active = directory.resolve(String.format("%d-%06d%s", System.currentTimeMillis(), sequence++, SUFFIX));
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(active), 64 * 1024));
+            }
+            out.writeUTF(message.topic());
+            out.writeInt(message.payload().length);
+            out.write(message.payload());
+            pending.incrementAndGet();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 기록 중인 파일을 봉인하고 봉인된 파일을 오래된 순서대로 읽어 sink로 전달합니다.
+     * sink가 인터럽트되거나 예외를 던지면 그때까지 넘긴 레코드만 파일에서 제거하고 예외를 그대로 전달합니다.
+     *
+     * @return 재투입한 메시지 수
+     */
+    long drain(Sink sink) throws IOException, InterruptedException {
+        seal();
+        long drained = 0;
+        Path file;
+        while ((file = peekSealed()) != null) {
+            long consumed = 0;
+            boolean completed = false;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+                while (true) {
+                    String topic;
+                    try {
+                        topic = in.readUTF();
+                    } catch (EOFException eof) {
+                        break;
+                    }
+                    byte[] payload = new byte[in.readInt()];
+                    in.readFully(payload);
+                    sink.accept(new IngestMessage(topic, payload, System.nanoTime(), TraceIds.next()));
+                    consumed += recordBytes(topic, payload.length);
+                    pending.updateAndGet(p -> Math.max(0, p - 1));
+                    drained++;
+                }
+                completed = true;
+            } catch (EOFException truncated) {
+                log.warn("spill 파일 끝이 잘려 있어 나머지를 건너뜁니다: {}", file);
+                completed = true;
+            } finally {
+                if (!completed) {
+                    retainUnconsumed(file, consumed);
+                }
+            }
+            Files.deleteIfExists(file);
+            removeSealed(file);
+        }
+        return drained;
+    }
+
+    /**
+     * 파일 앞부분의 이미 넘긴 레코드를 잘라냅니다. 파일은 봉인 목록 맨 앞에 그대로 남습니다.
+     * 파일 채널은 인터럽트 상태에서 열리지 않으므로, 정리하는 동안만 인터럽트 상태를 내려 두었다가 되돌립니다.
+     */
+    private void retainUnconsumed(Path file, long consumed) {
+        if (consumed == 0) {
+            return;
+        }
+        boolean interrupted = Thread.interrupted();
+        try {
+            truncateConsumed(file, consumed);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void truncateConsumed(Path file, long consumed) {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream out = Files.newOutputStream(tmp)) {
+            in.skipNBytes(consumed);
+            in.transferTo(out);
+        } catch (IOException e) {
+            log.error("spill 파일 정리 실패, 다음 재투입 때 {}바이트가 중복될 수 있습니다: {}", consumed, file, e);
+            return;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("spill 파일 교체 실패: {}", file, e);
+        }
+    }
+
+    /**
+     * {@link DataOutputStream#writeUTF}가 쓴 토픽(2바이트 길이 + modified UTF-8)과 페이로드 레코드의 크기
+     */
+    static long recordBytes(String topic, int payloadLength) {
+        long utf = 0;
+        for (int i = 0; i < topic.length(); i++) {
+            char c = topic.charAt(i);
+            utf += c >= 0x0001 && c <= 0x007F ? 1 : c <= 0x07FF ? 2 : 3;
+        }
+        return 2 + utf + 4 + payloadLength;
+    }
+
+    /**
+     * 파일에 온전히 기록된 레코드 수. 끝이 잘린 레코드는 drain에서도 건너뛰므로 세지 않습니다.
+     */
+    static long countRecords(Path file) throws IOException {
+        long records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024))) {
+            while (true) {
+                in.readUTF();
+                in.skipNBytes(in.readInt());
+                records++;
+            }
+        } catch (EOFException end) {
+            return records;
+        }
+    }
+
+    boolean hasPending() {
+        lock.lock();
+        try {
+            return out != null || !sealed.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long pending() {
+        return pending.get();
+    }
+
+    private void seal() throws IOException {
+        lock.lock();
+        try {
+            if (out != null) {
+                out.close();
+                sealed.addLast(active);
+                out = null;
+                active = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Path peekSealed() {
+        lock.lock();
+        try {
+            return sealed.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeSealed(Path file) {
+        lock.lock();
+        try {
+            sealed.remove(file);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() throws IOException {
+        seal();
+    }
+
+    /**
+     * 재투입 대상. 큐가 빌 때까지 기다리다 인터럽트되면 {@link InterruptedException}을 던집니다.
+     */
+    @FunctionalInterface
+    interface Sink {
+        void accept(IngestMessage message) throws InterruptedException;
+    }
+}
@@ -0,0 +1,139 @@
+package com.nhnacademy.dataprocessorservice.logging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 메시지 단위 로그 예산을 관리합니다.
+ * <p>
+ * {@link MessageLogMode#SUMMARY}에서는 메시지마다 토픽별 카운터만 올리고, 주기적으로 요약 한 줄을 남깁니다.
+ * 개별 메시지 로그는 {@code samplesPerSecond}를 넘지 않도록 잠금 없이 제한합니다.
+ * 잘못된 페이로드 경고({@link #onInvalidPayload()})도 같은 한도를 별도로 적용해, 대량으로 들어와도 경고 로그가 처리 경로를 막지 않습니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MessageLogBudget {
+
+    private static final int SUMMARY_TOP_TOPICS = 20;
+
+    private final MessageLogMode mode;
+    private final long sampleIntervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextSampleAt = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicLong nextWarningAt = new AtomicLong(Long.MIN_VALUE);
+    private final ConcurrentHashMap<String, LongAdder> receivedByTopic = new ConcurrentHashMap<>();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder suppressedWarnings = new LongAdder();
+
+    public MessageLogBudget(
+            @Value("${message-log.mode:SUMMARY}") MessageLogMode mode,
+            @Value("${message-log.samples-per-second:1}") double samplesPerSecond) {
+        this(mode, samplesPerSecond, System::nanoTime);
+    }
+
+    MessageLogBudget(MessageLogMode mode, double samplesPerSecond, LongSupplier nanoClock) {
+        this.mode = mode;
+        this.sampleIntervalNanos = samplesPerSecond > 0 ? (long) (1_000_000_000L / samplesPerSecond) : -1;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 수신 건수를 집계하고, 이 메시지의 상세 로그를 남겨도 되는지 반환합니다.
+     */
+    public boolean onMessage(String topic) {
+        if (mode == MessageLogMode.ALL) {
+            return true;
+        }
+        if (mode == MessageLogMode.OFF) {
+            return false;
+        }
+        LongAdder counter = receivedByTopic.get(topic);
+        if (counter == null) {
+            counter = receivedByTopic.computeIfAbsent(topic, t -> new LongAdder());
+        }
+        counter.increment();
+        if (tryAcquireSample()) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    /**
+     * 잘못된 페이로드 경고를 남겨도 되는지 반환합니다. 건수는 {@code dps.messages.invalid}로 따로 집계되므로
+     * {@link MessageLogMode#ALL}이 아니면 초당 한도 안에서만 남기고, 생략한 건수는 요약에 포함합니다.
+     */
+    public boolean onInvalidPayload() {
+        if (mode == MessageLogMode.ALL) {
+            return true;
+        }
+        if (mode == MessageLogMode.OFF) {
+            return false;
+        }
+        if (tryAcquire(nextWarningAt)) {
+            return true;
+        }
+        suppressedWarnings.increment();
+        return false;
+    }
+
+    boolean tryAcquireSample() {
+        return tryAcquire(nextSampleAt);
+    }
+
+    /**
+     * 직전 허용 이후 {@code 1/samplesPerSecond}초가 지났으면 한 건을 허용합니다. 0 이하면 허용하지 않습니다.
+     */
+    private boolean tryAcquire(AtomicLong nextAt) {
+        if (sampleIntervalNanos < 0) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        long next = nextAt.get();
+        if (next != Long.MIN_VALUE && now - next < 0) {
+            return false;
+        }
+        return nextAt.compareAndSet(next, now + sampleIntervalNanos);
+    }
+
+    /**
+     * 주기마다 토픽별 수신 건수를 요약해 남기고 카운터를 초기화합니다.
+     */
+    @Scheduled(fixedDelayString = "${message-log.summary-interval-ms:60000}")
+    public void logSummary() {
+        if (mode != MessageLogMode.SUMMARY || receivedByTopic.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Long>> counts = new ArrayList<>(receivedByTopic.size());
+        long total = 0;
+        for (Map.Entry<String, LongAdder> entry : receivedByTopic.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                counts.add(Map.entry(entry.getKey(), count));
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return;
+        }
+        counts.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        log.info("📊 수신 요약: total={}, topics={}, 상세 로그 생략={}, 페이로드 경고 생략={}, top={}",
+                total, counts.size(), suppressed.sumThenReset(), suppressedWarnings.sumThenReset(),
+                counts.subList(0, Math.min(SUMMARY_TOP_TOPICS, counts.size())));
+    }
+
+    public MessageLogMode mode() {
+        return mode;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nhnacademy.dataprocessorservice.logging;
+
+/**
+ * 메시지 단위 로그를 얼마나 남길지 정합니다.
+ */
+public enum MessageLogMode {
+    /** 모든 메시지의 수신/처리 로그를 남깁니다. (디버깅용) */
+    ALL,
+    /** 주기마다 토픽별 수신 건수 요약과, 초당 제한된 수의 샘플 메시지만 남깁니다. */
+    SUMMARY,
+    /** 메시지 단위 로그를 남기지 않습니다. */
+    OFF
+}
@@ -0,0 +1,32 @@
+package com.nhnacademy.dataprocessorservice.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.util.Iterator;
+
+/**
+ * 루트 로거에 붙은 appender(logback-shared.xml에서 정의)로 이벤트를 그대로 넘기는 appender입니다.
+ * <p>
+ * 처리 경로 로거는 additivity를 끄고 비동기 appender 뒤에 이 appender를 두므로, 공유 설정의 appender 이름을 몰라도
+ * 다른 로거와 같은 출력(콘솔, 파일 등)으로 기록되면서 워커 스레드는 큐에 넣고 바로 반환합니다.
+ * 루트 appender는 이벤트마다 조회하므로 설정 순서나 재설정과 관계없이 현재 구성을 따릅니다.
+ * </p>
+ */
+public class RootAppendersAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Logger root = ((LoggerContext) getContext()).getLogger(Logger.ROOT_LOGGER_NAME);
+        Iterator<Appender<ILoggingEvent>> appenders = root.iteratorForAppenders();
+        while (appenders.hasNext()) {
+            Appender<ILoggingEvent> appender = appenders.next();
+            if (appender != this) {
+                appender.doAppend(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.nhnacademy.dataprocessorservice.metrics;
+
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
+import com.nhnacademy.dataprocessorservice.sensor.SensorType;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeDescriptor;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 메시지 처리 경로에서 직접 기록하는 Micrometer 지표입니다.
+ * <p>
+ * 수신 건수는 토픽 대신 (location, type) 태그로 집계합니다. 토픽에는 디바이스 id가 들어 있어
+ * 그대로 태그로 쓰면 시계열 수가 디바이스 수만큼 늘어나기 때문입니다.
+ * 카운터는 위치별로 센서 종류 인덱스({@link SensorTypeDescriptor#index()}) 배열에 캐시해 메시지마다 레지스트리를 조회하지 않습니다.
+ * 파이프라인/Influx/모델 전송 내부 카운터는 각 컴포넌트가 이미 집계하므로
+ * {@code MetricsConfig}의 {@code MeterBinder}가 함수형 지표로 연결합니다.
+ * </p>
+ */
+@Component
+public class IngestPathMeters {
+
+    private static final int INITIAL_TYPES = SensorType.values().length;
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Counter[]> receivedByLocation = new ConcurrentHashMap<>();
+    private final Counter unsupported;
+    private final Map<InvalidPayloadException.Reason, Counter> invalid =
+            new EnumMap<>(InvalidPayloadException.Reason.class);
+    private final Timer endToEnd;
+
+    public IngestPathMeters(MeterRegistry registry) {
+        this.registry = registry;
+        this.unsupported = Counter.builder("dps.messages.unsupported")
+                .description("지원하지 않는 센서 종류라 건너뛴 메시지 수")
+                .register(registry);
+        for (InvalidPayloadException.Reason reason : InvalidPayloadException.Reason.values()) {
+            invalid.put(reason, Counter.builder("dps.messages.invalid")
+                    .description("페이로드/토픽 해석 실패 수")
+                    .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                    .register(registry));
+        }
+        this.endToEnd = Timer.builder("dps.ingest.end-to-end")
+                .description("디바이스 측정 시각부터 InfluxDB 기록 큐 적재까지의 지연")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry);
+    }
+
+    public void onReceived(TopicMetadata metadata) {
+        SensorTypeDescriptor type = metadata.type();
+        int index = type.index();
+        Counter[] counters = receivedByLocation.get(metadata.location());
+        if (counters == null || counters.length <= index) {
+            // 설정으로 추가된 센서 종류는 기본 종류 뒤의 인덱스를 받으므로 필요할 때 배열을 늘림
+            counters = receivedByLocation.compute(metadata.location(), (l, old) -> old == null
+                    ? new Counter[Math.max(INITIAL_TYPES, index + 1)]
+                    : old.length > index ? old : Arrays.copyOf(old, index + 1));
+        }
+        Counter counter = counters[index];
+        if (counter == null) {
+            // 같은 태그로 여러 번 register해도 레지스트리가 같은 카운터를 돌려주므로 경합 시에도 안전
+            counter = Counter.builder("dps.messages.received")
+                    .description("처리한 센서 메시지 수")
+                    .tag("location", metadata.location())
+                    .tag("type", type.id())
+                    .register(registry);
+            counters[index] = counter;
+        }
+        counter.increment();
+    }
+
+    public void onUnsupported() {
+        unsupported.increment();
+    }
+
+    public void onInvalid(InvalidPayloadException.Reason reason) {
+        invalid.get(reason).increment();
+    }
+
+    /**
+     * @param deviceTimeMillis 디바이스가 보고한 측정 시각, 0 이하이거나 미래 시각(시계 차이)이면 기록하지 않음
+     */
+    public void recordEndToEnd(long deviceTimeMillis) {
+        if (deviceTimeMillis <= 0) {
+            return;
+        }
+        long lag = System.currentTimeMillis() - deviceTimeMillis;
+        if (lag >= 0) {
+            endToEnd.record(lag, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 모델 API 호출에 적응형 동시 요청 한도(AIMD)와 차단기(circuit breaker)를 적용합니다.
+ * <p>
+ * 동시 요청 한도는 응답이 {@code latencyThresholdMs} 안에 성공하면 한도만큼 성공할 때마다 1씩 늘리고,
+ * 실패하거나 느리게 성공하면 {@code backoffRatio}를 곱해 줄입니다. 한도를 넘는 호출은 기다리지 않고 거절하므로
+ * 모델 서비스가 느려져도 전송 executor 대기열이 쌓이지 않습니다.
+ * 최근 {@code windowSize}개 호출의 실패 비율이 {@code failureRateThreshold} 이상이면 차단기를 열어 {@code openMs} 동안 모든 호출을 거절하고,
+ * 이후 반열림 상태에서 {@code halfOpenProbes}개의 시험 호출이 모두 성공하면 닫고, 하나라도 실패하면 다시 엽니다.
+ * 호출자는 {@link #tryAcquire()}가 true를 돌려준 호출마다 {@link #onSuccess}, {@link #onFailure}, {@link #onIgnored} 중 하나를 반드시 호출해야 합니다.
+ * 상태 변경은 요청 단위로 일어나므로 단일 잠금으로 보호합니다.
+ * </p>
+ */
+@Slf4j
+public class ModelApiGuard {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final ModelGuardOptions options;
+    private final LongSupplier nanoClock;
+    private final long latencyThresholdNanos;
+    private final long openNanos;
+    private final boolean[] outcomes;
+
+    private double limit;
+    private int inFlight;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesInFlight;
+    private int probeSuccesses;
+    private int outcomeCount;
+    private int outcomeNext;
+    private int failuresInWindow;
+
+    private final LongAdder rejectedByLimit = new LongAdder();
+    private final LongAdder rejectedByBreaker = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder opened = new LongAdder();
+
+    public ModelApiGuard(ModelGuardOptions options) {
+        this(options, System::nanoTime);
+    }
+
+    ModelApiGuard(ModelGuardOptions options, LongSupplier nanoClock) {
+        this.options = options;
+        this.nanoClock = nanoClock;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(options.latencyThresholdMs());
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(options.openMs());
+        this.outcomes = new boolean[Math.max(1, options.windowSize())];
+        this.limit = Math.clamp(options.initialLimit(), Math.max(1, options.minLimit()), options.maxLimit());
+    }
+
+    /**
+     * 한도와 차단 없이 모든 호출을 허용하는 guard (테스트/벤치마크용)
+     */
+    public static ModelApiGuard disabled() {
+        return new ModelApiGuard(ModelGuardOptions.builder()
+                .enabled(false)
+                .initialLimit(Integer.MAX_VALUE)
+                .minLimit(1)
+                .maxLimit(Integer.MAX_VALUE)
+                .latencyThresholdMs(Long.MAX_VALUE / 1_000_000)
+                .backoffRatio(1)
+                .failureRateThreshold(1)
+                .windowSize(1)
+                .minCalls(Integer.MAX_VALUE)
+                .openMs(0)
+                .halfOpenProbes(1)
+                .build());
+    }
+
+    /**
+     * 호출 자리를 얻습니다. 기다리지 않습니다.
+     *
+     * @return 차단기가 열려 있거나 동시 요청 한도에 도달했으면 false (호출하지 말고 샘플을 버려야 함)
+     */
+    public synchronized boolean tryAcquire() {
+        if (!options.enabled()) {
+            inFlight++;
+            return true;
+        }
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                rejectedByBreaker.increment();
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            probeSuccesses = 0;
+            log.info("🔌 모델 API 차단기 반열림: 시험 호출 {}건 허용", options.halfOpenProbes());
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= options.halfOpenProbes()) {
+                rejectedByBreaker.increment();
+                return false;
+            }
+            probesInFlight++;
+            inFlight++;
+            return true;
+        }
+        if (inFlight >= (int) limit) {
+            rejectedByLimit.increment();
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param startNanos 호출 시작 시각 ({@link System#nanoTime()})
+     */
+    public synchronized void onSuccess(long startNanos) {
+        inFlight--;
+        if (!options.enabled()) {
+            return;
+        }
+        if (nanoClock.getAsLong() - startNanos > latencyThresholdNanos) {
+            slowCalls.increment();
+            decrease();
+        } else {
+            limit = Math.min(options.maxLimit(), limit + 1 / limit);
+        }
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+            if (++probeSuccesses >= options.halfOpenProbes()) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            recordOutcome(false);
+        }
+    }
+
+    /**
+     * 타임아웃, 연결 실패, 5xx 응답처럼 모델 서비스 상태를 의심할 실패를 기록합니다.
+     *
+     * @param startNanos 호출 시작 시각 ({@link System#nanoTime()})
+     */
+    public synchronized void onFailure(long startNanos) {
+        inFlight--;
+        failedCalls.increment();
+        if (!options.enabled()) {
+            return;
+        }
+        decrease();
+        if (state == State.HALF_OPEN) {
+            open("시험 호출 실패");
+        } else if (state == State.CLOSED && recordOutcome(true)) {
+            open("최근 " + outcomeCount + "건 중 " + failuresInWindow + "건 실패");
+        }
+    }
+
+    /**
+     * 4xx처럼 모델 서비스 상태와 무관한 결과로 끝난 호출의 자리를 반환합니다. 한도와 차단기에 반영하지 않습니다.
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+        if (state == State.HALF_OPEN) {
+            probesInFlight = Math.max(0, probesInFlight - 1);
+        }
+    }
+
+    private void decrease() {
+        limit = Math.max(Math.max(1, options.minLimit()), limit * options.backoffRatio());
+    }
+
+    /**
+     * @return 실패 비율이 임계값 이상이 되었으면 true
+     */
+    private boolean recordOutcome(boolean failure) {
+        if (outcomeCount == outcomes.length) {
+            if (outcomes[outcomeNext]) {
+                failuresInWindow--;
+            }
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeNext] = failure;
+        if (failure) {
+            failuresInWindow++;
+        }
+        outcomeNext = outcomeNext + 1 == outcomes.length ? 0 : outcomeNext + 1;
+        return outcomeCount >= options.minCalls()
+                && failuresInWindow >= options.failureRateThreshold() * outcomeCount;
+    }
+
+    private void open(String cause) {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        opened.increment();
+        resetOutcomes();
+        log.warn("🔌 모델 API 차단기 열림({}): {}ms 동안 전송을 멈춥니다, limit={}", cause, options.openMs(), (int) limit);
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        resetOutcomes();
+        log.info("🔌 모델 API 차단기 닫힘: 전송을 재개합니다, limit={}", (int) limit);
+    }
+
+    private void resetOutcomes() {
+        outcomeCount = 0;
+        outcomeNext = 0;
+        failuresInWindow = 0;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    /** 현재 동시 요청 한도 */
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /** 동시 요청 한도에 걸려 거절한 호출 수 */
+    public long rejectedByLimit() {
+        return rejectedByLimit.sum();
+    }
+
+    /** 차단기가 열려 있거나 시험 호출 수를 넘어 거절한 호출 수 */
+    public long rejectedByBreaker() {
+        return rejectedByBreaker.sum();
+    }
+
+    /** {@code latencyThresholdMs}를 넘겨 성공한 호출 수 */
+    public long slowCalls() {
+        return slowCalls.sum();
+    }
+
+    public long failedCalls() {
+        return failedCalls.sum();
+    }
+
+    /** 차단기가 열린 횟수 */
+    public long openedCount() {
+        return opened.sum();
+    }
+}
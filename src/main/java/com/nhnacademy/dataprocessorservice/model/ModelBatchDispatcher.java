@@ -0,0 +1,333 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 모델 서비스로 보낼 샘플을 위치별로 짧은 시간 동안 모아 배열 하나로 POST 하는 dispatcher입니다.
+ * <p>
+ * 위치별 버퍼가 {@code maxBatchSize}에 도달하거나 첫 샘플 이후 {@code windowMs}가 지나면
+ * 전용 flush 스레드가 배치를 봉인해 executor에서 전송합니다.
+ * 동시에 진행 중인 요청은 {@code maxInFlight}개로 제한되며, 한도나 대기열이 찬 상태가
+ * {@code enqueueTimeoutMs} 이상 지속되면 배치를 버리고 dropped로 집계합니다.
+ * 단, 수집 워커에서 호출되는 {@link #add}는 대기열이 차 있으면 기다리지 않고 바로 버려,
+ * 모델 서비스가 느려도 InfluxDB 저장이 멈추지 않게 합니다.
+ * 그 안에서 다시 {@link ModelApiGuard}의 적응형 한도와 차단기를 적용해, 모델 서비스가 느리거나 실패하는 동안에는
+ * 기다리지 않고 배치를 버립니다.
+ * {@link #submit}으로 넘긴 배치는 요청을 보내기 전에 버려지면 호출자에게 되돌려 알려 주므로,
+ * {@link ModelCoalescingDispatcher}는 그 최신값을 슬롯에 남겨 두었다가 회복 후 다시 전송합니다.
+ * </p>
+ */
+@Slf4j
+public class ModelBatchDispatcher implements AutoCloseable {
+
+    private static final Consumer<List<ModelSample>> DISCARD = batch -> {
+    };
+
+    private final RestTemplate restTemplate;
+    private final Executor executor;
+    private final String batchApiUrl;
+    private final ModelBatchOptions options;
+    private final ModelApiGuard guard;
+
+    private final ConcurrentHashMap<String, Pending> pendingByLocation = new ConcurrentHashMap<>();
+    private final BlockingQueue<Outbound> sealed;
+    private final Semaphore inFlight;
+
+    private final LatencyHistogram requestLatencyMicros = new LatencyHistogram();
+    private final LatencyHistogram batchSizes = new LatencyHistogram();
+    private final LongAdder dispatchedSamples = new LongAdder();
+    private final LongAdder droppedSamples = new LongAdder();
+    private final LongAdder failedRequests = new LongAdder();
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    public ModelBatchDispatcher(RestTemplate restTemplate, Executor executor, String batchApiUrl,
+                                ModelBatchOptions options) {
+        this(restTemplate, executor, batchApiUrl, options, ModelApiGuard.disabled());
+    }
+
+    public ModelBatchDispatcher(RestTemplate restTemplate, Executor executor, String batchApiUrl,
+                                ModelBatchOptions options, ModelApiGuard guard) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.batchApiUrl = batchApiUrl;
+        this.options = options;
+        this.guard = guard;
+        this.sealed = new ArrayBlockingQueue<>(options.maxPendingBatches());
+        this.inFlight = new Semaphore(options.maxInFlight());
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "model-batch-flusher");
+        flusher.start();
+        log.info("📦 모델 배치 전송 기동: window={}ms, maxBatchSize={}, maxInFlight={}",
+                options.windowMs(), options.maxBatchSize(), options.maxInFlight());
+    }
+
+    /**
+     * 샘플 한 건을 위치별 버퍼에 추가합니다.
+     *
+     * @param location   위치
+     * @param sensorType 센서 종류
+     * @param value      측정값
+     */
+    public void add(String location, String sensorType, double value) {
+        if (!running) {
+            droppedSamples.increment();
+            return;
+        }
+        Pending pending = pendingByLocation.get(location);
+        if (pending == null) {
+            pending = pendingByLocation.computeIfAbsent(location, l -> new Pending());
+        }
+        List<ModelSample> full = null;
+        pending.lock.lock();
+        try {
+            if (pending.samples.isEmpty()) {
+                pending.firstAt = System.currentTimeMillis();
+            }
+            pending.samples.add(new ModelSample(location, sensorType, value));
+            if (pending.samples.size() >= options.maxBatchSize()) {
+                full = pending.drain();
+            }
+        } finally {
+            pending.lock.unlock();
+        }
+        if (full != null) {
+            Outbound outbound = new Outbound(full, DISCARD);
+            // 수집 워커 스레드이므로 대기열 자리를 기다리지 않음
+            if (!sealed.offer(outbound)) {
+                reject(outbound);
+                log.warn("모델 전송 대기열 포화, 배치 {}건을 버립니다", full.size());
+            }
+        }
+    }
+
+    /**
+     * 이미 구성된 배치를 위치별 버퍼를 거치지 않고 전송 대기열에 넣습니다.
+     * {@link ModelCoalescingDispatcher}가 위치별 최신값 묶음을 넘길 때 사용합니다.
+     *
+     * @param onRejected 대기열/동시 요청 한도/{@link ModelApiGuard}/executor 포화로 요청을 보내지 못하고 버릴 때 호출됨
+     *                   (전송 스레드에서 호출되며, 요청을 보낸 뒤의 실패는 알리지 않음)
+     */
+    void submit(List<ModelSample> batch, Consumer<List<ModelSample>> onRejected) {
+        Outbound outbound = new Outbound(batch, onRejected);
+        if (!running) {
+            reject(outbound);
+            return;
+        }
+        // 병합 스레드에서만 호출되므로 enqueueTimeoutMs까지 대기열 자리를 기다림
+        try {
+            if (!sealed.offer(outbound, options.enqueueTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                reject(outbound);
+                log.warn("모델 전송 대기열 포화, 배치 {}건을 버립니다", outbound.samples.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(outbound);
+        }
+    }
+
+    private void reject(Outbound outbound) {
+        droppedSamples.add(outbound.samples.size());
+        outbound.onRejected.accept(outbound.samples);
+    }
+
+    private void runFlusher() {
+        long tickMs = Math.max(1, options.windowMs() / 2);
+        while (running || !sealed.isEmpty()) {
+            try {
+                Outbound outbound = sealed.poll(tickMs, TimeUnit.MILLISECONDS);
+                if (outbound != null) {
+                    send(outbound);
+                }
+                sealDue(false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 창이 지난 위치별 버퍼를 봉인해 전송합니다.
+     *
+     * @param all true면 창과 관계없이 비어 있지 않은 버퍼를 모두 전송
+     */
+    private void sealDue(boolean all) throws InterruptedException {
+        long now = System.currentTimeMillis();
+        for (Pending pending : pendingByLocation.values()) {
+            List<ModelSample> due = null;
+            pending.lock.lock();
+            try {
+                if (!pending.samples.isEmpty() && (all || now - pending.firstAt >= options.windowMs())) {
+                    due = pending.drain();
+                }
+            } finally {
+                pending.lock.unlock();
+            }
+            if (due != null) {
+                send(new Outbound(due, DISCARD));
+            }
+        }
+    }
+
+    /**
+     * 동시 요청 한도 안에서 배치를 executor로 넘깁니다.
+     */
+    private void send(Outbound outbound) throws InterruptedException {
+        List<ModelSample> batch = outbound.samples;
+        if (!inFlight.tryAcquire(options.enqueueTimeoutMs(), TimeUnit.MILLISECONDS)) {
+            reject(outbound);
+            log.warn("모델 API 동시 요청 한도 초과, 배치 {}건을 버립니다", batch.size());
+            return;
+        }
+        // 자리를 기다린 뒤에 확인해야 직전 요청들의 결과가 반영된 한도/차단기 상태로 판단함
+        if (!guard.tryAcquire()) {
+            inFlight.release();
+            reject(outbound);
+            log.debug("모델 API 적응형 한도/차단기로 배치 {}건을 버립니다", batch.size());
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    post(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.release();
+            guard.onIgnored();
+            reject(outbound);
+            log.warn("모델 전송 executor 포화, 배치 {}건을 버립니다", batch.size());
+        }
+    }
+
+    private void post(List<ModelSample> batch) {
+        long start = System.nanoTime();
+        try {
+            restTemplate.postForEntity(batchApiUrl, batch, Void.class);
+            guard.onSuccess(start);
+            dispatchedSamples.add(batch.size());
+            log.debug("✅ 모델 서비스 배치 전송 성공: location={}, size={}", batch.get(0).location(), batch.size());
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                guard.onFailure(start);
+            } else {
+                guard.onIgnored();
+            }
+            failedRequests.increment();
+            droppedSamples.add(batch.size());
+            log.error("❌ 모델 서비스 4xx 에러({}): {} | location={}, size={}",
+                    e.getStatusCode(), e.getResponseBodyAsString(), batch.get(0).location(), batch.size());
+        } catch (RuntimeException e) {
+            guard.onFailure(start);
+            failedRequests.increment();
+            droppedSamples.add(batch.size());
+            log.error("❌ 모델 서비스 배치 호출 실패: {} | location={}, size={}",
+                    e.getMessage(), batch.get(0).location(), batch.size());
+        } finally {
+            requestLatencyMicros.record((System.nanoTime() - start) / 1_000);
+            batchSizes.record(batch.size());
+        }
+    }
+
+    /**
+     * 남은 버퍼를 모두 전송하고 진행 중인 요청이 끝날 때까지 기다립니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join();
+            sealDue(true);
+            if (!inFlight.tryAcquire(options.maxInFlight(), options.enqueueTimeoutMs() * 10, TimeUnit.MILLISECONDS)) {
+                log.warn("모델 API 요청 {}건이 종료 시점까지 끝나지 않았습니다",
+                        options.maxInFlight() - inFlight.availablePermits());
+            } else {
+                inFlight.release(options.maxInFlight());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("📦 모델 배치 전송 종료: dispatched={}, dropped={}", dispatchedSamples.sum(), droppedSamples.sum());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int inFlightRequests() {
+        return options.maxInFlight() - inFlight.availablePermits();
+    }
+
+    /** 모델 API 배치 요청 한 건의 왕복 시간 (µs) */
+    public LatencyHistogram requestLatencyMicros() {
+        return requestLatencyMicros;
+    }
+
+    /** 전송된 배치의 샘플 수 분포 */
+    public LatencyHistogram batchSizes() {
+        return batchSizes;
+    }
+
+    public long dispatchedSamples() {
+        return dispatchedSamples.sum();
+    }
+
+    public long droppedSamples() {
+        return droppedSamples.sum();
+    }
+
+    public long failedRequests() {
+        return failedRequests.sum();
+    }
+
+    /**
+     * 전송 대기 중인 배치와, 보내지 못하고 버릴 때 알릴 곳
+     */
+    private record Outbound(List<ModelSample> samples, Consumer<List<ModelSample>> onRejected) {
+    }
+
+    /**
+     * 위치별 버퍼. virtual thread에서 호출돼도 carrier가 고정되지 않도록 monitor 대신 ReentrantLock을 사용합니다.
+     */
+    private static final class Pending {
+        private final ReentrantLock lock = new ReentrantLock();
+        private List<ModelSample> samples = new ArrayList<>();
+        private long firstAt;
+
+        private List<ModelSample> drain() {
+            List<ModelSample> drained = samples;
+            samples = new ArrayList<>(drained.size());
+            return drained;
+        }
+    }
+}
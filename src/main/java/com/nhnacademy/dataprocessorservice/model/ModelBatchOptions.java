@@ -0,0 +1,22 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import lombok.Builder;
+
+/**
+ * {@link ModelBatchDispatcher}의 배치/동시성 설정입니다.
+ *
+ * @param windowMs          위치별로 샘플을 모으는 최대 시간, 첫 샘플 기준
+ * @param maxBatchSize      요청 하나에 담는 최대 샘플 수, 도달하면 즉시 전송
+ * @param maxPendingBatches 전송 대기 중인 배치의 최대 개수 (메모리 상한)
+ * @param maxInFlight       동시에 진행 중인 모델 API 요청의 최대 개수
+ * @param enqueueTimeoutMs  대기열 또는 동시 요청 한도가 찼을 때 기다리는 최대 시간, 초과 시 배치를 버림
+ *                          (수집 워커의 {@code add}는 대기열을 기다리지 않음)
+ */
+@Builder
+public record ModelBatchOptions(
+        long windowMs,
+        int maxBatchSize,
+        int maxPendingBatches,
+        int maxInFlight,
+        long enqueueTimeoutMs) {
+}
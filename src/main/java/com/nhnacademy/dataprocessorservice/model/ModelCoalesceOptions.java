@@ -0,0 +1,46 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import lombok.Builder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link ModelCoalescingDispatcher}의 전송 주기/변화량 설정입니다.
+ *
+ * @param intervalMs    위치별 최신값을 전송하는 기본 주기
+ * @param minIntervalMs 변화량 초과로 앞당겨 전송할 때도 지켜야 하는 위치별 최소 전송 간격
+ * @param deltas        센서 종류별 즉시 전송 임계 변화량, 마지막 전송값과의 차이가 이 값 이상이면 주기를 기다리지 않음
+ */
+@Builder
+public record ModelCoalesceOptions(
+        long intervalMs,
+        long minIntervalMs,
+        Map<String, Double> deltas) {
+
+    /**
+     * 변화량 임계값이 없으면 주기 전송만 합니다.
+     */
+    public double deltaOf(String sensorType) {
+        Double delta = deltas.get(sensorType);
+        return delta == null ? Double.POSITIVE_INFINITY : delta;
+    }
+
+    /**
+     * {@code "temperature=0.5,humidity=2,co2=100"} 형식의 설정값을 읽습니다.
+     */
+    public static Map<String, Double> parseDeltas(String spec) {
+        Map<String, Double> deltas = new HashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return deltas;
+        }
+        for (String entry : spec.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("잘못된 변화량 설정: " + entry);
+            }
+            deltas.put(entry.substring(0, eq).trim(), Double.parseDouble(entry.substring(eq + 1).trim()));
+        }
+        return deltas;
+    }
+}
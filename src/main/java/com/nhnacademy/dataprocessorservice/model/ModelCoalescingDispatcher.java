@@ -0,0 +1,230 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * (location, sensor_type)별 최신값만 남겨 두었다가 위치 단위로 모델 서비스에 전송하는 dispatcher입니다.
+ * <p>
+ * 센서가 모델이 소화할 수 있는 것보다 빠르게 보고하더라도 위치마다 {@code intervalMs}에 한 번,
+ * 마지막 전송 이후 바뀐 최신값만 배열로 묶어 {@link ModelBatchDispatcher}로 넘깁니다.
+ * 마지막 전송값과의 차이가 센서별 {@code deltas} 이상이면 {@code minIntervalMs}만 지켜 앞당겨 전송하고,
+ * 처음 보는 슬롯의 값도 바로 전송합니다. 중간값은 버려지지만 가장 최근 상태는 항상 전달됩니다.
+ * </p>
+ * <p>
+ * transport가 요청을 보내지 못하고 배치를 버리면({@link ModelApiGuard} 차단기/한도, 대기열 포화 등) 그 값들을 슬롯에 되돌려
+ * 다음 주기에 다시 전송하고, 변화량 비교 기준도 실제로 넘어간 값으로 되돌립니다.
+ * </p>
+ */
+@Slf4j
+public class ModelCoalescingDispatcher implements AutoCloseable {
+
+    private final ModelBatchDispatcher transport;
+    private final ModelCoalesceOptions options;
+
+    private final ConcurrentHashMap<String, LocationSlots> slotTable = new ConcurrentHashMap<>();
+
+    private final LongAdder receivedSamples = new LongAdder();
+    private final LongAdder flushedSamples = new LongAdder();
+    private final LongAdder earlyFlushes = new LongAdder();
+    private final LongAdder returnedSamples = new LongAdder();
+
+    private Thread flusher;
+    private volatile boolean running;
+
+    public ModelCoalescingDispatcher(ModelBatchDispatcher transport, ModelCoalesceOptions options) {
+        this.transport = transport;
+        this.options = options;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "model-coalesce-flusher");
+        flusher.start();
+        log.info("🧮 모델 최신값 병합 전송 기동: interval={}ms, minInterval={}ms, deltas={}",
+                options.intervalMs(), options.minIntervalMs(), options.deltas());
+    }
+
+    /**
+     * 슬롯의 최신값을 갱신합니다. 호출 스레드에서는 전송하지 않습니다.
+     *
+     * @param location   위치
+     * @param sensorType 센서 종류
+     * @param value      측정값
+     */
+    public void update(String location, String sensorType, double value) {
+        receivedSamples.increment();
+        LocationSlots slots = slotTable.get(location);
+        if (slots == null) {
+            slots = slotTable.computeIfAbsent(location, LocationSlots::new);
+        }
+        Slot slot = slots.bySensor.get(sensorType);
+        if (slot == null) {
+            slot = slots.bySensor.computeIfAbsent(sensorType, Slot::new);
+        }
+        slot.latest = value;
+        slot.dirty.set(true);
+        slots.dirty = true;
+        double lastSent = slot.lastSent;
+        if (Double.isNaN(lastSent) || Math.abs(value - lastSent) >= options.deltaOf(sensorType)) {
+            slots.urgent = true;
+        }
+    }
+
+    private void runFlusher() {
+        long tickMs = Math.max(1, Math.min(options.minIntervalMs(), options.intervalMs() / 2));
+        while (running) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(tickMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            flushDue(false);
+        }
+    }
+
+    /**
+     * 주기가 되었거나 변화량 초과로 앞당겨야 하는 위치를 전송합니다.
+     *
+     * @param all true면 주기와 관계없이 바뀐 값이 있는 위치를 모두 전송
+     */
+    private void flushDue(boolean all) {
+        long now = System.currentTimeMillis();
+        for (LocationSlots slots : slotTable.values()) {
+            if (!slots.dirty) {
+                continue;
+            }
+            long elapsed = now - slots.lastFlushAt;
+            boolean periodic = elapsed >= options.intervalMs();
+            boolean early = slots.urgent && elapsed >= options.minIntervalMs();
+            if (all || periodic || early) {
+                if (early && !periodic) {
+                    earlyFlushes.increment();
+                }
+                flush(slots, now);
+            }
+        }
+    }
+
+    private void flush(LocationSlots slots, long now) {
+        // 플래그를 먼저 내리고 값을 읽으므로, 그 사이에 들어온 갱신은 다음 주기에 다시 전송됨
+        slots.dirty = false;
+        slots.urgent = false;
+        slots.lastFlushAt = now;
+        List<ModelSample> batch = new ArrayList<>(slots.bySensor.size());
+        for (Slot slot : slots.bySensor.values()) {
+            if (slot.dirty.getAndSet(false)) {
+                double value = slot.latest;
+                slot.previousSent = slot.lastSent;
+                slot.lastSent = value;
+                batch.add(new ModelSample(slots.location, slot.sensorType, value));
+            }
+        }
+        if (!batch.isEmpty()) {
+            flushedSamples.add(batch.size());
+            transport.submit(batch, this::restore);
+        }
+    }
+
+    /**
+     * transport가 보내지 못한 값을 슬롯에 되돌립니다. 전송 스레드에서 호출됩니다.
+     * 그 사이 새 값이 들어왔으면 새 값이, 아니면 같은 값이 다음 주기에 전송됩니다 (차단기가 열려 있는 동안 앞당기지는 않음).
+     */
+    private void restore(List<ModelSample> batch) {
+        returnedSamples.add(batch.size());
+        for (ModelSample sample : batch) {
+            LocationSlots slots = slotTable.get(sample.location());
+            Slot slot = slots == null ? null : slots.bySensor.get(sample.sensorType());
+            if (slot == null) {
+                continue;
+            }
+            // 이후 다른 값이 이미 넘어갔으면 기준을 건드리지 않음
+            if (Double.compare(slot.lastSent, sample.value()) == 0) {
+                slot.lastSent = slot.previousSent;
+            }
+            slot.dirty.set(true);
+            slots.dirty = true;
+        }
+    }
+
+    /**
+     * 남은 최신값을 모두 넘긴 뒤 종료합니다. transport는 이후에 닫혀야 합니다.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushDue(true);
+        log.info("🧮 모델 최신값 병합 전송 종료: received={}, flushed={}", receivedSamples.sum(), flushedSamples.sum());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long receivedSamples() {
+        return receivedSamples.sum();
+    }
+
+    /** transport로 넘긴 최신값 수 ({@link #returnedSamples()}로 되돌아온 값 포함) */
+    public long flushedSamples() {
+        return flushedSamples.sum();
+    }
+
+    /** 전송되지 않은 샘플 수 (더 최신 값으로 덮어쓰였거나 아직 다음 전송을 기다리는 중) */
+    public long coalescedSamples() {
+        return receivedSamples.sum() - flushedSamples.sum() + returnedSamples.sum();
+    }
+
+    /** transport가 보내지 못해 슬롯으로 되돌아온 값 수 (차단기/한도 등으로 거절) */
+    public long returnedSamples() {
+        return returnedSamples.sum();
+    }
+
+    /** 변화량 초과로 주기보다 앞당겨 전송한 횟수 */
+    public long earlyFlushes() {
+        return earlyFlushes.sum();
+    }
+
+    private static final class LocationSlots {
+        private final String location;
+        private final ConcurrentHashMap<String, Slot> bySensor = new ConcurrentHashMap<>(4);
+        private volatile boolean dirty;
+        private volatile boolean urgent;
+        private long lastFlushAt;
+
+        private LocationSlots(String location) {
+            this.location = location;
+        }
+    }
+
+    private static final class Slot {
+        private final String sensorType;
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile double latest;
+        private volatile double lastSent = Double.NaN;
+        private volatile double previousSent = Double.NaN;
+
+        private Slot(String sensorType) {
+            this.sensorType = sensorType;
+        }
+    }
+}
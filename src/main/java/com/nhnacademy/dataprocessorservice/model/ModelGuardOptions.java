@@ -0,0 +1,33 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import lombok.Builder;
+
+/**
+ * {@link ModelApiGuard}의 동시 요청 한도/차단기 설정입니다.
+ *
+ * @param enabled              false면 한도와 차단 없이 모든 요청을 허용 (지표만 집계)
+ * @param initialLimit         기동 시 동시 요청 한도
+ * @param minLimit             한도 하한
+ * @param maxLimit             한도 상한
+ * @param latencyThresholdMs   이보다 오래 걸린 성공 응답은 과부하 신호로 보고 한도를 줄임
+ * @param backoffRatio         실패 또는 느린 응답 시 한도에 곱하는 비율 (0~1)
+ * @param failureRateThreshold 최근 호출 중 실패 비율이 이 이상이면 차단기를 엶 (0~1)
+ * @param windowSize           실패 비율을 계산하는 최근 호출 수
+ * @param minCalls             실패 비율을 판단하기 위한 최소 호출 수
+ * @param openMs               차단기를 연 뒤 시험 호출을 시작하기까지의 시간
+ * @param halfOpenProbes       반열림 상태에서 허용하는 시험 호출 수, 모두 성공하면 차단기를 닫음
+ */
+@Builder
+public record ModelGuardOptions(
+        boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        long latencyThresholdMs,
+        double backoffRatio,
+        double failureRateThreshold,
+        int windowSize,
+        int minCalls,
+        long openMs,
+        int halfOpenProbes) {
+}
@@ -0,0 +1,19 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * 모델 서비스로 전달하는 센서 샘플 한 건입니다.
+ * 단건 전송과 배치 전송(배열)에서 같은 JSON 형태를 사용합니다.
+ *
+ * @param location   위치
+ * @param sensorType 센서 종류 (temperature, humidity, co2)
+ * @param value      측정값
+ */
+@JsonPropertyOrder({"location", "sensor_type", "value"})
+public record ModelSample(
+        String location,
+        @JsonProperty("sensor_type") String sensorType,
+        double value) {
+}
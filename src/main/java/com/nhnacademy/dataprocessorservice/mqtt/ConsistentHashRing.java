@@ -0,0 +1,67 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 인스턴스 id로 만든 불변 consistent hash ring입니다.
+ * <p>
+ * 인스턴스마다 {@code virtualNodes}개의 지점을 링에 올려 키를 고르게 나눕니다.
+ * 인스턴스가 하나 추가되거나 빠지면 전체 키 중 약 1/N만 주인이 바뀝니다.
+ * </p>
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+    private final List<String> members;
+
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        TreeMap<Long, String> points = new TreeMap<>();
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(member + "#" + i), member);
+            }
+        }
+        this.ring = points;
+        this.members = members.stream().distinct().sorted().toList();
+    }
+
+    /**
+     * 키를 담당하는 인스턴스 id를 반환합니다. 링이 비어 있으면 null입니다.
+     */
+    public String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    public boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    /**
+     * FNV-1a 64비트 해시에 murmur3 finalizer를 적용합니다. JVM/인스턴스와 무관하게 같은 값을 냅니다.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,46 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import org.eclipse.paho.client.mqttv3.MqttClient;
+
+import java.util.List;
+
+/**
+ * 연결 풀의 MQTT 연결 하나와 그 연결이 맡은 구독 필터입니다.
+ */
+public final class MqttConnection {
+
+    private final MqttClient client;
+    private final List<String> filters;
+    private final boolean shared;
+    private final MqttConnectionStats stats;
+
+    MqttConnection(MqttClient client, List<String> filters) {
+        this.client = client;
+        this.filters = List.copyOf(filters);
+        this.shared = filters.stream().anyMatch(filter -> filter.startsWith(MqttTopicFilters.SHARE_PREFIX));
+        this.stats = new MqttConnectionStats(client.getClientId());
+    }
+
+    public MqttClient client() {
+        return client;
+    }
+
+    public List<String> filters() {
+        return filters;
+    }
+
+    /**
+     * 공유 구독 필터를 맡고 있으면 true. Paho v3 리스너는 {@code $share} 필터와 매칭되지 않아 기본 콜백으로 받습니다.
+     */
+    public boolean shared() {
+        return shared;
+    }
+
+    public MqttConnectionStats stats() {
+        return stats;
+    }
+
+    public String clientId() {
+        return client.getClientId();
+    }
+}
@@ -0,0 +1,114 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 같은 브로커로 가는 MQTT 연결 여러 개를 보관합니다.
+ * <p>
+ * Paho 연결 하나는 콜백 스레드 하나로 메시지를 넘기므로, 연결 수를 늘려 한 인스턴스가 여러 코어를 쓰게 합니다.
+ * 구독 필터는 연결마다 겹치지 않게 나눠(round-robin) 같은 메시지가 두 연결로 들어오지 않게 합니다.
+ * {@link ScaleOutMode#SHARED}이면 모든 연결이 같은 공유 그룹으로 모든 필터를 구독하고, 브로커가 연결 사이에 메시지를 나눕니다.
+ * 이 경우 같은 토픽의 메시지가 서로 다른 연결로 들어올 수 있어 연결 간 도착 순서는 보장되지 않습니다.
+ * </p>
+ * <p>
+ * 연결, 구독, 재구독, 종료 순서는 {@link MqttSubscriptionManager}가 맡고, 이 클래스는 연결과 연결별 지표만 가집니다.
+ * </p>
+ */
+@Slf4j
+public class MqttConnectionPool implements AutoCloseable {
+
+    private final List<MqttConnection> connections = new ArrayList<>();
+    private volatile boolean closed;
+
+    public MqttConnectionPool(String brokerUrl, String clientIdPrefix, List<String> filters, int size,
+                              ScaleOutMode mode) throws MqttException {
+        List<List<String>> slices = slice(filters, size, mode);
+        if (slices.size() < size) {
+            log.warn("구독 필터 수({})가 연결 수({})보다 적어 연결 {}개만 사용합니다. SHARED 모드이거나 필터를 나눠 지정하세요.",
+                    filters.size(), size, slices.size());
+        }
+        for (int i = 0; i < slices.size(); i++) {
+            String clientId = slices.size() == 1 ? clientIdPrefix : clientIdPrefix + "-" + i;
+            connections.add(new MqttConnection(new MqttClient(brokerUrl, clientId, new MemoryPersistence()), slices.get(i)));
+        }
+    }
+
+    /**
+     * 연결 수만큼 필터를 나눕니다. SHARED가 아니면 빈 연결이 생기지 않도록 필터 수로 연결 수를 제한합니다.
+     */
+    static List<List<String>> slice(List<String> filters, int size, ScaleOutMode mode) {
+        int count = Math.max(1, size);
+        List<List<String>> slices = new ArrayList<>();
+        if (mode == ScaleOutMode.SHARED) {
+            for (int i = 0; i < count; i++) {
+                slices.add(List.copyOf(filters));
+            }
+            return slices;
+        }
+        count = Math.max(1, Math.min(count, filters.size()));
+        for (int i = 0; i < count; i++) {
+            slices.add(new ArrayList<>());
+        }
+        for (int i = 0; i < filters.size(); i++) {
+            slices.get(i % count).add(filters.get(i));
+        }
+        return slices.stream().map(List::copyOf).toList();
+    }
+
+    public List<MqttConnection> connections() {
+        return connections;
+    }
+
+    public int size() {
+        return connections.size();
+    }
+
+    public boolean isConnected() {
+        return connections.stream().allMatch(connection -> connection.client().isConnected());
+    }
+
+    public List<MqttConnectionStats> stats() {
+        return connections.stream().map(MqttConnection::stats).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${mqtt.metrics-log-interval-ms:60000}")
+    public void logStats() {
+        for (MqttConnection connection : connections) {
+            MqttConnectionStats stats = connection.stats();
+            log.info("📶 MQTT 연결 상태: clientId={}, connected={}, received={}, reconnects={}, losses={}, "
+                            + "lastMessageAge={}ms, handoff p99={}µs max={}µs",
+                    stats.clientId(), connection.client().isConnected(), stats.received(), stats.reconnects(),
+                    stats.connectionLosses(), stats.lastMessageAgeMs(),
+                    stats.handoff().percentile(99), stats.handoff().max());
+        }
+    }
+
+    /**
+     * 남아 있는 연결을 끊고 클라이언트 자원을 해제합니다. 정상 종료 시에는 구독 관리자가 먼저 구독을 해제하고 연결을 끊습니다.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (MqttConnection connection : connections) {
+            MqttClient client = connection.client();
+            try {
+                if (client.isConnected()) {
+                    client.disconnectForcibly();
+                }
+                client.close();
+            } catch (MqttException e) {
+                log.error("MQTT 정리 중 오류: clientId={}", client.getClientId(), e);
+            }
+        }
+    }
+}
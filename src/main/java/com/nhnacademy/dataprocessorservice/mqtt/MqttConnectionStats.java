@@ -0,0 +1,68 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import com.nhnacademy.dataprocessorservice.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MQTT 연결 하나의 수신/재연결 지표입니다.
+ * <p>
+ * {@code handoff}는 콜백 스레드가 메시지를 파이프라인에 넘기는 데 걸린 시간(µs)입니다.
+ * 이 값이 커지면 콜백 스레드가 밀려 브로커 쪽 in-flight 창이 차고 있다는 뜻이므로 연결별 지연 지표로 사용합니다.
+ * </p>
+ */
+public class MqttConnectionStats {
+
+    private final String clientId;
+    private final LongAdder received = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private final LongAdder connectionLosses = new LongAdder();
+    private final LatencyHistogram handoff = new LatencyHistogram();
+    private volatile long lastMessageAt;
+
+    public MqttConnectionStats(String clientId) {
+        this.clientId = clientId;
+    }
+
+    void onMessage(long handoffNanos) {
+        received.increment();
+        handoff.record(handoffNanos / 1_000);
+        lastMessageAt = System.currentTimeMillis();
+    }
+
+    void onReconnect() {
+        reconnects.increment();
+    }
+
+    void onConnectionLost() {
+        connectionLosses.increment();
+    }
+
+    public String clientId() {
+        return clientId;
+    }
+
+    public long received() {
+        return received.sum();
+    }
+
+    public long reconnects() {
+        return reconnects.sum();
+    }
+
+    public long connectionLosses() {
+        return connectionLosses.sum();
+    }
+
+    public LatencyHistogram handoff() {
+        return handoff;
+    }
+
+    /**
+     * 마지막 메시지 이후 경과 시간(ms), 아직 받은 메시지가 없으면 -1
+     */
+    public long lastMessageAgeMs() {
+        long last = lastMessageAt;
+        return last == 0 ? -1 : System.currentTimeMillis() - last;
+    }
+}
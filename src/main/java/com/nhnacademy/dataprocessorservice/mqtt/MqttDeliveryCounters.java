@@ -0,0 +1,112 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 구독 관리자가 받은 메시지의 전달 경로와 처리 결과를 셉니다.
+ * <p>
+ * 정상 상태에서는 {@code arrived = accepted + skipped + dropped}이고 {@code orphaned = 0}입니다.
+ * {@code orphaned}는 리스너가 있어야 할 필터의 메시지가 기본 콜백으로 들어온 횟수로, 재연결 후 리스너가
+ * 사라진 경우(과거 조용한 수집 누락의 원인)를 드러냅니다. 이런 메시지도 버리지 않고 똑같이 파이프라인으로 넘깁니다.
+ * {@code redelivered}는 브로커가 DUP 플래그를 붙여 다시 보낸 QoS 1 메시지 수입니다.
+ * </p>
+ */
+public class MqttDeliveryCounters {
+
+    private final LongAdder arrived = new LongAdder();
+    private final LongAdder viaListener = new LongAdder();
+    private final LongAdder viaCallback = new LongAdder();
+    private final LongAdder orphaned = new LongAdder();
+    private final LongAdder redelivered = new LongAdder();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder subscribes = new LongAdder();
+    private final LongAdder resubscribes = new LongAdder();
+
+    void onArrived(boolean listener, boolean orphan, boolean duplicate) {
+        arrived.increment();
+        if (listener) {
+            viaListener.increment();
+        } else {
+            viaCallback.increment();
+        }
+        if (orphan) {
+            orphaned.increment();
+        }
+        if (duplicate) {
+            redelivered.increment();
+        }
+    }
+
+    void onRouted(RouteResult result) {
+        switch (result) {
+            case ACCEPTED -> accepted.increment();
+            case SKIPPED -> skipped.increment();
+            case DROPPED -> dropped.increment();
+        }
+    }
+
+    void onSubscribed(boolean reconnect) {
+        if (reconnect) {
+            resubscribes.increment();
+        } else {
+            subscribes.increment();
+        }
+    }
+
+    public long arrived() {
+        return arrived.sum();
+    }
+
+    public long viaListener() {
+        return viaListener.sum();
+    }
+
+    public long viaCallback() {
+        return viaCallback.sum();
+    }
+
+    public long orphaned() {
+        return orphaned.sum();
+    }
+
+    public long redelivered() {
+        return redelivered.sum();
+    }
+
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    public long skipped() {
+        return skipped.sum();
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    public long subscribes() {
+        return subscribes.sum();
+    }
+
+    public long resubscribes() {
+        return resubscribes.sum();
+    }
+
+    /**
+     * 도착한 메시지가 모두 한 번씩 처리 결과로 집계되었으면 true. 수신이 멈춘 뒤에 확인해야 정확합니다.
+     */
+    public boolean isBalanced() {
+        return arrived() == accepted() + skipped() + dropped();
+    }
+
+    @Override
+    public String toString() {
+        return "arrived=" + arrived() + ", listener=" + viaListener() + ", callback=" + viaCallback()
+                + ", orphaned=" + orphaned() + ", redelivered=" + redelivered()
+                + ", accepted=" + accepted() + ", skipped=" + skipped() + ", dropped=" + dropped()
+                + ", subscribes=" + subscribes() + ", resubscribes=" + resubscribes();
+    }
+}
@@ -0,0 +1,26 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * MQTT 콜백 스레드에서 받은 메시지를 수집 파이프라인으로 넘기는 단일 진입점입니다.
+ * <p>
+ * {@link ScaleOutMode#HASH}이면 다른 인스턴스 몫의 토픽은 적재하지 않고 바로 반환합니다.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class MqttInboundRouter {
+
+    private final IngestPipeline ingestPipeline;
+    private final TopicOwnership topicOwnership;
+
+    public RouteResult accept(String topic, byte[] payload) {
+        if (!topicOwnership.owns(topic)) {
+            return RouteResult.SKIPPED;
+        }
+        return ingestPipeline.submit(topic, payload) ? RouteResult.ACCEPTED : RouteResult.DROPPED;
+    }
+}
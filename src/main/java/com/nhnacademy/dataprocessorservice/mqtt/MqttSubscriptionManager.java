@@ -0,0 +1,263 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.paho.client.mqttv3.IMqttDeliveryToken;
+import org.eclipse.paho.client.mqttv3.IMqttMessageListener;
+import org.eclipse.paho.client.mqttv3.MqttCallbackExtended;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * MQTT 연결과 구독의 수명주기를 한곳에서 관리합니다.
+ * <p>
+ * 컨텍스트 기동이 끝난 뒤(수집 파이프라인이 떠 있는 상태) 연결 풀의 연결마다 연결하고,
+ * 맡은 필터를 리스너와 함께 한 번만 구독합니다. 자동 재연결 시에도 같은 리스너로 다시 구독하므로
+ * 재연결 후 리스너 없는 구독이 남아 메시지가 디버그 로그로만 빠지는 일이 없습니다.
+ * 그래도 기본 콜백으로 들어온 메시지는 버리지 않고 파이프라인으로 넘기며 {@link MqttDeliveryCounters#orphaned()}로 집계합니다.
+ * 연결과 최초 구독은 연결마다 백그라운드 스레드에서 진행하므로 브로커 핸드셰이크가 컨텍스트 기동(준비 완료)을 막지 않습니다.
+ * 연결에 실패하면 같은 스레드가 {@code mqtt.connect-retry-ms} 간격으로 다시 시도합니다.
+ * </p>
+ * <p>
+ * 종료 시에는 구독을 먼저 해제해 새 메시지를 막고, {@code mqtt.shutdown.quiesce-ms} 동안 처리 중인 콜백이 끝나기를 기다린 뒤
+ * 연결을 끊습니다. 이후 수집 파이프라인이 큐에 남은 메시지를 비웁니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class MqttSubscriptionManager implements SmartLifecycle {
+
+    private static final int QOS = 1;
+
+    private final MqttConnectOptions options;
+    private final MqttInboundRouter router;
+    private final long quiesceMs;
+    private final long connectRetryMs;
+    private final boolean autoStartup;
+    private final List<Subscription> subscriptions;
+    private final MqttDeliveryCounters counters = new MqttDeliveryCounters();
+
+    private final List<Thread> connectors = new ArrayList<>();
+    private volatile boolean running;
+
+    public MqttSubscriptionManager(
+            MqttConnectionPool pool,
+            MqttConnectOptions options,
+            MqttInboundRouter router,
+            @Value("${mqtt.shutdown.quiesce-ms:5000}") long quiesceMs,
+            @Value("${mqtt.connect-retry-ms:5000}") long connectRetryMs,
+            @Value("${mqtt.auto-startup:true}") boolean autoStartup) {
+        this.options = options;
+        this.router = router;
+        this.quiesceMs = quiesceMs;
+        this.connectRetryMs = connectRetryMs;
+        this.autoStartup = autoStartup;
+        this.subscriptions = pool.connections().stream().map(Subscription::new).toList();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        connectors.clear();
+        for (Subscription subscription : subscriptions) {
+            subscription.connection.client().setCallback(subscription);
+            connectors.add(Thread.ofPlatform().daemon().name("mqtt-connect-" + subscription.connection.clientId())
+                    .start(subscription::connectUntilSubscribed));
+        }
+        log.info("🚀 MQTT 구독 관리자 기동: connections={} (브로커 연결은 백그라운드에서 진행)", subscriptions.size());
+    }
+
+    /**
+     * 구독 해제 → 처리 중 콜백 완료 대기 → 연결 종료 순으로 수신을 멈춥니다.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Thread connector : connectors) {
+            connector.interrupt();
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.unsubscribe();
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.disconnect();
+        }
+        log.info("🛑 MQTT 구독 종료: {}", counters);
+        if (!counters.isBalanced()) {
+            log.warn("MQTT 수신 건수와 처리 결과 건수가 다릅니다: {}", counters);
+        }
+    }
+
+    /**
+     * {@code mqtt.auto-startup=false}이면 브로커에 연결하지 않습니다 (캡처 파일 재처리 전용 실행 등).
+     */
+    @Override
+    public boolean isAutoStartup() {
+        return autoStartup;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public MqttDeliveryCounters counters() {
+        return counters;
+    }
+
+    /**
+     * 수신 메시지 하나를 집계하고 파이프라인으로 넘깁니다.
+     *
+     * @param viaListener 구독 리스너로 들어왔으면 true, 연결 기본 콜백으로 들어왔으면 false
+     */
+    void deliver(int connectionIndex, String topic, MqttMessage message, boolean viaListener) {
+        subscriptions.get(connectionIndex).deliver(topic, message, viaListener);
+    }
+
+    private final class Subscription implements MqttCallbackExtended {
+        private final MqttConnection connection;
+        private final IMqttMessageListener listener;
+        private final AtomicBoolean orphanWarned = new AtomicBoolean();
+
+        private Subscription(MqttConnection connection) {
+            this.connection = connection;
+            this.listener = (topic, message) -> deliver(topic, message, true);
+        }
+
+        /**
+         * 연결과 구독에 성공하거나 관리자가 멈출 때까지 재시도합니다.
+         */
+        private void connectUntilSubscribed() {
+            long startedAt = System.nanoTime();
+            while (running) {
+                if (connect()) {
+                    log.info("🔌 MQTT 연결 및 구독 완료: clientId={}, broker={}, filters={}, elapsed={}ms",
+                            connection.clientId(), connection.client().getServerURI(), connection.filters(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                    return;
+                }
+                try {
+                    TimeUnit.MILLISECONDS.sleep(connectRetryMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return 연결과 구독에 성공했으면 true
+         */
+        private boolean connect() {
+            MqttClient client = connection.client();
+            try {
+                if (!client.isConnected()) {
+                    client.connect(options);
+                }
+                if (!running) {
+                    // 연결하는 동안 stop()이 지나갔으면 구독하지 않고 직접 끊음
+                    disconnect();
+                    return false;
+                }
+                subscribe(false);
+                return true;
+            } catch (MqttException e) {
+                if (running) {
+                    log.error("❌ MQTT 연결/구독 실패: clientId={}, filters={}, {}ms 후 재시도",
+                            client.getClientId(), connection.filters(), connectRetryMs, e);
+                }
+                return false;
+            }
+        }
+
+        private void subscribe(boolean reconnect) throws MqttException {
+            String[] filters = connection.filters().toArray(String[]::new);
+            int[] qos = new int[filters.length];
+            Arrays.fill(qos, QOS);
+            IMqttMessageListener[] listeners = new IMqttMessageListener[filters.length];
+            Arrays.fill(listeners, listener);
+            connection.client().subscribe(filters, qos, listeners);
+            counters.onSubscribed(reconnect);
+        }
+
+        @Override
+        public void connectComplete(boolean reconnect, String serverURI) {
+            // 최초 연결은 connect()에서 구독하므로 자동 재연결일 때만 다시 구독 (cleanSession=true)
+            if (!reconnect || !running) {
+                return;
+            }
+            connection.stats().onReconnect();
+            try {
+                subscribe(true);
+                log.info("MQTT 재연결 후 재구독 완료: clientId={}, filters={}", connection.clientId(), connection.filters());
+            } catch (MqttException e) {
+                log.error("MQTT 재구독 실패: clientId={}", connection.clientId(), e);
+            }
+        }
+
+        @Override
+        public void connectionLost(Throwable cause) {
+            connection.stats().onConnectionLost();
+            log.warn("MQTT 연결 끊김: clientId={}, cause={}", connection.clientId(), cause.getMessage());
+        }
+
+        @Override
+        public void messageArrived(String topic, MqttMessage message) {
+            deliver(topic, message, false);
+        }
+
+        @Override
+        public void deliveryComplete(IMqttDeliveryToken token) {
+        }
+
+        private void deliver(String topic, MqttMessage message, boolean viaListener) {
+            // ✅ 콜백 스레드에서는 적재만 하고 바로 반환 (QoS 1 ack 지연 방지)
+            long start = System.nanoTime();
+            boolean orphan = !viaListener && !connection.shared();
+            counters.onArrived(viaListener, orphan, message.isDuplicate());
+            if (orphan && orphanWarned.compareAndSet(false, true)) {
+                log.warn("리스너 없이 기본 콜백으로 들어온 메시지가 있습니다: clientId={}, topic={}", connection.clientId(), topic);
+            }
+            counters.onRouted(router.accept(topic, message.getPayload()));
+            connection.stats().onMessage(System.nanoTime() - start);
+        }
+
+        private void unsubscribe() {
+            MqttClient client = connection.client();
+            try {
+                if (client.isConnected()) {
+                    client.unsubscribe(connection.filters().toArray(String[]::new));
+                }
+            } catch (MqttException e) {
+                log.error("MQTT 구독 해제 실패: clientId={}", client.getClientId(), e);
+            }
+        }
+
+        private void disconnect() {
+            MqttClient client = connection.client();
+            try {
+                if (client.isConnected()) {
+                    client.disconnect(quiesceMs);
+                }
+            } catch (MqttException e) {
+                log.error("MQTT 연결 종료 실패: clientId={}", client.getClientId(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code mqtt.topic} 설정을 실제 구독 필터 목록으로 변환합니다.
+ */
+public final class MqttTopicFilters {
+
+    static final String SHARE_PREFIX = "$share/";
+
+    private MqttTopicFilters() {
+    }
+
+    /**
+     * 쉼표로 구분된 토픽 목록을 공백을 제거해 반환합니다. 빈 항목은 무시합니다.
+     */
+    public static List<String> parse(String topics) {
+        List<String> result = new ArrayList<>();
+        if (topics == null) {
+            return result;
+        }
+        for (String topic : topics.split(",")) {
+            String trimmed = topic.trim();
+            if (!trimmed.isEmpty() && !result.contains(trimmed)) {
+                result.add(trimmed);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 모드에 맞는 구독 필터를 만듭니다. {@link ScaleOutMode#SHARED}이면 공유 구독 접두어를 붙입니다.
+     * 이미 {@code $share/}로 시작하는 토픽은 그대로 사용합니다.
+     */
+    public static String subscriptionFilter(String topic, ScaleOutMode mode, String group) {
+        if (mode != ScaleOutMode.SHARED || topic.startsWith(SHARE_PREFIX)) {
+            return topic;
+        }
+        return SHARE_PREFIX + group + "/" + topic;
+    }
+
+    public static List<String> subscriptionFilters(String topics, ScaleOutMode mode, String group) {
+        List<String> filters = new ArrayList<>();
+        for (String topic : parse(topics)) {
+            filters.add(subscriptionFilter(topic, mode, group));
+        }
+        return filters;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+/**
+ * 수신 메시지 하나를 {@link MqttInboundRouter}가 처리한 결과입니다.
+ */
+public enum RouteResult {
+    /** 수집 파이프라인(또는 spill 버퍼)에 적재됨 */
+    ACCEPTED,
+    /** {@link ScaleOutMode#HASH}에서 다른 인스턴스 몫이라 건너뜀 */
+    SKIPPED,
+    /** 파이프라인이 멈췄거나 backpressure 정책으로 버려짐 */
+    DROPPED
+}
@@ -0,0 +1,13 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+/**
+ * 여러 인스턴스가 같은 토픽을 구독할 때 부하를 나누는 방식입니다.
+ */
+public enum ScaleOutMode {
+    /** 모든 인스턴스가 모든 메시지를 처리합니다. (단일 인스턴스용, 기본) */
+    NONE,
+    /** {@code $share/<group>/<topic>} 공유 구독으로 브로커가 그룹 내 구독자에게 메시지를 나눠 줍니다. */
+    SHARED,
+    /** 모든 메시지를 받되, Eureka 인스턴스 목록으로 만든 consistent hash ring에서 자기 몫의 토픽만 처리합니다. */
+    HASH
+}
@@ -0,0 +1,179 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ScaleOutMode#HASH}에서 이 인스턴스가 처리할 토픽을 결정합니다.
+ * <p>
+ * 같은 서비스로 Eureka에 등록된 인스턴스 id로 {@link ConsistentHashRing}을 만들고,
+ * 토픽을 담당하는 인스턴스가 자신일 때만 처리합니다. 같은 토픽은 항상 한 인스턴스로 가므로 센서별 순서가 유지됩니다.
+ * Eureka 레지스트리 갱신({@link HeartbeatEvent})마다 인스턴스 목록을 다시 읽어, 바뀌었으면 링을 다시 만듭니다.
+ * 목록이 각 인스턴스에 반영되는 시점이 달라 재분배 직후 잠시 중복 또는 누락이 생길 수 있으므로,
+ * 브로커가 공유 구독을 지원하면 {@link ScaleOutMode#SHARED}를 우선 사용합니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TopicOwnership {
+
+    private static final int MAX_CACHED_TOPICS = 100_000;
+
+    private final ScaleOutMode mode;
+    private final int virtualNodes;
+    private final String serviceId;
+    private final ObjectProvider<DiscoveryClient> discoveryClient;
+    private final ObjectProvider<Registration> registration;
+
+    private volatile String selfId;
+    private volatile Assignment assignment;
+
+    private final LongAdder owned = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder rebalances = new LongAdder();
+
+    @Autowired
+    public TopicOwnership(
+            @Value("${mqtt.scale-out.mode:NONE}") ScaleOutMode mode,
+            @Value("${mqtt.scale-out.virtual-nodes:128}") int virtualNodes,
+            @Value("${spring.application.name}") String serviceId,
+            ObjectProvider<DiscoveryClient> discoveryClient,
+            ObjectProvider<Registration> registration) {
+        this.mode = mode;
+        this.virtualNodes = Math.max(1, virtualNodes);
+        this.serviceId = serviceId;
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.selfId = serviceId + "-" + UUID.randomUUID().toString().substring(0, 8);
+        this.assignment = new Assignment(new ConsistentHashRing(List.of(selfId), this.virtualNodes));
+    }
+
+    TopicOwnership(ScaleOutMode mode, int virtualNodes, String selfId) {
+        this.mode = mode;
+        this.virtualNodes = Math.max(1, virtualNodes);
+        this.serviceId = null;
+        this.discoveryClient = null;
+        this.registration = null;
+        this.selfId = selfId;
+        this.assignment = new Assignment(new ConsistentHashRing(List.of(selfId), this.virtualNodes));
+    }
+
+    /**
+     * 이 인스턴스가 토픽을 처리해야 하면 true를 반환합니다. HASH 모드가 아니면 항상 true입니다.
+     */
+    public boolean owns(String topic) {
+        if (mode != ScaleOutMode.HASH) {
+            return true;
+        }
+        boolean mine = assignment.owns(topic, selfId);
+        if (mine) {
+            owned.increment();
+        } else {
+            skipped.increment();
+        }
+        return mine;
+    }
+
+    @EventListener({ApplicationReadyEvent.class, HeartbeatEvent.class})
+    public void refresh() {
+        if (mode != ScaleOutMode.HASH || discoveryClient == null) {
+            return;
+        }
+        Registration self = registration.getIfAvailable();
+        if (self != null && self.getInstanceId() != null) {
+            selfId = self.getInstanceId();
+        }
+        DiscoveryClient client = discoveryClient.getIfAvailable();
+        Set<String> members = new TreeSet<>();
+        if (client != null) {
+            try {
+                for (ServiceInstance instance : client.getInstances(serviceId)) {
+                    if (instance.getInstanceId() != null) {
+                        members.add(instance.getInstanceId());
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.warn("인스턴스 목록 조회 실패, 기존 토픽 배정 유지: {}", e.getMessage());
+                return;
+            }
+        }
+        rebalance(members);
+    }
+
+    /**
+     * 인스턴스 목록이 바뀌었으면 링을 다시 만듭니다. 자신은 레지스트리 반영 전이라도 항상 포함합니다.
+     */
+    void rebalance(Collection<String> instanceIds) {
+        Set<String> members = new TreeSet<>(instanceIds);
+        members.add(selfId);
+        if (members.equals(Set.copyOf(assignment.ring.members()))) {
+            return;
+        }
+        List<String> previous = assignment.ring.members();
+        assignment = new Assignment(new ConsistentHashRing(members, virtualNodes));
+        rebalances.increment();
+        log.info("🔀 토픽 재배정: self={}, members {} → {}", selfId, previous, members);
+    }
+
+    public ScaleOutMode mode() {
+        return mode;
+    }
+
+    public List<String> members() {
+        return assignment.ring.members();
+    }
+
+    public long ownedMessages() {
+        return owned.sum();
+    }
+
+    /** 다른 인스턴스 몫이라 처리하지 않은 메시지 수 */
+    public long skippedMessages() {
+        return skipped.sum();
+    }
+
+    public long rebalances() {
+        return rebalances.sum();
+    }
+
+    /**
+     * 링과 토픽별 판정 캐시. 재배정 시 통째로 교체되므로 캐시를 따로 비울 필요가 없습니다.
+     */
+    private static final class Assignment {
+        private final ConsistentHashRing ring;
+        private final ConcurrentHashMap<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+        private Assignment(ConsistentHashRing ring) {
+            this.ring = ring;
+        }
+
+        private boolean owns(String topic, String selfId) {
+            Boolean cached = decisions.get(topic);
+            if (cached != null) {
+                return cached;
+            }
+            boolean mine = selfId.equals(ring.ownerOf(topic));
+            if (decisions.size() < MAX_CACHED_TOPICS) {
+                decisions.put(topic, mine);
+            }
+            return mine;
+        }
+    }
+}
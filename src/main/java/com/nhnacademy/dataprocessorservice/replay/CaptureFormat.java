@@ -0,0 +1,25 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+/**
+ * 캡처 파일의 바이너리 형식입니다 (big-endian).
+ * <pre>
+ * header : [int magic "DPSC"][short version]
+ * record : [short topicLength][topic UTF-8][long deviceTimeMillis][int payloadLength][payload]
+ * </pre>
+ * 디바이스 측정 시각을 레코드 헤더에 두어 재처리 시 페이로드를 파싱하지 않고 시간 범위로 거를 수 있습니다.
+ * 기록 중 비정상 종료로 잘린 마지막 레코드는 읽을 때 건너뜁니다.
+ */
+final class CaptureFormat {
+
+    static final int MAGIC = 0x44505343;
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+    /** 토픽/페이로드 본문을 제외한 레코드 고정 크기 */
+    static final int RECORD_OVERHEAD = Short.BYTES + Long.BYTES + Integer.BYTES;
+    static final String SUFFIX = ".dpscap";
+    /** 파일 하나를 한 번에 메모리 매핑할 수 있도록 세그먼트 크기를 제한 */
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private CaptureFormat() {
+    }
+}
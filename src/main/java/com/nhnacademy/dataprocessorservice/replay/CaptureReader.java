@@ -0,0 +1,74 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 캡처 파일을 읽기 전용으로 메모리 매핑해 레코드를 순서대로 읽습니다.
+ * <p>
+ * 커널 페이지 캐시에서 바로 읽으므로 스트림 버퍼 복사가 없고, 레코드마다 토픽 문자열과 페이로드 배열만 할당합니다.
+ * </p>
+ */
+@Slf4j
+public final class CaptureReader {
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+
+    private CaptureReader(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * @throws IOException 파일을 열 수 없거나 캡처 파일 형식이 아닌 경우
+     */
+    public static CaptureReader open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("캡처 파일이 너무 큽니다: " + file + " (" + size + "bytes)");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (size < CaptureFormat.HEADER_BYTES
+                    || buffer.getInt() != CaptureFormat.MAGIC
+                    || buffer.getShort() != CaptureFormat.VERSION) {
+                throw new IOException("캡처 파일 형식이 아닙니다: " + file);
+            }
+            return new CaptureReader(file, buffer);
+        }
+    }
+
+    /**
+     * @return 다음 레코드, 파일 끝이면 null (잘린 마지막 레코드는 경고 후 무시)
+     */
+    public CaptureRecord next() {
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        int start = buffer.position();
+        try {
+            byte[] topic = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(topic);
+            long deviceTime = buffer.getLong();
+            int payloadLength = buffer.getInt();
+            if (payloadLength < 0 || payloadLength > buffer.remaining()) {
+                throw new BufferUnderflowException();
+            }
+            byte[] payload = new byte[payloadLength];
+            buffer.get(payload);
+            return new CaptureRecord(new String(topic, StandardCharsets.UTF_8), deviceTime, payload);
+        } catch (BufferUnderflowException truncated) {
+            log.warn("캡처 파일 끝이 잘려 있어 나머지 {}bytes를 건너뜁니다: {}", buffer.limit() - start, file);
+            buffer.position(buffer.limit());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+/**
+ * 캡처 파일의 레코드 하나입니다.
+ *
+ * @param topic      MQTT 토픽
+ * @param deviceTime 디바이스가 보고한 측정 시각 (epoch millis)
+ * @param payload    수신한 원본 페이로드
+ */
+public record CaptureRecord(String topic, long deviceTime, byte[] payload) {
+}
@@ -0,0 +1,206 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 실시간으로 처리한 메시지를 {@link CaptureFormat} 캡처 파일에 기록합니다 ({@code capture.enabled=true}).
+ * <p>
+ * 레코드는 1MB 직접 버퍼에 모았다가 가득 차거나 {@code capture.flush-interval-ms}마다 파일 채널로 씁니다.
+ * 파일이 {@code capture.segment-bytes}를 넘거나 {@code capture.roll-interval-ms}가 지나면 새 파일로 넘어가므로,
+ * 장애 구간에 해당하는 파일만 골라 {@link ReplayService}로 다시 처리할 수 있습니다.
+ * 기록에 실패해도 메시지 처리는 계속하며 실패 건수만 집계합니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CaptureRecorder {
+
+    private static final int BUFFER_BYTES = 1024 * 1024;
+
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentBytes;
+    private final long rollIntervalMs;
+    private final LongSupplier clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private ByteBuffer buffer;
+    private FileChannel channel;
+    private long written;
+    private long openedAt;
+    private long sequence;
+
+    @Autowired
+    public CaptureRecorder(
+            @Value("${capture.enabled:false}") boolean enabled,
+            @Value("${capture.dir:${java.io.tmpdir}/data-processor-capture}") String directory,
+            @Value("${capture.segment-bytes:268435456}") long segmentBytes,
+            @Value("${capture.roll-interval-ms:3600000}") long rollIntervalMs) {
+        this(enabled, Path.of(directory), segmentBytes, rollIntervalMs, System::currentTimeMillis);
+    }
+
+    CaptureRecorder(boolean enabled, Path directory, long segmentBytes, long rollIntervalMs, LongSupplier clock) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = Math.clamp(segmentBytes, CaptureFormat.HEADER_BYTES + 1L, CaptureFormat.MAX_SEGMENT_BYTES);
+        this.rollIntervalMs = rollIntervalMs;
+        this.clock = clock;
+        if (enabled) {
+            log.info("🎙️ 메시지 캡처 기록: dir={}, segment={}bytes, roll={}ms", directory, this.segmentBytes, rollIntervalMs);
+        }
+    }
+
+    /**
+     * 기록하지 않는 recorder (테스트/벤치마크용)
+     */
+    public static CaptureRecorder disabled() {
+        return new CaptureRecorder(false, Path.of("."), CaptureFormat.MAX_SEGMENT_BYTES, 0, System::currentTimeMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 레코드 하나를 버퍼에 추가합니다. 수집 워커 스레드에서 호출됩니다.
+     */
+    public void record(String topic, long deviceTime, byte[] payload) {
+        if (!enabled) {
+            return;
+        }
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        int size = CaptureFormat.RECORD_OVERHEAD + topicBytes.length + payload.length;
+        lock.lock();
+        try {
+            if (channel == null || written + size > segmentBytes || clock.getAsLong() - openedAt >= rollIntervalMs) {
+                roll();
+            }
+            ByteBuffer target = buffer;
+            if (target.remaining() < size) {
+                writeBuffer();
+                if (target.remaining() < size) {
+                    target = ByteBuffer.allocate(size);
+                }
+            }
+            target.putShort((short) topicBytes.length)
+                    .put(topicBytes)
+                    .putLong(deviceTime)
+                    .putInt(payload.length)
+                    .put(payload);
+            if (target != buffer) {
+                writeFully(target.flip());
+            }
+            written += size;
+            recorded.increment();
+        } catch (IOException e) {
+            failed.increment();
+            log.error("캡처 기록 실패, 현재 파일을 닫고 다음 레코드부터 새 파일에 기록합니다", e);
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        closeChannel();
+        if (buffer == null) {
+            buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        }
+        Files.createDirectories(directory);
+        openedAt = clock.getAsLong();
+        Path file = directory.resolve(String.format("capture-%d-%06d%s", openedAt, sequence++, CaptureFormat.SUFFIX));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        buffer.putInt(CaptureFormat.MAGIC).putShort(CaptureFormat.VERSION);
+        written = CaptureFormat.HEADER_BYTES;
+        log.info("🎙️ 캡처 파일 시작: {}", file);
+    }
+
+    private void writeBuffer() throws IOException {
+        if (channel != null && buffer.position() > 0) {
+            writeFully(buffer.flip());
+        }
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            writeBuffer();
+            channel.close();
+        } catch (IOException e) {
+            failed.increment();
+            log.warn("캡처 파일 닫기 실패", e);
+        } finally {
+            channel = null;
+            buffer.clear();
+        }
+    }
+
+    /**
+     * 버퍼에 모인 레코드를 파일로 씁니다. 프로세스가 죽어도 최대 이 주기만큼만 잃습니다.
+     */
+    @Scheduled(fixedDelayString = "${capture.flush-interval-ms:1000}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            writeBuffer();
+        } catch (IOException e) {
+            failed.increment();
+            log.error("캡처 버퍼 기록 실패", e);
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            closeChannel();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long recordedCount() {
+        return recorded.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+}
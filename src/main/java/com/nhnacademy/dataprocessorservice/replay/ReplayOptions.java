@@ -0,0 +1,26 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import lombok.Builder;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@link ReplayService}의 재처리 설정입니다.
+ *
+ * @param paths           캡처 파일 또는 캡처 파일이 든 디렉터리, 디렉터리는 파일 이름순(기록 순서)으로 읽음
+ * @param maxRatePerSec   초당 최대 재처리 메시지 수, 0 이하면 제한 없음
+ * @param dispatchToModel false면 모델 서비스로 전송하지 않고 InfluxDB에만 반영
+ * @param fromMillis      이 측정 시각 이상인 레코드만 처리 (레코드 헤더로 판단, 페이로드는 파싱하지 않음)
+ * @param toMillis        이 측정 시각 미만인 레코드만 처리
+ * @param parallelism     처리 워커 수, 같은 (위치, 센서 종류) 시계열은 같은 워커로 보내 시계열별 순서를 유지
+ */
+@Builder
+public record ReplayOptions(
+        List<Path> paths,
+        double maxRatePerSec,
+        boolean dispatchToModel,
+        long fromMillis,
+        long toMillis,
+        int parallelism) {
+}
@@ -0,0 +1,72 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * {@code replay.files}가 지정되면 기동 직후 캡처 파일을 재처리하고, 기본적으로 끝나면 프로세스를 종료합니다.
+ * <p>
+ * 실시간 수신과 섞이지 않도록 {@code mqtt.auto-startup=false}와 함께 별도 프로세스로 실행하는 것을 권장합니다.
+ * 종료 시 컨텍스트를 닫으면서 InfluxDB writer에 남은 배치를 모두 비우며, 실패한 레코드가 있으면 종료 코드 1을 반환합니다.
+ * AOT 빌드에서는 빈 조건이 빌드 시점에 고정되므로, 조건부 빈 대신 실행 시점에 {@code replay.files}를 확인합니다.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReplayRunner implements ApplicationRunner {
+
+    private final ReplayService replayService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${replay.files:}")
+    private String files;
+
+    @Value("${replay.max-rate:0}")
+    private double maxRatePerSec;
+
+    @Value("${replay.dispatch-model:true}")
+    private boolean dispatchToModel;
+
+    /** ISO-8601 시각 (예: 2025-01-01T00:00:00Z), 비우면 제한 없음 */
+    @Value("${replay.from:}")
+    private String from;
+
+    @Value("${replay.to:}")
+    private String to;
+
+    @Value("${replay.parallelism:0}")
+    private int parallelism;
+
+    @Value("${replay.exit-on-complete:true}")
+    private boolean exitOnComplete;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (files.isBlank()) {
+            return;
+        }
+        ReplayService.Result result = replayService.replay(ReplayOptions.builder()
+                .paths(Arrays.stream(files.split(",")).map(String::trim).filter(s -> !s.isEmpty()).map(Path::of).toList())
+                .maxRatePerSec(maxRatePerSec)
+                .dispatchToModel(dispatchToModel)
+                .fromMillis(from.isBlank() ? 0 : Instant.parse(from).toEpochMilli())
+                .toMillis(to.isBlank() ? 0 : Instant.parse(to).toEpochMilli())
+                .parallelism(parallelism)
+                .build());
+        if (exitOnComplete) {
+            log.info("⏪ 재처리가 끝나 종료합니다");
+            System.exit(SpringApplication.exit(context, () -> result.failed() > 0 ? 1 : 0));
+        }
+    }
+}
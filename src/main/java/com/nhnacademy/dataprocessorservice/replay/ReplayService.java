@@ -0,0 +1,170 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import com.nhnacademy.dataprocessorservice.influx.TumblingAggregator;
+import com.nhnacademy.dataprocessorservice.service.MqttSubscriberService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 캡처 파일의 메시지를 MQTT를 거치지 않고 {@link MqttSubscriberService}의 처리 경로로 다시 흘려 보냅니다 (장애 구간 백필).
+ * <p>
+ * 호출 스레드가 {@link CaptureReader}로 파일을 순서대로 읽고, (위치, 센서 종류) 시계열 키의 해시로 정한 워커의 bounded 큐에 넘깁니다.
+ * 한 시계열에 섞이는 여러 디바이스 토픽이 같은 워커에서 기록 순서대로 처리되므로, 다운샘플 윈도우가 워커 간 속도 차로 먼저 닫히지 않습니다.
+ * 워커가 밀리면 읽기가 멈추므로 메모리 사용량은 큐 크기로 제한되며, {@code maxRatePerSec}를 주면 읽기 속도를 그 이하로 맞춥니다.
+ * 다운샘플 집계는 재처리마다 새로 만든 측정 시각 기준 집계기에 누적하고, 모든 워커가 끝난 뒤 남은 윈도우를 내보냅니다.
+ * InfluxDB는 같은 measurement/tag/시각의 포인트를 덮어쓰므로 같은 구간을 여러 번 재처리해도 원본 포인트는 중복되지 않습니다.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReplayService {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final long PROGRESS_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final CaptureRecord END = new CaptureRecord("", 0, new byte[0]);
+
+    private final MqttSubscriberService subscriber;
+
+    /**
+     * 재처리 결과입니다.
+     *
+     * @param files     읽은 캡처 파일 수
+     * @param read      읽은 레코드 수
+     * @param filtered  시간 범위 밖이라 건너뛴 레코드 수
+     * @param processed 처리 경로를 통과한 레코드 수 (미지원 종류/중복으로 건너뛴 경우 포함)
+     * @param failed    파싱/저장 실패로 예외가 난 레코드 수
+     * @param elapsedMs 소요 시간
+     */
+    public record Result(int files, long read, long filtered, long processed, long failed, long elapsedMs) {
+
+        public double ratePerSec() {
+            return elapsedMs == 0 ? read : read * 1000.0 / elapsedMs;
+        }
+    }
+
+    /**
+     * 모든 레코드를 처리할 때까지 호출 스레드를 붙잡습니다.
+     */
+    public Result replay(ReplayOptions options) throws IOException, InterruptedException {
+        List<Path> files = resolveFiles(options.paths());
+        int parallelism = options.parallelism() > 0 ? options.parallelism() : Runtime.getRuntime().availableProcessors();
+        log.info("⏪ 재처리 시작: files={}, parallelism={}, maxRate={}/s, dispatchToModel={}",
+                files.size(), parallelism, options.maxRatePerSec(), options.dispatchToModel());
+
+        LongAdder processed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        TumblingAggregator aggregates = subscriber.newBackfillAggregator();
+        List<BlockingQueue<CaptureRecord>> queues = new ArrayList<>(parallelism);
+        List<Thread> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<CaptureRecord> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            queues.add(queue);
+            workers.add(Thread.ofPlatform().name("replay-worker-" + i)
+                    .start(() -> runWorker(queue, options.dispatchToModel(), aggregates, processed, failed)));
+        }
+
+        long start = System.nanoTime();
+        long read = 0;
+        long filtered = 0;
+        long intervalNanos = options.maxRatePerSec() > 0 ? (long) (1_000_000_000L / options.maxRatePerSec()) : 0;
+        long nextAt = start;
+        long nextProgressAt = start + PROGRESS_LOG_INTERVAL_NANOS;
+        try {
+            for (Path file : files) {
+                CaptureReader reader = CaptureReader.open(file);
+                CaptureRecord record;
+                while ((record = reader.next()) != null) {
+                    read++;
+                    if (!inRange(record.deviceTime(), options)) {
+                        filtered++;
+                        continue;
+                    }
+                    if (intervalNanos > 0) {
+                        long wait = nextAt - System.nanoTime();
+                        if (wait > 0) {
+                            TimeUnit.NANOSECONDS.sleep(wait);
+                        }
+                        nextAt = Math.max(nextAt, System.nanoTime() - intervalNanos) + intervalNanos;
+                    }
+                    String series = subscriber.seriesKeyOf(record.topic());
+                    queues.get((series.hashCode() & Integer.MAX_VALUE) % parallelism).put(record);
+                    if (System.nanoTime() - nextProgressAt > 0) {
+                        nextProgressAt += PROGRESS_LOG_INTERVAL_NANOS;
+                        log.info("⏪ 재처리 진행: read={}, processed={}, failed={}, file={}",
+                                read, processed.sum(), failed.sum(), file.getFileName());
+                    }
+                }
+            }
+        } finally {
+            for (BlockingQueue<CaptureRecord> queue : queues) {
+                queue.put(END);
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            if (aggregates != null) {
+                aggregates.close();
+            }
+        }
+
+        Result result = new Result(files.size(), read, filtered, processed.sum(), failed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("⏪ 재처리 완료: {} ({}/s)", result, Math.round(result.ratePerSec()));
+        return result;
+    }
+
+    private void runWorker(BlockingQueue<CaptureRecord> queue, boolean dispatchToModel, TumblingAggregator aggregates,
+                           LongAdder processed, LongAdder failed) {
+        try {
+            CaptureRecord record;
+            while ((record = queue.take()) != END) {
+                try {
+                    subscriber.replayMessage(record.topic(), record.payload(), dispatchToModel, aggregates);
+                    processed.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean inRange(long deviceTime, ReplayOptions options) {
+        return (options.fromMillis() <= 0 || deviceTime >= options.fromMillis())
+                && (options.toMillis() <= 0 || deviceTime < options.toMillis());
+    }
+
+    /**
+     * 디렉터리는 안의 캡처 파일을 이름순으로 펼칩니다.
+     */
+    static List<Path> resolveFiles(List<Path> paths) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path path : paths) {
+            if (!Files.isDirectory(path)) {
+                files.add(path);
+                continue;
+            }
+            List<Path> captured = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path, "*" + CaptureFormat.SUFFIX)) {
+                stream.forEach(captured::add);
+            }
+            captured.sort(null);
+            files.addAll(captured);
+        }
+        return files;
+    }
+}
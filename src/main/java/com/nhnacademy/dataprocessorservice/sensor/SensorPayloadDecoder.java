@@ -0,0 +1,109 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException.Reason;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * MQTT 페이로드 바이트를 Jackson 스트리밍 파서로 직접 읽어 {@link SensorReading}을 만듭니다.
+ * <p>
+ * 문자열 변환이나 {@code SensorDataDto}/{@code LinkedHashMap} 바인딩 없이
+ * {@code time}과 센서 종류에 해당하는 수치만 primitive로 추출합니다.
+ * 지원하는 형태는 다음 두 가지입니다.
+ * <pre>
+ * {"time": 1700000000000, "value": 23.5}
+ * {"time": 1700000000000, "value": {"temperature": 23.5, "humidity": 40}}
+ * </pre>
+ * </p>
+ */
+@Component
+public class SensorPayloadDecoder {
+
+    private static final String TIME = "time";
+    private static final String VALUE = "value";
+
+    private final JsonFactory jsonFactory;
+
+    public SensorPayloadDecoder(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * 페이로드에서 시각과 센서 값을 추출합니다.
+     *
+     * @param payload MQTT 원본 페이로드 (UTF-8 JSON)
+     * @param typeId  중첩 value 객체에서 찾을 센서 종류 식별자
+     * @throws InvalidPayloadException JSON 형식이 잘못되었거나 값을 찾지 못한 경우
+     */
+    public SensorReading decode(byte[] payload, String typeId) {
+        try (JsonParser parser = jsonFactory.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidPayloadException(Reason.NOT_OBJECT, "JSON 파싱 실패: 객체가 아닙니다");
+            }
+
+            long time = 0;
+            double value = 0;
+            boolean hasValue = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (TIME.equals(field)) {
+                    time = readTime(parser, token);
+                } else if (VALUE.equals(field)) {
+                    if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                        value = parser.getDoubleValue();
+                        hasValue = true;
+                    } else if (token == JsonToken.START_OBJECT) {
+                        hasValue = false;
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String inner = parser.currentName();
+                            JsonToken innerToken = parser.nextToken();
+                            if (typeId.equals(inner) && innerToken.isNumeric()) {
+                                value = parser.getDoubleValue();
+                                hasValue = true;
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                        hasValue = false;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (!hasValue) {
+                throw new InvalidPayloadException(Reason.MISSING_VALUE, "지원되지 않는 value 타입");
+            }
+            return new SensorReading(time, value);
+        } catch (IOException e) {
+            throw new InvalidPayloadException(Reason.MALFORMED_JSON, "JSON 파싱 실패: " + e.getMessage());
+        }
+    }
+
+    private long readTime(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getLongValue();
+            case VALUE_STRING -> parseLong(parser.getText());
+            case VALUE_NULL -> 0L;
+            default -> throw new InvalidPayloadException(Reason.BAD_TIME, "JSON 파싱 실패: time 형식 오류");
+        };
+    }
+
+    private long parseLong(String text) {
+        try {
+            return Long.parseLong(text.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPayloadException(Reason.BAD_TIME, "JSON 파싱 실패: time 형식 오류 " + text);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+/**
+ * 페이로드에서 추출한 단일 센서 측정값입니다.
+ *
+ * @param time  디바이스가 보고한 측정 시각 (epoch millis)
+ * @param value 측정값
+ */
+public record SensorReading(long time, double value) {
+}
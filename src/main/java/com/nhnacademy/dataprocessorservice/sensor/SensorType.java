@@ -0,0 +1,29 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 기본 제공 센서 종류와 표시 이름, 단위, 모델 전송 여부를 정의합니다.
+ * <p>
+ * {@link SensorTypeRegistry}가 이 값을 기본값으로 쓰고 {@code sensor.types.*} 설정으로 덮어쓰거나 종류를 추가합니다.
+ * 기본 종류에는 유효 범위를 두지 않아 이전처럼 모든 값을 기록하며, 범위는 {@code sensor.types.<id>.min/max}로만 지정합니다.
+ * 기본 종류의 레지스트리 인덱스는 {@link #ordinal()}과 같습니다.
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SensorType {
+    TEMPERATURE("temperature", "온도", "℃", true),
+    HUMIDITY("humidity", "습도", "%", true),
+    CO2("co2", "이산화탄소", "ppm", true),
+    BATTERY("battery", "배터리", "%", false),
+    ILLUMINATION("illumination", "조도", "Lux", false);
+
+    /** 토픽 마지막 세그먼트 및 InfluxDB type 태그로 쓰이는 식별자 */
+    private final String id;
+    private final String displayName;
+    private final String unit;
+    /** 모델 서비스로 전달할지 여부 */
+    private final boolean modelEligible;
+}
@@ -0,0 +1,33 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
+
+/**
+ * 레지스트리에 등록된 센서 종류 하나의 처리 규칙입니다.
+ *
+ * @param index         레지스트리 안에서 고정된 0부터의 번호, 종류별 배열 인덱스로 사용 (기본 종류는 enum ordinal)
+ * @param id            토픽 마지막 세그먼트 및 InfluxDB type 태그로 쓰이는 식별자
+ * @param displayName   로그 표시 이름
+ * @param unit          단위
+ * @param min           유효 범위 하한 (포함)
+ * @param max           유효 범위 상한 (포함)
+ * @param modelEligible 모델 서비스로 전달할지 여부
+ * @param storage       InfluxDB 기록 정책, 집계가 꺼져 있으면 집계 대신 원본으로 기록
+ */
+public record SensorTypeDescriptor(
+        int index,
+        String id,
+        String displayName,
+        String unit,
+        double min,
+        double max,
+        boolean modelEligible,
+        WritePolicy storage) {
+
+    /**
+     * 값이 유효 범위 안에 있는지 확인합니다. NaN은 항상 범위 밖입니다.
+     */
+    public boolean accepts(double value) {
+        return value >= min && value <= max;
+    }
+}
@@ -0,0 +1,162 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.nhnacademy.dataprocessorservice.influx.DownsampleOptions;
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 처리할 센서 종류와 종류별 규칙(단위, 유효 범위, 모델 전송 여부, 기록 정책)을 관리합니다.
+ * <p>
+ * {@link SensorType} 기본값 위에 {@code sensor.types.<id>.*} 설정을 덮어써 만들며,
+ * {@code /actuator/refresh}로 해당 설정이 바뀌면 재배포 없이 다시 읽습니다.
+ * 종류마다 한 번 정한 {@link SensorTypeDescriptor#index()}는 갱신 후에도 유지되므로 종류별 배열의 위치가 바뀌지 않습니다.
+ * 조회 테이블은 통째로 교체하고 {@link #generation()}을 올려, 캐시된 토픽 해석이 다음 조회 때 새 규칙으로 갱신되게 합니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SensorTypeRegistry {
+
+    static final String PREFIX = "sensor.types";
+
+    private final Environment environment;
+    private final WritePolicy defaultStorage;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    private volatile Table table;
+
+    @Autowired
+    public SensorTypeRegistry(Environment environment, DownsampleOptions downsampleOptions) {
+        this.environment = environment;
+        this.defaultStorage = downsampleOptions.policy();
+        reserveBuiltInIndexes();
+        reload(bind());
+    }
+
+    SensorTypeRegistry(Map<String, SensorTypeSpec> specs, WritePolicy defaultStorage) {
+        this.environment = null;
+        this.defaultStorage = defaultStorage;
+        reserveBuiltInIndexes();
+        reload(specs);
+    }
+
+    /**
+     * 설정 없이 기본 종류만 등록한 레지스트리 (벤치마크/도구용)
+     */
+    public static SensorTypeRegistry defaults() {
+        return new SensorTypeRegistry(Map.of(), WritePolicy.RAW);
+    }
+
+    private void reserveBuiltInIndexes() {
+        for (SensorType type : SensorType.values()) {
+            indexes.put(type.getId(), type.ordinal());
+        }
+    }
+
+    /**
+     * @return 등록되지 않았거나 비활성화된 종류면 null
+     */
+    public SensorTypeDescriptor find(String id) {
+        return table.byId.get(id);
+    }
+
+    /**
+     * @return 해당 인덱스의 종류가 비활성화되었으면 null
+     */
+    public SensorTypeDescriptor get(int index) {
+        SensorTypeDescriptor[] byIndex = table.byIndex;
+        return index < byIndex.length ? byIndex[index] : null;
+    }
+
+    /** 지금까지 배정된 인덱스 수 (종류별 배열 크기) */
+    public int capacity() {
+        return table.byIndex.length;
+    }
+
+    public List<SensorTypeDescriptor> all() {
+        List<SensorTypeDescriptor> all = new ArrayList<>();
+        for (SensorTypeDescriptor descriptor : table.byIndex) {
+            if (descriptor != null) {
+                all.add(descriptor);
+            }
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    /** 규칙이 다시 로드될 때마다 증가 */
+    public long generation() {
+        return table.generation;
+    }
+
+    @EventListener(EnvironmentChangeEvent.class)
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (environment == null || event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX + "."))) {
+            return;
+        }
+        reload(bind());
+    }
+
+    private Map<String, SensorTypeSpec> bind() {
+        return Binder.get(environment)
+                .bind(PREFIX, Bindable.mapOf(String.class, SensorTypeSpec.class))
+                .orElse(Map.of());
+    }
+
+    synchronized void reload(Map<String, SensorTypeSpec> specs) {
+        Map<String, SensorTypeDescriptor> byId = new LinkedHashMap<>();
+        for (SensorType type : SensorType.values()) {
+            byId.put(type.getId(), new SensorTypeDescriptor(type.ordinal(), type.getId(), type.getDisplayName(),
+                    type.getUnit(), Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, type.isModelEligible(),
+                    defaultStorage));
+        }
+        specs.forEach((id, spec) -> {
+            if (Boolean.FALSE.equals(spec.enabled())) {
+                byId.remove(id);
+                return;
+            }
+            byId.put(id, merge(id, byId.get(id), spec));
+        });
+
+        SensorTypeDescriptor[] byIndex = new SensorTypeDescriptor[indexes.size()];
+        for (SensorTypeDescriptor descriptor : byId.values()) {
+            byIndex[descriptor.index()] = descriptor;
+            if (descriptor.storage().writesAggregated() && !defaultStorage.writesAggregated()) {
+                log.warn("센서 종류 {}의 storage={}이지만 다운샘플링이 꺼져 있어(influxdb.write-policy={}) 원본으로 기록합니다",
+                        descriptor.id(), descriptor.storage(), defaultStorage);
+            }
+        }
+        Table previous = table;
+        table = new Table(previous == null ? 0 : previous.generation + 1, byIndex, Map.copyOf(byId));
+        log.info("🧭 센서 종류 로드: generation={}, types={}", table.generation, byId.keySet());
+    }
+
+    private SensorTypeDescriptor merge(String id, SensorTypeDescriptor base, SensorTypeSpec spec) {
+        int index = indexes.computeIfAbsent(id, key -> indexes.size());
+        return new SensorTypeDescriptor(
+                index,
+                id,
+                spec.displayName() != null ? spec.displayName() : base != null ? base.displayName() : id,
+                spec.unit() != null ? spec.unit() : base != null ? base.unit() : "",
+                spec.min() != null ? spec.min() : base != null ? base.min() : Double.NEGATIVE_INFINITY,
+                spec.max() != null ? spec.max() : base != null ? base.max() : Double.POSITIVE_INFINITY,
+                spec.model() != null ? spec.model() : base != null && base.modelEligible(),
+                spec.storage() != null ? spec.storage() : defaultStorage);
+    }
+
+    private record Table(long generation, SensorTypeDescriptor[] byIndex, Map<String, SensorTypeDescriptor> byId) {
+    }
+}
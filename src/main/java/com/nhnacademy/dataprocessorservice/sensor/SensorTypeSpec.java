@@ -0,0 +1,24 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
+
+/**
+ * {@code sensor.types.<id>.*} 설정 한 항목입니다. 지정하지 않은 값은 null이며 기본값을 유지합니다.
+ *
+ * @param displayName 로그 표시 이름 (새 종류의 기본값은 id)
+ * @param unit        단위 (새 종류의 기본값은 빈 문자열)
+ * @param min         유효 범위 하한 (새 종류의 기본값은 제한 없음)
+ * @param max         유효 범위 상한 (새 종류의 기본값은 제한 없음)
+ * @param model       모델 서비스로 전달할지 여부 (새 종류의 기본값은 false)
+ * @param storage     InfluxDB 기록 정책 (기본값은 {@code influxdb.write-policy})
+ * @param enabled     false면 기본 종류라도 처리하지 않음
+ */
+public record SensorTypeSpec(
+        String displayName,
+        String unit,
+        Double min,
+        Double max,
+        Boolean model,
+        WritePolicy storage,
+        Boolean enabled) {
+}
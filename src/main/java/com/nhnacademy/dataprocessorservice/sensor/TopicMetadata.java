@@ -0,0 +1,19 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+/**
+ * 토픽 문자열에서 한 번만 해석해 두는 위치/센서 정보입니다.
+ *
+ * @param topic    원본 MQTT 토픽
+ * @param location 토픽 끝에서 세 번째 세그먼트
+ * @param type     레지스트리에 등록된 센서 종류, 등록되지 않았거나 비활성화된 종류면 null
+ */
+public record TopicMetadata(String topic, String location, SensorTypeDescriptor type) {
+
+    public boolean isSupported() {
+        return type != null;
+    }
+
+    public String unit() {
+        return type == null ? "" : type.unit();
+    }
+}
@@ -0,0 +1,136 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 토픽별 {@link TopicMetadata}를 캐시합니다.
+ * <p>
+ * 캐시 적중 시에는 맵 조회 한 번으로 끝나며 split/substring 등의 할당이 없습니다.
+ * 지원하지 않는 센서 종류도 함께 캐시해 매번 다시 해석하지 않습니다.
+ * 최대 크기를 넘으면 second-chance(CLOCK) 방식으로 최근 참조되지 않은 토픽부터 제거합니다.
+ * {@link SensorTypeRegistry}가 다시 로드되면 이전 세대에 해석한 항목은 다음 조회 때 새 규칙으로 다시 해석하므로,
+ * 새로 추가한 센서 종류의 토픽이 미지원으로 캐시된 채 남지 않습니다.
+ * </p>
+ */
+@Slf4j
+@Component
+public class TopicMetadataCache {
+
+    private final SensorTypeRegistry sensorTypes;
+    private final int maxSize;
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TopicMetadataCache(SensorTypeRegistry sensorTypes, @Value("${topic-cache.max-size:10000}") int maxSize) {
+        this.sensorTypes = sensorTypes;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * 토픽의 위치와 센서 종류를 반환합니다.
+     *
+     * @throws InvalidPayloadException 토픽 세그먼트가 3개 미만인 경우
+     */
+    public TopicMetadata resolve(String topic) {
+        long generation = sensorTypes.generation();
+        Entry entry = entries.get(topic);
+        if (entry != null && entry.generation == generation) {
+            hits.increment();
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.metadata;
+        }
+
+        misses.increment();
+        TopicMetadata metadata = parse(topic);
+        if (entry == null && entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(topic, new Entry(metadata, generation));
+        return metadata;
+    }
+
+    private TopicMetadata parse(String topic) {
+        // "…/{location}/{device}/{type}" 형태에서 끝에서 세 번째 세그먼트가 위치
+        int typeSlash = topic.lastIndexOf('/');
+        int deviceSlash = typeSlash > 0 ? topic.lastIndexOf('/', typeSlash - 1) : -1;
+        if (deviceSlash < 0) {
+            throw new InvalidPayloadException(InvalidPayloadException.Reason.TOPIC_FORMAT, "토픽 형식 오류: " + topic);
+        }
+        int locationSlash = deviceSlash > 0 ? topic.lastIndexOf('/', deviceSlash - 1) : -1;
+        String location = topic.substring(locationSlash + 1, deviceSlash);
+        SensorTypeDescriptor type = sensorTypes.find(topic.substring(typeSlash + 1));
+        return new TopicMetadata(topic, location, type);
+    }
+
+    /**
+     * 참조 비트가 꺼진 항목을 제거하고, 살아남은 항목은 참조 비트를 끕니다.
+     * 동시에 여러 스레드가 들어오면 한 스레드만 정리하고 나머지는 그대로 진행합니다.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int target = maxSize - Math.max(1, maxSize / 10);
+            while (entries.size() > target) {
+                Iterator<Entry> it = entries.values().iterator();
+                while (it.hasNext() && entries.size() > target) {
+                    Entry entry = it.next();
+                    if (entry.referenced) {
+                        entry.referenced = false;
+                    } else {
+                        it.remove();
+                        evictions.increment();
+                    }
+                }
+            }
+            log.debug("토픽 캐시 정리: size={}, evictions={}", entries.size(), evictions.sum());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private static final class Entry {
+        private final TopicMetadata metadata;
+        private final long generation;
+        private volatile boolean referenced;
+
+        private Entry(TopicMetadata metadata, long generation) {
+            this.metadata = metadata;
+            this.generation = generation;
+        }
+    }
+}
@@ -3,23 +3,161 @@ package com.nhnacademy.dataprocessorservice.service;
 import com.influxdb.client.WriteApi;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
-import lombok.RequiredArgsConstructor;
+import com.nhnacademy.dataprocessorservice.influx.DownsampleOptions;
+import com.nhnacademy.dataprocessorservice.influx.LineProtocolWriter;
+import com.nhnacademy.dataprocessorservice.influx.TumblingAggregator;
+import com.nhnacademy.dataprocessorservice.influx.WindowAggregate;
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+/**
+ * 센서 값을 InfluxDB {@code sensor} measurement에 기록합니다.
+ * <p>
+ * {@link LineProtocolWriter}가 기동되어 있으면 line protocol 배치 경로를,
+ * 아니면 InfluxDB 클라이언트의 {@link WriteApi} 경로를 사용합니다.
+ * {@link WritePolicy}가 집계를 포함하면 {@link TumblingAggregator}로 다운샘플링한 윈도우 집계를
+ * 별도 measurement에 함께(또는 원본 대신) 기록합니다.
+ * 캡처 파일 재처리는 실시간 집계기를 건드리지 않도록 {@link #newBackfillAggregator()}로 만든 측정 시각 기준 집계기에 누적합니다.
+ * </p>
+ */
 @Service
-@RequiredArgsConstructor
 public class InfluxService {
 
+    private static final String MEASUREMENT = "sensor";
+
     private final WriteApi writeApi;
+    private final LineProtocolWriter lineProtocolWriter;
+    private final boolean useLineProtocol;
+    private final WritePolicy policy;
+    private final String aggregateMeasurement;
+    private final DownsampleOptions downsampleOptions;
+    private final TumblingAggregator aggregator;
+
+    @Autowired
+    public InfluxService(WriteApi writeApi, LineProtocolWriter lineProtocolWriter, DownsampleOptions downsampleOptions) {
+        this.writeApi = writeApi;
+        this.lineProtocolWriter = lineProtocolWriter;
+        this.useLineProtocol = lineProtocolWriter != null && lineProtocolWriter.isRunning();
+        this.policy = downsampleOptions == null ? WritePolicy.RAW : downsampleOptions.policy();
+        this.downsampleOptions = downsampleOptions;
+        if (policy.writesAggregated()) {
+            this.aggregateMeasurement = downsampleOptions.measurement();
+            this.aggregator = new TumblingAggregator(downsampleOptions, this::writeAggregate);
+            this.aggregator.start();
+        } else {
+            this.aggregateMeasurement = null;
+            this.aggregator = null;
+        }
+    }
+
+    public InfluxService(WriteApi writeApi, LineProtocolWriter lineProtocolWriter) {
+        this(writeApi, lineProtocolWriter, null);
+    }
+
+    public InfluxService(WriteApi writeApi) {
+        this(writeApi, null, null);
+    }
 
     public void writeSensorData(String location, String sensorType, double value) {
+        writeSensorData(location, sensorType, value, System.currentTimeMillis());
+    }
+
+    /**
+     * @param timeMillis 디바이스가 보고한 측정 시각, 0 이하이면 현재 시각을 사용
+     */
+    public void writeSensorData(String location, String sensorType, double value, long timeMillis) {
+        writeSensorData(location, sensorType, value, timeMillis, policy);
+    }
+
+    /**
+     * @param timeMillis 디바이스가 보고한 측정 시각, 0 이하이면 현재 시각을 사용
+     * @param storage    센서 종류별 기록 정책, 다운샘플링이 꺼져 있으면 집계 대신 원본으로 기록
+     */
+    public void writeSensorData(String location, String sensorType, double value, long timeMillis,
+                                WritePolicy storage) {
+        write(location, sensorType, value, timeMillis, storage, aggregator);
+    }
+
+    /**
+     * 재처리 샘플을 기록합니다. 집계는 실시간 집계기 대신 재처리용 집계기에 누적합니다.
+     *
+     * @param aggregates {@link #newBackfillAggregator()}로 만든 집계기, 다운샘플링이 꺼져 있으면 null
+     */
+    public void writeBackfill(String location, String sensorType, double value, long timeMillis,
+                              WritePolicy storage, TumblingAggregator aggregates) {
+        write(location, sensorType, value, timeMillis, storage, aggregates);
+    }
+
+    private void write(String location, String sensorType, double value, long timeMillis, WritePolicy storage,
+                       TumblingAggregator aggregates) {
+        long time = timeMillis > 0 ? timeMillis : System.currentTimeMillis();
+        boolean aggregated = aggregates != null && storage.writesAggregated();
+        if (aggregated) {
+            aggregates.record(location, sensorType, value, time);
+            if (!storage.writesRaw()) {
+                return;
+            }
+        }
+        if (useLineProtocol) {
+            lineProtocolWriter.write(MEASUREMENT, location, sensorType, value, time);
+            return;
+        }
+
         Point point = Point
-                .measurement("sensor")
+                .measurement(MEASUREMENT)
                 .addTag("location", location)
                 .addTag("type", sensorType)
                 .addField("value", value)
-                .time(System.currentTimeMillis(), WritePrecision.MS);
+                .time(time, WritePrecision.MS);
+
+        writeApi.writePoint(point);
+    }
+
+    private void writeAggregate(WindowAggregate aggregate) {
+        if (useLineProtocol) {
+            lineProtocolWriter.writeAggregate(aggregateMeasurement, aggregate.location(), aggregate.type(),
+                    aggregate.min(), aggregate.max(), aggregate.mean(), aggregate.last(), aggregate.count(),
+                    aggregate.windowStart());
+            return;
+        }
+
+        Point point = Point
+                .measurement(aggregateMeasurement)
+                .addTag("location", aggregate.location())
+                .addTag("type", aggregate.type())
+                .addField("min", aggregate.min())
+                .addField("max", aggregate.max())
+                .addField("mean", aggregate.mean())
+                .addField("last", aggregate.last())
+                .addField("count", aggregate.count())
+                .time(aggregate.windowStart(), WritePrecision.MS);
 
         writeApi.writePoint(point);
     }
+
+    public TumblingAggregator aggregator() {
+        return aggregator;
+    }
+
+    /**
+     * 재처리 한 번에 쓸 집계기를 만듭니다. 벽시계로 윈도우를 닫지 않으므로 과거 샘플의 윈도우가 바로 닫히지 않으며,
+     * 재처리가 끝나면 호출자가 {@link TumblingAggregator#close()}로 남은 윈도우를 내보내야 합니다.
+     *
+     * @return 다운샘플링이 꺼져 있으면 null
+     */
+    public TumblingAggregator newBackfillAggregator() {
+        return aggregator == null ? null : new TumblingAggregator(downsampleOptions, this::writeAggregate);
+    }
+
+    /**
+     * 열린 윈도우 집계를 writer가 닫히기 전에 모두 내보냅니다.
+     */
+    @PreDestroy
+    public void flushAggregates() {
+        if (aggregator != null) {
+            aggregator.close();
+        }
+    }
 }
@@ -1,38 +1,113 @@
 package com.nhnacademy.dataprocessorservice.service;
 
+import com.nhnacademy.dataprocessorservice.model.ModelApiGuard;
+import com.nhnacademy.dataprocessorservice.model.ModelBatchDispatcher;
+import com.nhnacademy.dataprocessorservice.model.ModelCoalescingDispatcher;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeDescriptor;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeRegistry;
+import com.nhnacademy.dataprocessorservice.trace.TraceContext;
 import com.nhnacademy.traceloggermodule.logging.FlowLogger;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+
 import java.util.Map;
-import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 모델 전송 대상({@link SensorTypeDescriptor#modelEligible()})인 센서 샘플을 모델 서비스로 전달합니다.
+ * <p>
+ * {@link ModelCoalescingDispatcher}가 기동되어 있으면({@code model.dispatch-mode=coalesce}) 슬롯별 최신값만 남겨 주기적으로,
+ * {@link ModelBatchDispatcher}가 기동되어 있으면({@code model.dispatch-mode=batch}) 위치별 배치로 모아 보내고,
+ * 아니면 샘플마다 {@code modelDispatcherExecutor}에서 단건 POST 합니다.
+ * 단건 전송은 {@link ModelApiGuard}의 동시 요청 한도 안에서만 executor에 넘기고, 한도에 걸리거나 차단기가 열려 있으면
+ * 호출 스레드를 막지 않고 샘플을 버립니다 (병합 모드에서는 슬롯에 최신값만 남아 있다가 회복 후 전송됨).
+ * executor 대기열이 가득 찬 경우에도 샘플을 버립니다.
+ * </p>
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ModelDispatcherService {
-    private static final Set<String> MODEL_FIELDS = Set.of("temperature","humidity","co2");
+    private static final String SOURCE = "data-processor-service";
     private final RestTemplate restTemplate;
+    private final Executor executor;
+    private final ModelBatchDispatcher batchDispatcher;
+    private final ModelCoalescingDispatcher coalescingDispatcher;
+    private final SensorTypeRegistry sensorTypes;
+    private final ModelApiGuard guard;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shed = new LongAdder();
 
     @Value("${model.api-url}")
     private String modelApiUrl;
 
-    @Async("modelDispatcherExecutor")
+    public ModelDispatcherService(RestTemplate restTemplate,
+                                  @Qualifier("modelDispatcherExecutor") Executor executor,
+                                  ModelBatchDispatcher batchDispatcher,
+                                  ModelCoalescingDispatcher coalescingDispatcher,
+                                  SensorTypeRegistry sensorTypes,
+                                  ModelApiGuard guard) {
+        this.restTemplate = restTemplate;
+        this.executor = executor;
+        this.batchDispatcher = batchDispatcher;
+        this.coalescingDispatcher = coalescingDispatcher;
+        this.sensorTypes = sensorTypes;
+        this.guard = guard;
+    }
+
     public void dispatch(String location, String sensorType, double value) {
-        if (!MODEL_FIELDS.contains(sensorType)) return;
+        dispatch(location, sensorType, value, TraceContext.NONE);
+    }
 
-        String traceId = UUID.randomUUID().toString();
-        String source = "data-processor-service";
-        String messageId = UUID.randomUUID().toString();
+    /**
+     * @param trace 수신 메시지의 추적 컨텍스트, 샘플링된 경우에만 전송 스레드에서 MDC와 FlowLogger를 기록
+     */
+    public void dispatch(String location, String sensorType, double value, TraceContext trace) {
+        SensorTypeDescriptor type = sensorTypes.find(sensorType);
+        if (type != null) {
+            dispatch(location, type, value, trace);
+        }
+    }
+
+    /**
+     * 이미 해석한 센서 종류로 전송합니다. 메시지 처리 경로에서 종류를 다시 조회하지 않도록 사용합니다.
+     */
+    public void dispatch(String location, SensorTypeDescriptor type, double value, TraceContext trace) {
+        if (!type.modelEligible()) {
+            return;
+        }
+        String sensorType = type.id();
 
-        MDC.put("traceId", traceId);
-        MDC.put("source", source);
-        MDC.put("messageId", messageId);
+        if (coalescingDispatcher.isRunning()) {
+            coalescingDispatcher.update(location, sensorType, value);
+            return;
+        }
+        if (batchDispatcher.isRunning()) {
+            batchDispatcher.add(location, sensorType, value);
+            return;
+        }
+
+        if (!guard.tryAcquire()) {
+            shed.increment();
+            return;
+        }
+        try {
+            executor.execute(() -> send(location, sensorType, value, trace));
+        } catch (RejectedExecutionException e) {
+            guard.onIgnored();
+            rejected.increment();
+            log.warn("모델 전송 executor 포화, 샘플을 버립니다: location={}, sensor_type={}", location, sensorType);
+        }
+    }
+
+    private void send(String location, String sensorType, double value, TraceContext trace) {
+        boolean bound = trace.bindMdc(SOURCE);
 
         Map<String, Object> payload = Map.of(
                 "location", location,
@@ -40,19 +115,41 @@ public class ModelDispatcherService {
                 "value", value
         );
 
+        long start = System.nanoTime();
         try {
-            FlowLogger.log("ModelDispatcherService#dispatch", payload);
+            if (bound) {
+                FlowLogger.log("ModelDispatcherService#dispatch", payload);
+            }
 
             restTemplate.postForEntity(modelApiUrl, payload, Void.class);
-            log.info("✅ 모델 서비스 전송 성공: {}", payload);
+            guard.onSuccess(start);
+            log.debug("✅ 모델 서비스 전송 성공: {}", payload);
 
         } catch (HttpClientErrorException e) {
+            if (e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+                guard.onFailure(start);
+            } else {
+                guard.onIgnored();
+            }
             log.error("❌ 모델 서비스 4xx 에러({}): {} | payload={}",
                     e.getStatusCode(), e.getResponseBodyAsString(), payload);
         } catch (RuntimeException e) {
+            guard.onFailure(start);
             log.error("❌ 모델 서비스 호출 실패: {} | payload={}", e.getMessage(), payload);
         } finally {
-            MDC.clear();
+            if (bound) {
+                trace.clearMdc();
+            }
         }
     }
+
+    /** executor 포화로 버려진 단건 전송 수 */
+    public long rejectedSamples() {
+        return rejected.sum();
+    }
+
+    /** 동시 요청 한도 또는 차단기로 버려진 단건 전송 수 */
+    public long shedSamples() {
+        return shed.sum();
+    }
 }
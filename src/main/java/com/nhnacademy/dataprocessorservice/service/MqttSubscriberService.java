@@ -1,206 +1,228 @@
 package com.nhnacademy.dataprocessorservice.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.nhnacademy.dataprocessorservice.dto.SensorDataDto;
 import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
 import com.nhnacademy.dataprocessorservice.exception.MqttProcessingException;
+import com.nhnacademy.dataprocessorservice.influx.TumblingAggregator;
+import com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter;
+import com.nhnacademy.dataprocessorservice.ingest.IngestMessage;
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import com.nhnacademy.dataprocessorservice.logging.MessageLogBudget;
+import com.nhnacademy.dataprocessorservice.metrics.IngestPathMeters;
+import com.nhnacademy.dataprocessorservice.mqtt.MqttSubscriptionManager;
+import com.nhnacademy.dataprocessorservice.replay.CaptureRecorder;
+import com.nhnacademy.dataprocessorservice.sensor.SensorPayloadDecoder;
+import com.nhnacademy.dataprocessorservice.sensor.SensorReading;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeDescriptor;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadata;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadataCache;
+import com.nhnacademy.dataprocessorservice.stats.RollingStatsStore;
+import com.nhnacademy.dataprocessorservice.trace.TraceContext;
+import com.nhnacademy.dataprocessorservice.trace.TraceSampler;
 import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.eclipse.paho.client.mqttv3.MqttClient;
-import org.eclipse.paho.client.mqttv3.MqttException;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.Set;
-import java.util.UUID;
 
 /**
  * MQTT 메시지를 구독하고 처리하는 서비스입니다.
  * AOP를 통해 traceId와 response_time을 자동 로깅합니다.
+ * traceId는 콜백에서 발급되며, {@link TraceSampler}로 샘플링된 메시지만 MDC에 기록됩니다.
+ * <p>
+ * MQTT 연결과 구독은 {@link MqttSubscriptionManager}가 맡고, 콜백은 원본 바이트를 {@link IngestPipeline}에 적재만 하며,
+ * 실제 처리는 파이프라인 워커 스레드에서 {@link #handle(IngestMessage)}로 수행됩니다.
+ * QoS 1 재전송 등으로 다시 들어온 샘플은 {@link DuplicateFilter}가 걸러내 저장/전송하지 않습니다.
+ * 캡처 파일의 재처리({@link #replayMessage})도 같은 경로를 타지만 늦은 샘플 정책은 적용하지 않으며({@link DuplicateFilter#checkBackfill}),
+ * 실시간 메시지만 {@link CaptureRecorder}에 기록합니다. 재처리 샘플은 수신 시각 기준인 롤링 통계에 넣지 않고,
+ * 다운샘플 집계는 재처리마다 따로 만든 측정 시각 기준 집계기({@link #newBackfillAggregator()})에 누적합니다.
+ * </p>
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class MqttSubscriberService {
 
-    private final MqttClient mqttClient;
     private final InfluxService influxService;
     private final ModelDispatcherService dispatcher;
-    private final ObjectMapper objectMapper;
-
-    @Value("${mqtt.topic}")
-    private String mqttTopic;
+    private final SensorPayloadDecoder payloadDecoder;
+    private final IngestPipeline ingestPipeline;
+    private final TopicMetadataCache topicMetadataCache;
+    private final RollingStatsStore rollingStatsStore;
+    private final TraceSampler traceSampler;
+    private final MessageLogBudget messageLogBudget;
+    private final IngestPathMeters ingestPathMeters;
+    private final DuplicateFilter duplicateFilter;
+    private final CaptureRecorder captureRecorder;
 
     @Value("${spring.application.name}")
     private String serviceName; // source 필드로 사용
 
-    private static final int QOS = 1;
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.of("Asia/Seoul"));
     private long lastMessageReceived;
 
     /**
-     * 애플리케이션 시작 시 구독을 설정합니다.
+     * 애플리케이션 시작 시 수집 파이프라인을 기동합니다.
+     * MQTT 연결은 컨텍스트 기동이 끝난 뒤 {@link MqttSubscriptionManager}가 열므로 초기 수신분이 버려지지 않습니다.
      */
     @PostConstruct
-    public void subscribe() {
+    public void start() {
         lastMessageReceived = System.currentTimeMillis();
-        connectAndSubscribe();
+        ingestPipeline.start(this::handle);
     }
 
-    private void connectAndSubscribe() {
+    /**
+     * 파이프라인 워커 스레드에서 호출되어 큐에서 꺼낸 메시지를 처리합니다.
+     *
+     * @param message 큐에 적재된 원본 메시지
+     */
+    public void handle(IngestMessage message) {
+        TraceContext trace = traceSampler.contextOf(message.traceId());
+        boolean bound = trace.bindMdc(serviceName);
         try {
-            if (!mqttClient.isConnected()) {
-                mqttClient.connect();
-                log.info("🔌 MQTT 연결됨: {}", mqttClient.getServerURI());
-            }
-
-            String[] topics = mqttTopic.split(",");
-            for (String topic : topics) {
-                mqttClient.subscribe(topic.trim(), QOS, (t, msg) -> {
-                    try {
-                        // ✅ Trace 정보 수동 주입
-                        MDC.put("traceId", UUID.randomUUID().toString());
-                        MDC.put("source", serviceName);
-                        MDC.put("messageId", UUID.randomUUID().toString());
-
-                        String payload = new String(msg.getPayload());
-                        // ✅ 프록시 호출 말고 그냥 직접 처리
-                        processMessage(t, payload);
-
-                    } catch (Exception e) {
-                        log.error("🔥 메시지 처리 실패", e);
-                    } finally {
-                        MDC.clear(); // ✅ 깨끗하게 정리
-                    }
-                });
+            processMessage(message.topic(), message.payload(), trace);
+        } catch (MqttProcessingException e) {
+            // 원인별 로그는 process에서 한 번만 남김
+        } catch (Exception e) {
+            log.error("🔥 메시지 처리 실패", e);
+        } finally {
+            if (bound) {
+                trace.clearMdc();
             }
-
-            log.info("🚀 MQTT 구독 완료: {}", Arrays.toString(topics));
-
-        } catch (MqttException e) {
-            log.error("❌ MQTT 구독 실패", e);
         }
     }
 
+    /**
+     * 메시지를 추적 없이 처리합니다.
+     *
+     * @param topic   MQTT 토픽
+     * @param payload 메시지 페이로드 JSON (UTF-8 바이트)
+     */
+    public void processMessage(String topic, byte[] payload) {
+        processMessage(topic, payload, TraceContext.NONE);
+    }
 
     /**
      * 메시지를 처리하고 AOP 어드바이스를 트리거합니다.
+     * MDC는 호출자({@link #handle(IngestMessage)})가 샘플링된 메시지에 대해서만 채웁니다.
+     * 메시지 단위 로그는 {@link MessageLogBudget}이 허용한 메시지에 대해서만 남깁니다.
      *
      * @param topic   MQTT 토픽
-     * @param payload 메시지 페이로드 JSON
+     * @param payload 메시지 페이로드 JSON (UTF-8 바이트)
+     * @param trace   콜백에서 시작된 추적 컨텍스트, 모델 전송까지 전달됨
      */
-    public void processMessage(String topic, String payload) {
-        MDC.put("messageId", UUID.randomUUID().toString());
-
-        try {
-            log.info("📩 수신: topic={} | payload={}", topic, payload);
-
-            SensorDataDto dto = parsePayload(payload);
-            String location = extractLocation(topic);
-            String sensorType = extractType(topic);
-
-            if (sensorType == null) {
-                return;
-            }
-
-            double value = extractValue(dto, sensorType);
-            String formattedTime = formatTime(dto.getTime());
-
-            log.info("📍 위치: {} | ⏰ 시간: {} | 🔍 센서: {}({}) | 📊 값: {} {}",
-                    location, formattedTime,
-                    mapName(sensorType), sensorType, value, mapUnit(sensorType));
-
-            influxService.writeSensorData(location, sensorType, value);
-            dispatcher.dispatch(location, sensorType, value);
-        } catch (Exception e) {
-            log.error("🌐 메시지 처리 오류", e);
-            throw new MqttProcessingException(e.getMessage());
-        } finally {
-            MDC.clear();
-        }
+    public void processMessage(String topic, byte[] payload, TraceContext trace) {
+        process(topic, payload, trace, true, true, null);
     }
 
-
-    private SensorDataDto parsePayload(String payload) {
-        try {
-            return objectMapper.readValue(payload, SensorDataDto.class);
-        } catch (Exception e) {
-            throw new InvalidPayloadException("JSON 파싱 실패: " + e.getMessage());
-        }
+    /**
+     * 캡처 파일에서 읽은 메시지를 실시간 메시지와 같은 해석/저장 경로로 처리합니다.
+     * 과거 샘플이므로 {@code ingest.dedup.late-policy}로 버리지 않고, 캡처 파일에 다시 기록하지 않으며,
+     * 종단 간 지연 지표와 롤링 통계에도 넣지 않습니다.
+     *
+     * @param dispatchToModel false면 모델 서비스로 전송하지 않음
+     * @param aggregates      {@link #newBackfillAggregator()}로 만든 재처리용 집계기, 다운샘플링이 꺼져 있으면 null
+     */
+    public void replayMessage(String topic, byte[] payload, boolean dispatchToModel, TumblingAggregator aggregates) {
+        process(topic, payload, TraceContext.NONE, false, dispatchToModel, aggregates);
     }
 
-    private String extractLocation(String topic) {
-        String[] parts = topic.split("/");
-        if (parts.length < 3) throw new InvalidPayloadException("토픽 형식 오류: " + topic);
-        return parts[parts.length - 3];
+    /**
+     * 재처리 한 번에 쓸 측정 시각 기준 다운샘플 집계기를 만듭니다. 끝나면 호출자가 닫아 남은 윈도우를 내보냅니다.
+     *
+     * @return 다운샘플링이 꺼져 있으면 null
+     */
+    public TumblingAggregator newBackfillAggregator() {
+        return influxService.newBackfillAggregator();
     }
 
-    private String extractType(String topic) {
-        String type = topic.substring(topic.lastIndexOf('/') + 1);
-        if (!Set.of("temperature", "humidity", "co2", "battery", "illumination").contains(type)) {
-            return null; // 또는 throw 예외
+    /**
+     * 토픽이 속한 (위치, 센서 종류) 시계열 키. 같은 시계열의 여러 디바이스 토픽을 한 재처리 워커로 모을 때 씁니다.
+     * 해석할 수 없는 토픽은 토픽 자체를 키로 씁니다.
+     */
+    public String seriesKeyOf(String topic) {
+        try {
+            TopicMetadata metadata = topicMetadataCache.resolve(topic);
+            return metadata.isSupported() ? metadata.location() + "/" + metadata.type().id() : topic;
+        } catch (InvalidPayloadException e) {
+            return topic;
         }
-        return type;
     }
 
+    private void process(String topic, byte[] payload, TraceContext trace, boolean live, boolean dispatchToModel,
+                         TumblingAggregator backfillAggregates) {
+        try {
+            boolean detailed = log.isInfoEnabled() && messageLogBudget.onMessage(topic);
+            if (detailed) {
+                log.info("📩 수신: topic={} | payload={}", topic, new String(payload, StandardCharsets.UTF_8));
+            }
 
-    private double extractValue(SensorDataDto dto, String type) {
-        Object v = dto.getValue();
-        if (v instanceof Number) return ((Number) v).doubleValue();
-        if (v instanceof LinkedHashMap) {
-            Object inner = ((LinkedHashMap<?, ?>) v).get(type);
-            if (inner instanceof Number) return ((Number) inner).doubleValue();
-        }
-        throw new InvalidPayloadException("지원되지 않는 value 타입");
-    }
-
-    private String formatTime(long epochMillis) {
-        return Instant.ofEpochMilli(epochMillis)
-                .atZone(ZoneId.of("Asia/Seoul"))
-                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-    }
+            TopicMetadata metadata = topicMetadataCache.resolve(topic);
+            if (!metadata.isSupported()) {
+                ingestPathMeters.onUnsupported();
+                return;
+            }
+            ingestPathMeters.onReceived(metadata);
+
+            String location = metadata.location();
+            SensorTypeDescriptor type = metadata.type();
+            String sensorType = type.id();
+            SensorReading reading = payloadDecoder.decode(payload, sensorType);
+
+            double value = reading.value();
+            if (detailed) {
+                log.info("📍 위치: {} | ⏰ 시간: {} | 🔍 센서: {}({}) | 📊 값: {} {}",
+                        location, formatTime(reading.time()),
+                        type.displayName(), sensorType, value, type.unit());
+            }
+            if (!type.accepts(value)) {
+                throw new InvalidPayloadException(InvalidPayloadException.Reason.OUT_OF_RANGE,
+                        "유효 범위 밖의 값: " + sensorType + "=" + value + " [" + type.min() + ", " + type.max() + "]");
+            }
+            DuplicateFilter.Verdict verdict = live
+                    ? duplicateFilter.check(topic, reading.time())
+                    : duplicateFilter.checkBackfill(topic, reading.time());
+            if (verdict != DuplicateFilter.Verdict.ACCEPT) {
+                if (detailed) {
+                    log.info("♻️ 건너뜀({}): topic={} | time={}", verdict, topic, reading.time());
+                }
+                return;
+            }
+            if (live) {
+                captureRecorder.record(topic, reading.time(), payload);
+            }
 
-    private String mapName(String type) {
-        return switch (type) {
-            case "temperature" -> "온도";
-            case "humidity" -> "습도";
-            case "co2" -> "이산화탄소";
-            case "battery" -> "배터리";
-            case "illumination" -> "조도";
-            default -> type;
-        };
+            if (live) {
+                rollingStatsStore.record(location, sensorType, value, reading.time());
+                influxService.writeSensorData(location, sensorType, value, reading.time(), type.storage());
+                ingestPathMeters.recordEndToEnd(reading.time());
+            } else {
+                influxService.writeBackfill(location, sensorType, value, reading.time(), type.storage(),
+                        backfillAggregates);
+            }
+            if (dispatchToModel) {
+                dispatcher.dispatch(location, type, value, trace);
+            }
+        } catch (InvalidPayloadException e) {
+            // 데이터 문제이므로 stack trace 없이, 로그 예산 안에서만 경고 (건수는 dps.messages.invalid)
+            ingestPathMeters.onInvalid(e.reason());
+            if (messageLogBudget.onInvalidPayload()) {
+                log.warn("⚠️ 잘못된 페이로드({}): topic={} | {}", e.reason(), topic, e.getMessage());
+            }
+            throw new MqttProcessingException(e.getMessage());
+        } catch (Exception e) {
+            log.error("🌐 메시지 처리 오류: topic={}", topic, e);
+            throw new MqttProcessingException(e.getMessage());
+        }
     }
 
-    private String mapUnit(String type) {
-        return switch (type) {
-            case "temperature" -> "℃";
-            case "humidity", "battery" -> "%";
-            case "co2" -> "ppm";
-            case "illumination" -> "Lux";
-            default -> "";
-        };
-    }
 
-    /**
-     * 애플리케이션 종료 시 MQTT 연결 정리
-     */
-    @PreDestroy
-    public void destroy() {
-        try {
-            if (mqttClient.isConnected()) {
-                mqttClient.unsubscribe(mqttTopic);
-                mqttClient.disconnect();
-                log.info("MQTT 세션 종료 완료");
-            }
-        } catch (MqttException e) {
-            log.error("MQTT 정리 중 오류", e);
-        }
+    private String formatTime(long epochMillis) {
+        return TIME_FORMATTER.format(Instant.ofEpochMilli(epochMillis));
     }
 }
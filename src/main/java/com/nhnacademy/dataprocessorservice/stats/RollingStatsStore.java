@@ -0,0 +1,164 @@
+package com.nhnacademy.dataprocessorservice.stats;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 수신한 센서 값으로 (location, type)별 최신값과 1분/5분/1시간 롤링 집계를 메모리에 유지합니다.
+ * <p>
+ * 대시보드의 "현재 값" 조회를 InfluxDB 대신 이 저장소에서 처리하기 위한 것으로,
+ * 시계열마다 {@link RollingWindow} 세 개를 두고 수신 시각 기준 버킷에 누적합니다.
+ * 시계열은 해시로 고정 개수의 stripe lock에 나뉘어 있어 서로 다른 시계열의 기록이 경합하지 않습니다.
+ * </p>
+ */
+@Component
+public class RollingStatsStore {
+
+    private static final String[] WINDOW_NAMES = {"1m", "5m", "1h"};
+
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final ReentrantLock[] stripes;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Series>> seriesByLocation =
+            new ConcurrentHashMap<>();
+
+    @Autowired
+    public RollingStatsStore(
+            @Value("${stats.enabled:true}") boolean enabled,
+            @Value("${stats.lock-stripes:64}") int stripes) {
+        this(enabled, stripes, System::currentTimeMillis);
+    }
+
+    RollingStatsStore(boolean enabled, int stripes, LongSupplier clock) {
+        this.enabled = enabled;
+        this.clock = clock;
+        this.stripes = new ReentrantLock[Math.max(1, stripes)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 값 하나를 기록합니다. 수신 스레드에서 호출됩니다.
+     *
+     * @param timeMillis 디바이스가 보고한 측정 시각, 최신값 시각으로만 사용하며 윈도우는 수신 시각 기준
+     */
+    public void record(String location, String type, double value, long timeMillis) {
+        if (!enabled || Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+        Series series = seriesOf(location, type);
+        long now = clock.getAsLong();
+        ReentrantLock lock = series.lock;
+        lock.lock();
+        try {
+            series.lastValue = value;
+            series.lastTime = timeMillis > 0 ? timeMillis : now;
+            for (RollingWindow window : series.windows) {
+                window.record(value, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Series seriesOf(String location, String type) {
+        ConcurrentHashMap<String, Series> byType = seriesByLocation.get(location);
+        if (byType == null) {
+            byType = seriesByLocation.computeIfAbsent(location, l -> new ConcurrentHashMap<>());
+        }
+        Series series = byType.get(type);
+        if (series == null) {
+            series = byType.computeIfAbsent(type, t -> new Series(location, t, stripeOf(location, t)));
+        }
+        return series;
+    }
+
+    private ReentrantLock stripeOf(String location, String type) {
+        int hash = 31 * location.hashCode() + type.hashCode();
+        return stripes[(hash & Integer.MAX_VALUE) % stripes.length];
+    }
+
+    public Optional<SensorStats> find(String location, String type) {
+        ConcurrentHashMap<String, Series> byType = seriesByLocation.get(location);
+        Series series = byType == null ? null : byType.get(type);
+        return series == null ? Optional.empty() : Optional.of(snapshot(series));
+    }
+
+    public List<SensorStats> findByLocation(String location) {
+        ConcurrentHashMap<String, Series> byType = seriesByLocation.get(location);
+        if (byType == null) {
+            return List.of();
+        }
+        List<SensorStats> result = new ArrayList<>(byType.size());
+        for (Series series : byType.values()) {
+            result.add(snapshot(series));
+        }
+        return result;
+    }
+
+    public List<SensorStats> findAll() {
+        List<SensorStats> result = new ArrayList<>();
+        for (ConcurrentHashMap<String, Series> byType : seriesByLocation.values()) {
+            for (Series series : byType.values()) {
+                result.add(snapshot(series));
+            }
+        }
+        return result;
+    }
+
+    private SensorStats snapshot(Series series) {
+        long now = clock.getAsLong();
+        Map<String, WindowStats> windows = new LinkedHashMap<>(WINDOW_NAMES.length * 2);
+        double lastValue;
+        long lastTime;
+        series.lock.lock();
+        try {
+            lastValue = series.lastValue;
+            lastTime = series.lastTime;
+            for (int i = 0; i < WINDOW_NAMES.length; i++) {
+                windows.put(WINDOW_NAMES[i], series.windows[i].snapshot(now));
+            }
+        } finally {
+            series.lock.unlock();
+        }
+        return new SensorStats(series.location, series.type, lastValue, lastTime, windows);
+    }
+
+    public int seriesCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, Series> byType : seriesByLocation.values()) {
+            count += byType.size();
+        }
+        return count;
+    }
+
+    private static final class Series {
+        private final String location;
+        private final String type;
+        private final ReentrantLock lock;
+        private final RollingWindow[] windows = {
+                new RollingWindow(60_000, 60),
+                new RollingWindow(300_000, 30),
+                new RollingWindow(3_600_000, 60)
+        };
+        private double lastValue;
+        private long lastTime;
+
+        private Series(String location, String type, ReentrantLock lock) {
+            this.location = location;
+            this.type = type;
+            this.lock = lock;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.nhnacademy.dataprocessorservice.stats;
+
+import java.util.Arrays;
+
+/**
+ * 고정 폭 버킷을 원형으로 재사용하는 롤링 윈도우입니다.
+ * <p>
+ * 버킷마다 count/sum/min/max를 primitive 배열에 누적하므로 기록 시 할당이 없습니다.
+ * 버킷 번호({@code epochMillis / bucketMillis})가 달라진 슬롯은 덮어쓰기 전에 초기화합니다.
+ * 동기화는 호출자({@link RollingStatsStore}의 stripe lock)가 책임집니다.
+ * </p>
+ */
+final class RollingWindow {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long[] bucketIds;
+    private final long[] counts;
+    private final double[] sums;
+    private final double[] mins;
+    private final double[] maxs;
+
+    RollingWindow(long windowMillis, int bucketCount) {
+        this.bucketMillis = windowMillis / bucketCount;
+        this.bucketCount = bucketCount;
+        this.bucketIds = new long[bucketCount];
+        this.counts = new long[bucketCount];
+        this.sums = new double[bucketCount];
+        this.mins = new double[bucketCount];
+        this.maxs = new double[bucketCount];
+        Arrays.fill(bucketIds, -1);
+    }
+
+    void record(double value, long nowMillis) {
+        long bucketId = nowMillis / bucketMillis;
+        int slot = (int) (bucketId % bucketCount);
+        if (bucketIds[slot] != bucketId) {
+            bucketIds[slot] = bucketId;
+            counts[slot] = 0;
+            sums[slot] = 0;
+            mins[slot] = Double.POSITIVE_INFINITY;
+            maxs[slot] = Double.NEGATIVE_INFINITY;
+        }
+        counts[slot]++;
+        sums[slot] += value;
+        if (value < mins[slot]) {
+            mins[slot] = value;
+        }
+        if (value > maxs[slot]) {
+            maxs[slot] = value;
+        }
+    }
+
+    /**
+     * 현재 시각 기준 윈도우 안에 있는 버킷만 합산합니다.
+     */
+    WindowStats snapshot(long nowMillis) {
+        long newest = nowMillis / bucketMillis;
+        long oldest = newest - bucketCount + 1;
+        long count = 0;
+        double sum = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < bucketCount; i++) {
+            long id = bucketIds[i];
+            if (id < oldest || id > newest) {
+                continue;
+            }
+            count += counts[i];
+            sum += sums[i];
+            min = Math.min(min, mins[i]);
+            max = Math.max(max, maxs[i]);
+        }
+        return count == 0 ? WindowStats.EMPTY : new WindowStats(count, min, max, sum / count);
+    }
+}
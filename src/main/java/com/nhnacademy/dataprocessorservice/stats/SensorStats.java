@@ -0,0 +1,20 @@
+package com.nhnacademy.dataprocessorservice.stats;
+
+import java.util.Map;
+
+/**
+ * (location, type) 하나의 최신값과 롤링 윈도우별 집계입니다.
+ *
+ * @param location  위치
+ * @param type      센서 종류
+ * @param lastValue 마지막으로 수신한 값
+ * @param lastTime  마지막 값의 측정 시각 (epoch millis)
+ * @param windows   윈도우 이름({@code 1m}, {@code 5m}, {@code 1h})별 집계
+ */
+public record SensorStats(
+        String location,
+        String type,
+        double lastValue,
+        long lastTime,
+        Map<String, WindowStats> windows) {
+}
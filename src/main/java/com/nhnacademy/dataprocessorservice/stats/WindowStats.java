@@ -0,0 +1,14 @@
+package com.nhnacademy.dataprocessorservice.stats;
+
+/**
+ * 한 롤링 윈도우의 집계 결과입니다. 샘플이 없으면 count=0이고 나머지 값은 null입니다.
+ *
+ * @param count 샘플 수
+ * @param min   최솟값
+ * @param max   최댓값
+ * @param mean  평균
+ */
+public record WindowStats(long count, Double min, Double max, Double mean) {
+
+    static final WindowStats EMPTY = new WindowStats(0, null, null, null);
+}
@@ -0,0 +1,52 @@
+package com.nhnacademy.dataprocessorservice.trace;
+
+import org.slf4j.MDC;
+
+/**
+ * 메시지 하나의 추적 정보입니다. MQTT 콜백에서 만들어져 워커, InfluxDB 기록, 모델 전송까지 그대로 전달됩니다.
+ * <p>
+ * 샘플링되지 않은 컨텍스트는 MDC와 FlowLogger를 건드리지 않으므로 비용이 거의 없습니다.
+ * </p>
+ *
+ * @param traceId 추적 id, 0이면 추적하지 않음
+ * @param sampled MDC/FlowLogger 기록 대상 여부
+ */
+public record TraceContext(long traceId, boolean sampled) {
+
+    /** 추적하지 않는 컨텍스트 */
+    public static final TraceContext NONE = new TraceContext(0, false);
+
+    private static final long MESSAGE_ID_MIX = 0x9E3779B97F4A7C15L;
+
+    public String traceIdHex() {
+        return TraceIds.toHex(traceId);
+    }
+
+    /** 기존 로그 형식과 맞추기 위한 메시지 id, traceId에서 결정적으로 파생 */
+    public String messageIdHex() {
+        return TraceIds.toHex(traceId * MESSAGE_ID_MIX);
+    }
+
+    /**
+     * 샘플링된 경우에만 MDC에 traceId/source/messageId를 넣습니다.
+     *
+     * @return MDC를 채웠으면 true, 이 경우 {@link #clearMdc()}로 정리해야 함
+     */
+    public boolean bindMdc(String source) {
+        if (!sampled) {
+            return false;
+        }
+        MDC.put("traceId", traceIdHex());
+        MDC.put("source", source);
+        MDC.put("messageId", messageIdHex());
+        return true;
+    }
+
+    public void clearMdc() {
+        if (sampled) {
+            MDC.remove("traceId");
+            MDC.remove("source");
+            MDC.remove("messageId");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.nhnacademy.dataprocessorservice.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 메시지 추적용 64비트 식별자를 만듭니다.
+ * <p>
+ * {@code UUID.randomUUID()}는 SecureRandom을 거치고 문자열까지 만들어 메시지마다 쓰기에는 비쌉니다.
+ * 추적 id는 충돌이 드물기만 하면 되므로 {@link ThreadLocalRandom}의 long 하나로 충분하며,
+ * 문자열(16자리 hex)은 샘플링된 메시지에 대해서만 만듭니다.
+ * </p>
+ */
+public final class TraceIds {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private TraceIds() {
+    }
+
+    /**
+     * 0이 아닌 새 id (0은 "추적 없음"을 뜻함)
+     */
+    public static long next() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+
+    public static String toHex(long id) {
+        char[] chars = new char[16];
+        for (int i = 15; i >= 0; i--) {
+            chars[i] = HEX[(int) (id & 0xF)];
+            id >>>= 4;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,45 @@
+package com.nhnacademy.dataprocessorservice.trace;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * head 기반 샘플링으로 메시지를 추적할지 정합니다.
+ * <p>
+ * 결정은 추적 id에서 결정적으로 계산하므로 같은 id는 어느 스레드에서 평가해도 같은 결과가 나옵니다.
+ * {@code trace.sample-rate}는 0~1 사이 비율이며, 1이면 모든 메시지를 기록합니다.
+ * </p>
+ */
+@Component
+public class TraceSampler {
+
+    private static final double UNIT = 0x1.0p-53;
+
+    private final double sampleRate;
+
+    public TraceSampler(@Value("${trace.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = Math.max(0, Math.min(1, sampleRate));
+    }
+
+    /**
+     * @param traceId 콜백에서 발급한 추적 id, 0이면 추적하지 않음
+     */
+    public TraceContext contextOf(long traceId) {
+        if (traceId == 0) {
+            return TraceContext.NONE;
+        }
+        return new TraceContext(traceId, isSampled(traceId));
+    }
+
+    public TraceContext newContext() {
+        return contextOf(TraceIds.next());
+    }
+
+    boolean isSampled(long traceId) {
+        return sampleRate >= 1 || (traceId >>> 11) * UNIT < sampleRate;
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+}
@@ -0,0 +1,155 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineProtocolWriterTest {
+
+    private HttpServer server;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final List<String> authHeaders = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresBeforeSuccess = new AtomicInteger();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/write", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            if (failuresBeforeSuccess.getAndDecrement() > 0) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                bodies.add(new String(body, StandardCharsets.UTF_8));
+                authHeaders.add(exchange.getRequestHeaders().getFirst("Authorization"));
+                exchange.sendResponseHeaders(204, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private LineProtocolWriter writer(int batchSize, long flushIntervalMs) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        InfluxHttpSender sender = new InfluxHttpSender(url, "secret", "org", "bucket", 3, 10, 2000);
+        LineProtocolWriter writer = new LineProtocolWriter(sender, LineProtocolWriteOptions.builder()
+                .batchSize(batchSize)
+                .flushIntervalMs(flushIntervalMs)
+                .maxPendingBatches(4)
+                .enqueueTimeoutMs(1000)
+                .maxRetries(3)
+                .retryIntervalMs(10)
+                .requestTimeoutMs(2000)
+                .build());
+        writer.start();
+        return writer;
+    }
+
+    @Test
+    void write_flushesBySizeWithDeviceTimestamp() {
+        LineProtocolWriter writer = writer(2, 60_000);
+
+        writer.write("sensor", "room A", "temperature", 23.5, 1700000000000L);
+        writer.write("sensor", "room A", "humidity", 41.0, 1700000000001L);
+        writer.close();
+
+        assertEquals(1, bodies.size());
+        assertEquals("sensor,location=room\\ A,type=temperature value=23.5 1700000000000\n"
+                + "sensor,location=room\\ A,type=humidity value=41.0 1700000000001\n", bodies.get(0));
+        assertEquals("Token secret", authHeaders.get(0));
+        assertEquals(2, writer.writtenPoints());
+        assertEquals(1, writer.batchSizes().count());
+    }
+
+    @Test
+    void writeAggregate_writesAllFieldsWithIntegerCount() {
+        LineProtocolWriter writer = writer(1, 60_000);
+
+        writer.writeAggregate("sensor_agg", "roomA", "co2", 500, 700, 600, 550, 3, 1700000000000L);
+        writer.close();
+
+        assertEquals(List.of("sensor_agg,location=roomA,type=co2 "
+                + "min=500.0,max=700.0,mean=600.0,last=550.0,count=3i 1700000000000\n"), bodies);
+    }
+
+    @Test
+    void write_flushesByTime() throws InterruptedException {
+        LineProtocolWriter writer = writer(1000, 50);
+
+        writer.write("sensor", "roomA", "co2", 612, 1L);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (bodies.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        writer.close();
+
+        assertEquals(List.of("sensor,location=roomA,type=co2 value=612.0 1\n"), bodies);
+    }
+
+    @Test
+    void write_retriesOnServerErrorAndCountsDropsWhenExhausted() throws InterruptedException {
+        failuresBeforeSuccess.set(2);
+        LineProtocolWriter writer = writer(1, 60_000);
+        writer.write("sensor", "roomA", "co2", 600, 1L);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (writer.writtenPoints() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        failuresBeforeSuccess.set(100);
+        writer.write("sensor", "roomA", "co2", 601, 2L);
+        writer.write("sensor", "roomA", "co2", Double.NaN, 3L);
+        writer.close();
+
+        assertEquals(1, writer.writtenPoints());
+        assertEquals(2, writer.droppedPoints());
+        assertEquals(1, writer.failedFlushes());
+    }
+
+    @Test
+    void write_afterCloseIsRejectedAndCounted() {
+        LineProtocolWriter writer = writer(1000, 60_000);
+        writer.write("sensor", "roomA", "co2", 600, 1L);
+        writer.close();
+
+        writer.write("sensor", "roomA", "co2", 601, 2L);
+        writer.writeAggregate("sensor_agg", "roomA", "co2", 1, 2, 1.5, 2, 2, 3L);
+
+        assertEquals(List.of("sensor,location=roomA,type=co2 value=600.0 1\n"), bodies);
+        assertEquals(1, writer.writtenPoints());
+        assertEquals(2, writer.rejectedPoints());
+        assertEquals(0, writer.pendingBatches());
+    }
+
+    @Test
+    void worstCaseSendMs_addsRequestTimeoutsAndCappedBackoff() {
+        LineProtocolWriteOptions options = LineProtocolWriteOptions.builder()
+                .maxRetries(3)
+                .retryIntervalMs(1000)
+                .requestTimeoutMs(10_000)
+                .build();
+        // 요청 4회 + 백오프 1s, 2s, 4s
+        assertEquals(47_000, LineProtocolWriter.worstCaseSendMs(options));
+
+        LineProtocolWriteOptions capped = LineProtocolWriteOptions.builder()
+                .maxRetries(2)
+                .retryIntervalMs(40_000)
+                .requestTimeoutMs(0)
+                .build();
+        assertEquals(100_000, LineProtocolWriter.worstCaseSendMs(capped));
+    }
+}
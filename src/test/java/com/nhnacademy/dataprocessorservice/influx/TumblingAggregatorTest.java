@@ -0,0 +1,97 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TumblingAggregatorTest {
+
+    private static final long T0 = 1_700_000_040_000L - 1_700_000_040_000L % 60_000;
+
+    private final List<WindowAggregate> emitted = new ArrayList<>();
+    private final AtomicLong now = new AtomicLong(T0);
+    private final TumblingAggregator aggregator = new TumblingAggregator(DownsampleOptions.builder()
+            .policy(WritePolicy.BOTH)
+            .measurement("sensor_agg")
+            .windowMs(60_000)
+            .graceMs(5_000)
+            .flushIntervalMs(1_000)
+            .build(), emitted::add, now::get);
+
+    @Test
+    void record_emitsPreviousWindowOnceSampleTimePassesGrace() {
+        aggregator.record("roomA", "temperature", 21.0, T0 + 1_000);
+        aggregator.record("roomA", "temperature", 25.0, T0 + 3_000);
+        aggregator.record("roomA", "temperature", 23.0, T0 + 2_000);
+        aggregator.record("roomA", "temperature", 30.0, T0 + 61_000);
+        assertTrue(emitted.isEmpty());
+
+        aggregator.record("roomA", "temperature", 31.0, T0 + 65_000);
+
+        assertEquals(List.of(new WindowAggregate("roomA", "temperature", T0, 21.0, 25.0, 23.0, 25.0, 3)), emitted);
+    }
+
+    @Test
+    void record_keepsPreviousWindowOpenForOtherDevicesAcrossBoundary() {
+        // 같은 (roomA, temperature) 시계열에 디바이스 두 대가 번갈아 들어오며 윈도우 경계를 넘음
+        aggregator.record("roomA", "temperature", 20.0, T0 + 58_000);  // dev1
+        aggregator.record("roomA", "temperature", 22.0, T0 + 59_000);  // dev2
+        aggregator.record("roomA", "temperature", 21.0, T0 + 60_500);  // dev1, 다음 윈도우
+        aggregator.record("roomA", "temperature", 24.0, T0 + 59_900);  // dev2, 몇 ms 늦게 도착한 이전 윈도우 샘플
+        aggregator.record("roomA", "temperature", 23.0, T0 + 61_000);  // dev2
+        assertTrue(emitted.isEmpty());
+
+        aggregator.record("roomA", "temperature", 25.0, T0 + 65_000);
+        aggregator.flushExpired(true);
+
+        assertEquals(2, emitted.size());
+        assertEquals(new WindowAggregate("roomA", "temperature", T0, 20.0, 24.0, 22.0, 24.0, 3), emitted.get(0));
+        assertEquals(T0 + 60_000, emitted.get(1).windowStart());
+        assertEquals(3, emitted.get(1).count());
+        assertEquals(0, aggregator.lateSamples());
+        assertEquals(6, aggregator.recordedSamples());
+    }
+
+    @Test
+    void record_countsSampleForWindowClosedAfterGraceAsLate() {
+        aggregator.record("roomA", "temperature", 20.0, T0 + 58_000);
+        aggregator.record("roomA", "temperature", 21.0, T0 + 66_000);
+        assertEquals(1, emitted.size());
+
+        aggregator.record("roomA", "temperature", 22.0, T0 + 59_000);
+
+        assertEquals(1, aggregator.lateSamples());
+        assertEquals(1, emitted.get(0).count());
+    }
+
+    @Test
+    void flushExpired_closesIdleWindowsAfterGraceAndCountsLateSamples() {
+        aggregator.record("roomA", "co2", 600, T0 + 10_000);
+
+        now.set(T0 + 64_000);
+        aggregator.flushExpired(false);
+        assertTrue(emitted.isEmpty());
+
+        now.set(T0 + 65_000);
+        aggregator.flushExpired(false);
+        assertEquals(1, emitted.size());
+
+        aggregator.record("roomA", "co2", 650, T0 + 59_000);
+        assertEquals(1, aggregator.lateSamples());
+        assertEquals(1, aggregator.recordedSamples());
+    }
+
+    @Test
+    void flushExpired_allClosesOpenWindows() {
+        aggregator.record("roomA", "humidity", 40, T0 + 1_000);
+        aggregator.record("roomB", "humidity", 50, T0 + 1_000);
+
+        aggregator.flushExpired(true);
+
+        assertEquals(2, emitted.size());
+    }
+}
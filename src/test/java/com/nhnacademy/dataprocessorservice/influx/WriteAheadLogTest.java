@@ -0,0 +1,107 @@
+package com.nhnacademy.dataprocessorservice.influx;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    @TempDir
+    Path walDir;
+
+    private HttpServer server;
+    private volatile boolean influxUp;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/write", exchange -> {
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            if (influxUp) {
+                received.add(new String(body, StandardCharsets.UTF_8));
+                exchange.sendResponseHeaders(204, -1);
+            } else {
+                exchange.sendResponseHeaders(503, -1);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private WriteAheadLog openWal(int segmentBytes) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        InfluxHttpSender sender = new InfluxHttpSender(url, "t", "o", "b", 0, 10, 2000);
+        WriteAheadLog wal = new WriteAheadLog(walDir, sender, segmentBytes, 0, 0, 0, 10, false);
+        wal.open();
+        return wal;
+    }
+
+    @Test
+    void accept_buffersDuringOutageAndShipsInOrderWhenRecovered() throws Exception {
+        WriteAheadLog wal = openWal(256);
+
+        for (int i = 0; i < 10; i++) {
+            append(wal, "sensor,location=a,type=co2 value=" + i + " " + i + "\n");
+        }
+        Thread.sleep(100);
+        assertTrue(received.isEmpty());
+        assertTrue(wal.backlogBytes() > 0);
+        assertTrue(wal.segmentCount() > 1);
+
+        influxUp = true;
+        await(() -> received.size() == 10);
+        wal.close();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(received.get(i).contains("value=" + i + " "));
+        }
+        assertEquals(0, wal.backlogBytes());
+        assertEquals(1, wal.segmentCount());
+    }
+
+    @Test
+    void open_replaysRecordsLeftFromPreviousRun() throws Exception {
+        WriteAheadLog first = openWal(1024);
+        append(first, "sensor,location=a,type=co2 value=1 1\n");
+        append(first, "sensor,location=a,type=co2 value=2 2\n");
+        first.close();
+
+        influxUp = true;
+        WriteAheadLog second = openWal(1024);
+        await(() -> received.size() == 2);
+        second.close();
+
+        assertEquals(2, second.shippedRecords());
+    }
+
+    private static void append(WriteAheadLog wal, String line) {
+        byte[] body = line.getBytes(StandardCharsets.UTF_8);
+        assertTrue(wal.accept(body, body.length));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
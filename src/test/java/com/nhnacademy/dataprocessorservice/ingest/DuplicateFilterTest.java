@@ -0,0 +1,136 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter.Verdict.ACCEPT;
+import static com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter.Verdict.DUPLICATE;
+import static com.nhnacademy.dataprocessorservice.ingest.DuplicateFilter.Verdict.LATE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class DuplicateFilterTest {
+
+    private static final String TOPIC = "data/roomA/dev1/temperature";
+    private static final long T = 1_700_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(T);
+
+    private DuplicateFilter filter(LateSamplePolicy policy) {
+        return new DuplicateFilter(true, 4, 60_000, 100, policy, now::get);
+    }
+
+    @Test
+    void check_rejectsRedeliveredSampleOfSameTopicAndTime() {
+        DuplicateFilter filter = filter(LateSamplePolicy.ACCEPT);
+
+        assertEquals(ACCEPT, filter.check(TOPIC, T));
+        assertEquals(ACCEPT, filter.check(TOPIC, T + 1000));
+        assertEquals(DUPLICATE, filter.check(TOPIC, T));
+        assertEquals(DUPLICATE, filter.check(TOPIC, T + 1000));
+        assertEquals(ACCEPT, filter.check("data/roomA/dev1/humidity", T));
+
+        assertEquals(5, filter.checked());
+        assertEquals(2, filter.duplicates());
+    }
+
+    @Test
+    void check_acceptsOutOfOrderSampleOnceUnderAcceptPolicy() {
+        DuplicateFilter filter = filter(LateSamplePolicy.ACCEPT);
+        filter.check(TOPIC, T + 2000);
+
+        assertEquals(ACCEPT, filter.check(TOPIC, T + 1000));
+        assertEquals(DUPLICATE, filter.check(TOPIC, T + 1000));
+        assertEquals(1, filter.outOfOrder());
+    }
+
+    @Test
+    void check_dropsOutOfOrderSampleUnderDropOutOfOrderPolicy() {
+        DuplicateFilter filter = filter(LateSamplePolicy.DROP_OUT_OF_ORDER);
+        filter.check(TOPIC, T + 2000);
+
+        assertEquals(LATE, filter.check(TOPIC, T + 1000));
+        assertEquals(1, filter.droppedLate());
+    }
+
+    @Test
+    void check_appliesPolicyToSamplesOlderThanWindow() {
+        DuplicateFilter accepting = filter(LateSamplePolicy.ACCEPT);
+        DuplicateFilter dropping = filter(LateSamplePolicy.DROP_EXPIRED);
+        accepting.check(TOPIC, T + 120_000);
+        dropping.check(TOPIC, T + 120_000);
+
+        assertEquals(ACCEPT, accepting.check(TOPIC, T));
+        assertEquals(LATE, dropping.check(TOPIC, T));
+        assertEquals(ACCEPT, dropping.check(TOPIC, T + 90_000));
+        assertEquals(1, accepting.expired());
+        assertEquals(1, dropping.expired());
+        assertEquals(1, dropping.droppedLate());
+    }
+
+    @Test
+    void check_treatsRedeliveryOlderThanRingAsExpiredEvenInsideWindow() {
+        DuplicateFilter filter = filter(LateSamplePolicy.DROP_EXPIRED);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(ACCEPT, filter.check(TOPIC, T + i * 1000L));
+        }
+
+        // 링(4개)에는 T+6000..T+9000만 남음, T+2000은 window-ms(60초) 안이지만 중복 여부를 알 수 없음
+        assertEquals(LATE, filter.check(TOPIC, T + 2000));
+        assertEquals(LATE, filter.check(TOPIC, T + 5000));
+        assertEquals(DUPLICATE, filter.check(TOPIC, T + 6000));
+        // 밀려난 시각(T+5000)보다 늦으면 링으로 확인할 수 있어 순서 뒤바뀜으로 기록
+        assertEquals(ACCEPT, filter.check(TOPIC, T + 5500));
+        assertEquals(2, filter.expired());
+        assertEquals(1, filter.outOfOrder());
+        assertEquals(2, filter.droppedLate());
+    }
+
+    @Test
+    void check_skipsSamplesWithoutTimeAndWhenDisabled() {
+        DuplicateFilter disabled = new DuplicateFilter(false, 4, 60_000, 100, LateSamplePolicy.ACCEPT, now::get);
+        DuplicateFilter filter = filter(LateSamplePolicy.ACCEPT);
+
+        assertEquals(ACCEPT, filter.check(TOPIC, 0));
+        assertEquals(ACCEPT, filter.check(TOPIC, 0));
+        assertEquals(ACCEPT, disabled.check(TOPIC, T));
+        assertEquals(ACCEPT, disabled.check(TOPIC, T));
+        assertEquals(0, filter.checked());
+        assertEquals(0, disabled.topics());
+    }
+
+    @Test
+    void check_evictsIdleTopicsBeyondMaxTopics() {
+        DuplicateFilter filter = new DuplicateFilter(true, 4, 60_000, 10, LateSamplePolicy.ACCEPT, now::get);
+        for (int i = 0; i < 10; i++) {
+            filter.check("data/room" + i + "/dev/temperature", T);
+        }
+        now.addAndGet(120_000);
+
+        filter.check("data/roomX/dev/temperature", T);
+
+        assertTrue(filter.topics() <= 10);
+        assertTrue(filter.evictions() > 0);
+    }
+
+    @Test
+    void checkBackfill_acceptsOlderSamplesUnderDropOutOfOrderPolicy() {
+        DuplicateFilter filter = filter(LateSamplePolicy.DROP_OUT_OF_ORDER);
+        filter.check(TOPIC, T + 120_000);
+        filter.check(TOPIC, T + 121_000);
+
+        // 실시간 최신 시각보다 이르거나 window-ms를 벗어난 과거 샘플도 재처리에서는 기록
+        assertEquals(ACCEPT, filter.checkBackfill(TOPIC, T));
+        assertEquals(ACCEPT, filter.checkBackfill(TOPIC, T + 1000));
+        assertEquals(ACCEPT, filter.checkBackfill(TOPIC, T + 120_500));
+        assertEquals(ACCEPT, filter.checkBackfill("data/roomB/dev2/temperature", T));
+        // 실시간으로 이미 기록한 측정 시각만 중복
+        assertEquals(DUPLICATE, filter.checkBackfill(TOPIC, T + 120_000));
+        assertEquals(0, filter.droppedLate());
+
+        // 재처리가 실시간 판정 상태를 바꾸지 않음
+        assertEquals(LATE, filter.check(TOPIC, T + 120_500));
+        assertEquals(ACCEPT, filter.check(TOPIC, T + 122_000));
+        assertEquals(1, filter.topics());
+    }
+}
@@ -0,0 +1,213 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestPipelineTest {
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void submit_preservesOrderPerTopic() throws Exception {
+        IngestPipeline pipeline = new IngestPipeline(4, 1024, BackpressurePolicy.BLOCK, 5000, spillDir.toString(), false);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(400);
+        pipeline.start(m -> {
+            seen.computeIfAbsent(m.topic(), k -> new ArrayList<>())
+                    .add(Integer.parseInt(new String(m.payload(), StandardCharsets.UTF_8)));
+            done.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            for (int room = 0; room < 4; room++) {
+                pipeline.submit("data/s/room" + room + "/d/temperature", String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        for (List<Integer> values : seen.values()) {
+            for (int i = 0; i < values.size(); i++) {
+                assertEquals(i, values.get(i));
+            }
+        }
+        assertEquals(400, pipeline.metrics().processed());
+    }
+
+    @Test
+    void submit_dropsOldestWhenFull() throws Exception {
+        IngestPipeline pipeline = new IngestPipeline(1, 2, BackpressurePolicy.DROP_OLDEST, 5000, spillDir.toString(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstTaken = new CountDownLatch(1);
+        pipeline.start(m -> {
+            firstTaken.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        pipeline.submit("t", new byte[]{0});
+        assertTrue(firstTaken.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 5; i++) {
+            assertTrue(pipeline.submit("t", new byte[]{(byte) i}));
+        }
+
+        assertEquals(2, pipeline.queueDepth());
+        assertEquals(3, pipeline.metrics().dropped());
+        release.countDown();
+        pipeline.shutdown();
+    }
+
+    @Test
+    void submit_spillsToDiskAndReplays() throws Exception {
+        IngestPipeline pipeline = new IngestPipeline(1, 1, BackpressurePolicy.SPILL, 5000, spillDir.toString(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(10);
+        pipeline.start(m -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(pipeline.submit("t", new byte[]{(byte) i}));
+        }
+        assertTrue(pipeline.metrics().spilled() > 0);
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        assertEquals(0, pipeline.metrics().dropped());
+    }
+
+    @Test
+    void submit_keepsTopicOrderWhileSpillIsDraining() throws Exception {
+        IngestPipeline pipeline = new IngestPipeline(1, 2, BackpressurePolicy.SPILL, 5000, spillDir.toString(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(200);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        pipeline.start(m -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seen.add(Integer.parseInt(new String(m.payload(), StandardCharsets.UTF_8)));
+            done.countDown();
+        });
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(pipeline.submit("t", String.valueOf(i).getBytes(StandardCharsets.UTF_8)));
+        }
+        release.countDown();
+        // 큐에 자리가 나도 spill이 남아 있는 동안의 메시지는 spill 뒤로 이어져야 함
+        for (int i = 100; i < 200; i++) {
+            assertTrue(pipeline.submit("t", String.valueOf(i).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(i, seen.get(i));
+        }
+        assertEquals(0, pipeline.metrics().dropped());
+    }
+
+    @Test
+    void shutdown_keepsUndrainedSpillOnDiskForNextStart() throws Exception {
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        IngestPipeline first = new IngestPipeline(1, 1, BackpressurePolicy.SPILL, 5000, spillDir.toString(), false);
+        CountDownLatch release = new CountDownLatch(1);
+        first.start(m -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seen.add(Integer.parseInt(new String(m.payload(), StandardCharsets.UTF_8)));
+        });
+        for (int i = 0; i < 2000; i++) {
+            assertTrue(first.submit("t", String.valueOf(i).getBytes(StandardCharsets.UTF_8)));
+        }
+        release.countDown();
+        // 재투입 도중 종료: 큐로 넘기지 못한 레코드는 파일에 남아야 함
+        first.shutdown();
+        int processedBeforeRestart = seen.size();
+
+        IngestPipeline second = new IngestPipeline(1, 1, BackpressurePolicy.SPILL, 5000, spillDir.toString(), false);
+        CountDownLatch done = new CountDownLatch(2000 - processedBeforeRestart);
+        second.start(m -> {
+            seen.add(Integer.parseInt(new String(m.payload(), StandardCharsets.UTF_8)));
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        second.shutdown();
+
+        assertEquals(2000, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void start_routesNewMessagesBehindLeftoverSpill() throws Exception {
+        SpillBuffer leftover = new SpillBuffer(spillDir);
+        for (int i = 0; i < 50; i++) {
+            leftover.append(new IngestMessage("t", String.valueOf(i).getBytes(StandardCharsets.UTF_8), 0, 0));
+        }
+        leftover.close();
+
+        IngestPipeline pipeline = new IngestPipeline(1, 1024, BackpressurePolicy.SPILL, 5000, spillDir.toString(), false);
+        List<Integer> seen = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(60);
+        pipeline.start(m -> {
+            seen.add(Integer.parseInt(new String(m.payload(), StandardCharsets.UTF_8)));
+            done.countDown();
+        });
+        for (int i = 50; i < 60; i++) {
+            assertTrue(pipeline.submit("t", String.valueOf(i).getBytes(StandardCharsets.UTF_8)));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(i, seen.get(i));
+        }
+    }
+
+    @Test
+    void start_runsWorkersOnVirtualThreadsWhenEnabled() throws Exception {
+        IngestPipeline pipeline = new IngestPipeline(2, 16, BackpressurePolicy.BLOCK, 5000, spillDir.toString(), true);
+        List<Boolean> virtual = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(2);
+        pipeline.start(m -> {
+            virtual.add(Thread.currentThread().isVirtual());
+            done.countDown();
+        });
+
+        pipeline.submit("data/s/room0/d/temperature", new byte[]{0});
+        pipeline.submit("data/s/room1/d/temperature", new byte[]{1});
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pipeline.shutdown();
+        assertEquals(List.of(true, true), virtual);
+    }
+}
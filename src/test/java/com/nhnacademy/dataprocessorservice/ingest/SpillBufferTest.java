@@ -0,0 +1,72 @@
+package com.nhnacademy.dataprocessorservice.ingest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillBufferTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void drain_keepsOnlyUnconsumedRecordsWhenSinkFails() throws Exception {
+        SpillBuffer buffer = new SpillBuffer(dir);
+        for (int i = 0; i < 10; i++) {
+            buffer.append(message("data/한글/dev/temperature", i));
+        }
+
+        List<Integer> first = new ArrayList<>();
+        assertThrows(IllegalStateException.class, () -> buffer.drain(m -> {
+            if (first.size() == 3) {
+                throw new IllegalStateException("sink failure");
+            }
+            first.add(value(m));
+        }));
+        assertEquals(List.of(0, 1, 2), first);
+        assertTrue(buffer.hasPending());
+
+        // 재기동해도 이미 넘긴 레코드는 다시 나오지 않음
+        SpillBuffer restarted = new SpillBuffer(dir);
+        assertEquals(7, restarted.pending());
+        List<Integer> rest = new ArrayList<>();
+        assertEquals(7, restarted.drain(m -> rest.add(value(m))));
+        assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), rest);
+        assertFalse(restarted.hasPending());
+        assertEquals(0, restarted.pending());
+    }
+
+    @Test
+    void drain_resumesAfterInterrupt() throws Exception {
+        SpillBuffer buffer = new SpillBuffer(dir);
+        for (int i = 0; i < 5; i++) {
+            buffer.append(message("t", i));
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        assertThrows(InterruptedException.class, () -> buffer.drain(m -> {
+            if (seen.size() == 2) {
+                throw new InterruptedException();
+            }
+            seen.add(value(m));
+        }));
+        assertEquals(3, buffer.drain(m -> seen.add(value(m))));
+
+        assertEquals(List.of(0, 1, 2, 3, 4), seen);
+        assertEquals(0, buffer.pending());
+    }
+
+    private static IngestMessage message(String topic, int value) {
+        return new IngestMessage(topic, String.valueOf(value).getBytes(StandardCharsets.UTF_8), 0, 0);
+    }
+
+    private static int value(IngestMessage message) {
+        return Integer.parseInt(new String(message.payload(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+package com.nhnacademy.dataprocessorservice.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageLogBudgetTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void summary_allowsOneSamplePerInterval() {
+        MessageLogBudget budget = new MessageLogBudget(MessageLogMode.SUMMARY, 2, now::get);
+
+        assertTrue(budget.onMessage("data/a/temperature"));
+        assertFalse(budget.onMessage("data/a/temperature"));
+
+        now.addAndGet(499_000_000L);
+        assertFalse(budget.onMessage("data/b/humidity"));
+
+        now.addAndGet(1_000_000L);
+        assertTrue(budget.onMessage("data/b/humidity"));
+        assertFalse(budget.onMessage("data/b/humidity"));
+    }
+
+    @Test
+    void summary_withZeroRateNeverSamples() {
+        MessageLogBudget budget = new MessageLogBudget(MessageLogMode.SUMMARY, 0, now::get);
+
+        assertFalse(budget.onMessage("data/a/temperature"));
+        now.addAndGet(60_000_000_000L);
+        assertFalse(budget.onMessage("data/a/temperature"));
+    }
+
+    @Test
+    void allAndOff_ignoreRateLimit() {
+        MessageLogBudget all = new MessageLogBudget(MessageLogMode.ALL, 1, now::get);
+        MessageLogBudget off = new MessageLogBudget(MessageLogMode.OFF, 1, now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(all.onMessage("data/a/temperature"));
+            assertFalse(off.onMessage("data/a/temperature"));
+        }
+    }
+
+    @Test
+    void summary_limitsInvalidPayloadWarningsSeparatelyFromSamples() {
+        MessageLogBudget budget = new MessageLogBudget(MessageLogMode.SUMMARY, 1, now::get);
+
+        assertTrue(budget.onMessage("data/a/temperature"));
+        assertTrue(budget.onInvalidPayload());
+        for (int i = 0; i < 100; i++) {
+            assertFalse(budget.onInvalidPayload());
+        }
+
+        now.addAndGet(1_000_000_000L);
+        assertTrue(budget.onInvalidPayload());
+        assertTrue(new MessageLogBudget(MessageLogMode.ALL, 1, now::get).onInvalidPayload());
+        assertFalse(new MessageLogBudget(MessageLogMode.OFF, 1, now::get).onInvalidPayload());
+    }
+}
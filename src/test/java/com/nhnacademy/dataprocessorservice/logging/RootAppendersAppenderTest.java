@@ -0,0 +1,36 @@
+package com.nhnacademy.dataprocessorservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RootAppendersAppenderTest {
+
+    @Test
+    void append_forwardsNonAdditiveLoggerEventsToRootAppendersOnce() {
+        LoggerContext context = new LoggerContext();
+        ListAppender<ILoggingEvent> shared = new ListAppender<>();
+        shared.setContext(context);
+        shared.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(shared);
+
+        RootAppendersAppender forward = new RootAppendersAppender();
+        forward.setContext(context);
+        forward.start();
+        Logger hotPath = context.getLogger("com.nhnacademy.dataprocessorservice.ingest");
+        hotPath.setAdditive(false);
+        hotPath.addAppender(forward);
+
+        hotPath.error("처리 실패");
+        context.getLogger("com.nhnacademy.dataprocessorservice.config").info("다른 로거");
+
+        assertEquals(2, shared.list.size());
+        assertEquals(Level.ERROR, shared.list.get(0).getLevel());
+        assertEquals("처리 실패", shared.list.get(0).getFormattedMessage());
+    }
+}
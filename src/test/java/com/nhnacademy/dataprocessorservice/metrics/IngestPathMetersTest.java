@@ -0,0 +1,62 @@
+package com.nhnacademy.dataprocessorservice.metrics;
+
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeDescriptor;
+import com.nhnacademy.dataprocessorservice.sensor.SensorTypeRegistry;
+import com.nhnacademy.dataprocessorservice.sensor.TopicMetadata;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IngestPathMetersTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final IngestPathMeters meters = new IngestPathMeters(registry);
+
+    @Test
+    void onReceived_countsByLocationAndType() {
+        SensorTypeRegistry sensorTypes = SensorTypeRegistry.defaults();
+        SensorTypeDescriptor temperature = sensorTypes.find("temperature");
+        TopicMetadata classA = new TopicMetadata("data/class_a/1/temperature", "class_a", temperature);
+        TopicMetadata otherDevice = new TopicMetadata("data/class_a/2/temperature", "class_a", temperature);
+        TopicMetadata humidity = new TopicMetadata("data/class_a/1/humidity", "class_a", sensorTypes.find("humidity"));
+
+        meters.onReceived(classA);
+        meters.onReceived(otherDevice);
+        meters.onReceived(humidity);
+
+        assertEquals(2.0, registry.get("dps.messages.received")
+                .tags("location", "class_a", "type", "temperature").counter().count());
+        assertEquals(1.0, registry.get("dps.messages.received")
+                .tags("location", "class_a", "type", "humidity").counter().count());
+        assertEquals(2, registry.find("dps.messages.received").counters().size());
+    }
+
+    @Test
+    void onInvalid_countsByReason() {
+        meters.onInvalid(InvalidPayloadException.Reason.MALFORMED_JSON);
+        meters.onInvalid(InvalidPayloadException.Reason.MALFORMED_JSON);
+        meters.onInvalid(InvalidPayloadException.Reason.TOPIC_FORMAT);
+        meters.onUnsupported();
+
+        assertEquals(2.0, registry.get("dps.messages.invalid").tag("reason", "malformed_json").counter().count());
+        assertEquals(1.0, registry.get("dps.messages.invalid").tag("reason", "topic_format").counter().count());
+        assertEquals(0.0, registry.get("dps.messages.invalid").tag("reason", "bad_time").counter().count());
+        assertEquals(1.0, registry.get("dps.messages.unsupported").counter().count());
+    }
+
+    @Test
+    void recordEndToEnd_skipsMissingAndFutureDeviceTime() {
+        meters.recordEndToEnd(System.currentTimeMillis() - 1_500);
+        meters.recordEndToEnd(0);
+        meters.recordEndToEnd(System.currentTimeMillis() + 60_000);
+
+        Timer timer = registry.get("dps.ingest.end-to-end").timer();
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 1_500);
+    }
+}
@@ -0,0 +1,122 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelApiGuardTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private ModelApiGuard guard(int initialLimit, int halfOpenProbes) {
+        return new ModelApiGuard(ModelGuardOptions.builder()
+                .enabled(true)
+                .initialLimit(initialLimit)
+                .minLimit(1)
+                .maxLimit(8)
+                .latencyThresholdMs(100)
+                .backoffRatio(0.5)
+                .failureRateThreshold(0.5)
+                .windowSize(4)
+                .minCalls(4)
+                .openMs(1000)
+                .halfOpenProbes(halfOpenProbes)
+                .build(), now::get);
+    }
+
+    private void advanceMs(long ms) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    @Test
+    void tryAcquire_rejectsBeyondLimitWithoutWaiting() {
+        ModelApiGuard guard = guard(2, 1);
+
+        assertTrue(guard.tryAcquire());
+        assertTrue(guard.tryAcquire());
+        assertFalse(guard.tryAcquire());
+        guard.onIgnored();
+        assertTrue(guard.tryAcquire());
+
+        assertEquals(1, guard.rejectedByLimit());
+        assertEquals(2, guard.inFlight());
+    }
+
+    @Test
+    void limit_growsOnFastSuccessAndShrinksOnSlowSuccess() {
+        ModelApiGuard guard = guard(2, 1);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(guard.tryAcquire());
+            guard.onSuccess(now.get());
+        }
+        assertEquals(3, guard.limit());
+
+        long start = now.get();
+        assertTrue(guard.tryAcquire());
+        advanceMs(500);
+        guard.onSuccess(start);
+
+        assertEquals(1, guard.limit());
+        assertEquals(1, guard.slowCalls());
+        assertEquals(ModelApiGuard.State.CLOSED, guard.state());
+    }
+
+    @Test
+    void breaker_opensOnFailureRateThenClosesAfterSuccessfulProbes() {
+        ModelApiGuard guard = guard(8, 2);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(guard.tryAcquire());
+            if (i % 2 == 1) {
+                guard.onFailure(now.get());
+            } else {
+                guard.onSuccess(now.get());
+            }
+        }
+        assertEquals(ModelApiGuard.State.OPEN, guard.state());
+        assertFalse(guard.tryAcquire());
+
+        advanceMs(1000);
+        assertTrue(guard.tryAcquire());
+        assertTrue(guard.tryAcquire());
+        assertFalse(guard.tryAcquire());
+        assertEquals(ModelApiGuard.State.HALF_OPEN, guard.state());
+        guard.onSuccess(now.get());
+        guard.onSuccess(now.get());
+
+        assertEquals(ModelApiGuard.State.CLOSED, guard.state());
+        assertEquals(1, guard.openedCount());
+        assertEquals(2, guard.rejectedByBreaker());
+    }
+
+    @Test
+    void breaker_reopensWhenProbeFails() {
+        ModelApiGuard guard = guard(8, 1);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(guard.tryAcquire());
+            guard.onFailure(now.get());
+        }
+        advanceMs(1000);
+
+        assertTrue(guard.tryAcquire());
+        guard.onFailure(now.get());
+
+        assertEquals(ModelApiGuard.State.OPEN, guard.state());
+        assertEquals(2, guard.openedCount());
+        assertFalse(guard.tryAcquire());
+    }
+
+    @Test
+    void disabled_allowsEveryCall() {
+        ModelApiGuard guard = ModelApiGuard.disabled();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(guard.tryAcquire());
+            guard.onFailure(now.get());
+        }
+
+        assertEquals(ModelApiGuard.State.CLOSED, guard.state());
+        assertEquals(1000, guard.failedCalls());
+    }
+}
@@ -0,0 +1,180 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelBatchDispatcherTest {
+
+    private HttpServer server;
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+    private final AtomicInteger concurrent = new AtomicInteger();
+    private final AtomicInteger maxConcurrent = new AtomicInteger();
+    private volatile long responseDelayMs;
+    private volatile int responseStatus = 200;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/model", exchange -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                Thread.sleep(responseDelayMs);
+                exchange.sendResponseHeaders(responseStatus, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+        executor = Executors.newFixedThreadPool(8);
+    }
+
+    @AfterEach
+    void stopStub() {
+        executor.shutdownNow();
+        server.stop(0);
+    }
+
+    private ModelBatchDispatcher dispatcher(long windowMs, int maxBatchSize, int maxInFlight) {
+        return dispatcher(windowMs, maxBatchSize, maxInFlight, ModelApiGuard.disabled());
+    }
+
+    private ModelBatchDispatcher dispatcher(long windowMs, int maxBatchSize, int maxInFlight, ModelApiGuard guard) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/model";
+        ModelBatchDispatcher dispatcher = new ModelBatchDispatcher(new RestTemplate(), executor, url,
+                ModelBatchOptions.builder()
+                        .windowMs(windowMs)
+                        .maxBatchSize(maxBatchSize)
+                        .maxPendingBatches(64)
+                        .maxInFlight(maxInFlight)
+                        .enqueueTimeoutMs(5000)
+                        .build(),
+                guard);
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    @Test
+    void add_coalescesSamplesPerLocationIntoOneArrayPost() throws InterruptedException {
+        ModelBatchDispatcher dispatcher = dispatcher(50, 100, 4);
+
+        dispatcher.add("roomA", "temperature", 23.5);
+        dispatcher.add("roomA", "humidity", 41.0);
+        dispatcher.add("roomB", "co2", 612.0);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (dispatcher.dispatchedSamples() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        dispatcher.close();
+
+        assertEquals(2, bodies.size());
+        assertTrue(bodies.contains("[{\"location\":\"roomA\",\"sensor_type\":\"temperature\",\"value\":23.5},"
+                + "{\"location\":\"roomA\",\"sensor_type\":\"humidity\",\"value\":41.0}]"));
+        assertTrue(bodies.contains("[{\"location\":\"roomB\",\"sensor_type\":\"co2\",\"value\":612.0}]"));
+        assertEquals(3, dispatcher.dispatchedSamples());
+        assertEquals(2, dispatcher.batchSizes().count());
+    }
+
+    @Test
+    void add_sealsBySizeAndBoundsInFlightRequests() {
+        responseDelayMs = 50;
+        ModelBatchDispatcher dispatcher = dispatcher(60_000, 2, 2);
+
+        for (int i = 0; i < 20; i++) {
+            dispatcher.add("room" + (i % 5), "temperature", i);
+        }
+        dispatcher.close();
+
+        assertEquals(10, bodies.size());
+        assertEquals(20, dispatcher.dispatchedSamples());
+        assertEquals(0, dispatcher.droppedSamples());
+        assertTrue(maxConcurrent.get() <= 2, "동시 요청 수: " + maxConcurrent.get());
+    }
+
+    @Test
+    void add_dropsWithoutWaitingWhenSendQueueIsFull() {
+        // 실행하지 않고 쌓아 두는 executor: 첫 배치가 동시 요청 자리를 계속 잡고 있어 대기열이 비워지지 않음
+        List<Runnable> stuck = new CopyOnWriteArrayList<>();
+        ModelBatchDispatcher dispatcher = new ModelBatchDispatcher(new RestTemplate(), stuck::add, "http://127.0.0.1:1/model",
+                ModelBatchOptions.builder()
+                        .windowMs(60_000)
+                        .maxBatchSize(1)
+                        .maxPendingBatches(1)
+                        .maxInFlight(1)
+                        .enqueueTimeoutMs(200)
+                        .build());
+        dispatcher.start();
+
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            dispatcher.add("roomA", "temperature", i);
+        }
+        long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+
+        assertTrue(elapsedMs < 1000, "수집 워커가 전송 대기열을 기다림: " + elapsedMs + "ms");
+        assertTrue(dispatcher.droppedSamples() > 0);
+        dispatcher.close();
+    }
+
+    @Test
+    void add_countsDropsWhenModelApiFails() {
+        ModelBatchDispatcher dispatcher = dispatcher(60_000, 10, 1);
+        server.removeContext("/model");
+
+        dispatcher.add("roomA", "temperature", 23.5);
+        dispatcher.close();
+
+        assertEquals(0, dispatcher.dispatchedSamples());
+        assertEquals(1, dispatcher.droppedSamples());
+        assertEquals(1, dispatcher.failedRequests());
+    }
+
+    @Test
+    void add_shedsBatchesWhileBreakerIsOpenAfter5xx() {
+        responseStatus = 503;
+        ModelApiGuard guard = new ModelApiGuard(ModelGuardOptions.builder()
+                .enabled(true)
+                .initialLimit(4)
+                .minLimit(1)
+                .maxLimit(4)
+                .latencyThresholdMs(1000)
+                .backoffRatio(0.5)
+                .failureRateThreshold(0.5)
+                .windowSize(3)
+                .minCalls(3)
+                .openMs(60_000)
+                .halfOpenProbes(1)
+                .build());
+        ModelBatchDispatcher dispatcher = dispatcher(60_000, 1, 1, guard);
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.add("roomA", "temperature", i);
+        }
+        dispatcher.close();
+
+        assertEquals(3, bodies.size());
+        assertEquals(ModelApiGuard.State.OPEN, guard.state());
+        assertEquals(7, guard.rejectedByBreaker());
+        assertEquals(10, dispatcher.droppedSamples());
+        assertEquals(1, guard.limit());
+    }
+}
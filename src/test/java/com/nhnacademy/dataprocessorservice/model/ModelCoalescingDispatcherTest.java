@@ -0,0 +1,157 @@
+package com.nhnacademy.dataprocessorservice.model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelCoalescingDispatcherTest {
+
+    private final List<List<ModelSample>> posted = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+    private ModelBatchDispatcher transport;
+    private ModelCoalescingDispatcher dispatcher;
+
+    private ModelCoalescingDispatcher dispatcher(long intervalMs, Map<String, Double> deltas) {
+        return dispatcher(intervalMs, deltas, ModelApiGuard.disabled());
+    }
+
+    private ModelCoalescingDispatcher dispatcher(long intervalMs, Map<String, Double> deltas, ModelApiGuard guard) {
+        RestTemplate capturing = new RestTemplate() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> ResponseEntity<T> postForEntity(String url, Object request, Class<T> responseType,
+                                                       Object... uriVariables) {
+                if (failing) {
+                    throw new IllegalStateException("model service down");
+                }
+                posted.add(List.copyOf((List<ModelSample>) request));
+                return ResponseEntity.ok().build();
+            }
+        };
+        transport = new ModelBatchDispatcher(capturing, Runnable::run, "http://localhost/model",
+                ModelBatchOptions.builder()
+                        .windowMs(10)
+                        .maxBatchSize(100)
+                        .maxPendingBatches(64)
+                        .maxInFlight(1)
+                        .enqueueTimeoutMs(1000)
+                        .build(),
+                guard);
+        transport.start();
+        dispatcher = new ModelCoalescingDispatcher(transport, ModelCoalesceOptions.builder()
+                .intervalMs(intervalMs)
+                .minIntervalMs(10)
+                .deltas(deltas)
+                .build());
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    @AfterEach
+    void close() {
+        dispatcher.close();
+        transport.close();
+    }
+
+    private List<ModelSample> allPosted() {
+        return posted.stream().flatMap(List::stream).toList();
+    }
+
+    private void awaitPosted(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (allPosted().size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void update_keepsOnlyLatestValuePerSlotWithinInterval() throws InterruptedException {
+        ModelCoalescingDispatcher dispatcher = dispatcher(60_000, Map.of());
+
+        dispatcher.update("roomA", "temperature", 20.0);
+        awaitPosted(1);
+        for (int i = 1; i <= 100; i++) {
+            dispatcher.update("roomA", "temperature", 20.0 + i * 0.01);
+            dispatcher.update("roomA", "humidity", 40.0 + i);
+        }
+        dispatcher.close();
+        transport.close();
+
+        List<ModelSample> samples = allPosted();
+        assertEquals(new ModelSample("roomA", "temperature", 20.0), samples.get(0));
+        // 첫 값, 새 humidity 슬롯으로 앞당겨진 전송, 종료 시 최신값 → 최대 5건
+        assertTrue(samples.size() <= 5, "전송 수: " + samples.size());
+        assertTrue(samples.contains(new ModelSample("roomA", "temperature", 20.0 + 100 * 0.01)));
+        assertTrue(samples.contains(new ModelSample("roomA", "humidity", 140.0)));
+        assertEquals(201, dispatcher.receivedSamples());
+        assertTrue(dispatcher.coalescedSamples() >= 196);
+    }
+
+    @Test
+    void update_flushesEarlyWhenChangeExceedsDelta() throws InterruptedException {
+        ModelCoalescingDispatcher dispatcher = dispatcher(60_000, Map.of("co2", 100.0));
+
+        dispatcher.update("roomA", "co2", 600);
+        awaitPosted(1);
+        Thread.sleep(30);
+        dispatcher.update("roomA", "co2", 650);
+        Thread.sleep(50);
+        assertEquals(1, allPosted().size());
+
+        dispatcher.update("roomA", "co2", 720);
+        awaitPosted(2);
+
+        assertEquals(new ModelSample("roomA", "co2", 720), allPosted().get(1));
+        assertEquals(1, dispatcher.earlyFlushes());
+    }
+
+    @Test
+    void update_resendsLatestValueAfterBreakerCloses() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        ModelApiGuard guard = new ModelApiGuard(ModelGuardOptions.builder()
+                .enabled(true)
+                .initialLimit(4)
+                .minLimit(1)
+                .maxLimit(4)
+                .latencyThresholdMs(1000)
+                .backoffRatio(0.5)
+                .failureRateThreshold(0.5)
+                .windowSize(1)
+                .minCalls(1)
+                .openMs(60_000)
+                .halfOpenProbes(1)
+                .build(), clock::get);
+        ModelCoalescingDispatcher dispatcher = dispatcher(50, Map.of("co2", 100.0), guard);
+
+        failing = true;
+        dispatcher.update("roomA", "co2", 600);
+        long deadline = System.currentTimeMillis() + 2000;
+        while (guard.state() != ModelApiGuard.State.OPEN && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(ModelApiGuard.State.OPEN, guard.state());
+
+        // 차단기가 열려 있는 동안의 전송은 거절되고 값은 슬롯에 남음
+        dispatcher.update("roomA", "co2", 800);
+        Thread.sleep(200);
+        assertTrue(guard.rejectedByBreaker() >= 1);
+        assertTrue(dispatcher.returnedSamples() >= 1);
+        assertTrue(allPosted().isEmpty());
+
+        failing = false;
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(60_000));
+        awaitPosted(1);
+
+        assertEquals(List.of(new ModelSample("roomA", "co2", 800)), allPosted());
+        assertEquals(ModelApiGuard.State.CLOSED, guard.state());
+    }
+}
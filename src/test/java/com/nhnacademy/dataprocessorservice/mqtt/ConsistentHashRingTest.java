@@ -0,0 +1,53 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final int TOPICS = 10_000;
+
+    @Test
+    void ownerOf_spreadsTopicsAcrossMembers() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < TOPICS; i++) {
+            counts.merge(ring.ownerOf("data/room" + i + "/temperature"), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > TOPICS / 6, counts::toString));
+    }
+
+    @Test
+    void addingMember_movesOnlyItsShare() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < TOPICS; i++) {
+            String topic = "data/room" + i + "/humidity";
+            String newOwner = after.ownerOf(topic);
+            if (!newOwner.equals(before.ownerOf(topic))) {
+                moved++;
+                assertEquals("d", newOwner);
+            }
+        }
+
+        assertTrue(moved > TOPICS / 8 && moved < TOPICS / 2, "moved=" + moved);
+    }
+
+    @Test
+    void emptyRing_hasNoOwner() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 16);
+
+        assertTrue(ring.isEmpty());
+        assertNull(ring.ownerOf("data/room1/co2"));
+    }
+}
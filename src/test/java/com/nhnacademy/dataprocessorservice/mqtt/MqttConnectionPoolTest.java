@@ -0,0 +1,53 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttConnectionPoolTest {
+
+    private static final List<String> FILTERS = List.of("data/a/#", "data/b/#", "data/c/#", "data/d/#", "data/e/#");
+
+    @Test
+    void slice_splitsFiltersIntoDisjointSlices() {
+        List<List<String>> slices = MqttConnectionPool.slice(FILTERS, 3, ScaleOutMode.NONE);
+
+        assertEquals(3, slices.size());
+        Set<String> seen = new HashSet<>();
+        slices.forEach(slice -> slice.forEach(filter -> assertTrue(seen.add(filter), filter)));
+        assertEquals(Set.copyOf(FILTERS), seen);
+        assertEquals(List.of("data/a/#", "data/d/#"), slices.get(0));
+    }
+
+    @Test
+    void slice_neverCreatesEmptyConnections() {
+        List<List<String>> slices = MqttConnectionPool.slice(List.of("data/#"), 4, ScaleOutMode.HASH);
+
+        assertEquals(List.of(List.of("data/#")), slices);
+    }
+
+    @Test
+    void slice_sharedModeGivesEveryConnectionEveryFilter() {
+        List<String> shared = List.of("$share/dps/data/#");
+
+        List<List<String>> slices = MqttConnectionPool.slice(shared, 4, ScaleOutMode.SHARED);
+
+        assertEquals(4, slices.size());
+        slices.forEach(slice -> assertEquals(shared, slice));
+    }
+
+    @Test
+    void pool_assignsDistinctClientIdsPerConnection() throws Exception {
+        try (MqttConnectionPool pool = new MqttConnectionPool("tcp://localhost:1883", "dps-1234", FILTERS, 2,
+                ScaleOutMode.NONE)) {
+            assertEquals(2, pool.size());
+            assertEquals(List.of("dps-1234-0", "dps-1234-1"),
+                    pool.stats().stream().map(MqttConnectionStats::clientId).toList());
+            assertEquals(List.of("data/b/#", "data/d/#"), pool.connections().get(1).filters());
+        }
+    }
+}
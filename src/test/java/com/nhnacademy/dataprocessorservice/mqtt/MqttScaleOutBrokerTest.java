@@ -0,0 +1,222 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import com.nhnacademy.dataprocessorservice.ingest.BackpressurePolicy;
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import io.moquette.broker.Server;
+import io.moquette.broker.config.IConfig;
+import io.moquette.broker.config.MemoryConfig;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 내장 Moquette 브로커에 실제로 연결해 스케일 아웃 모드의 분배를 확인합니다.
+ */
+class MqttScaleOutBrokerTest {
+
+    private static final int TOPICS = 20;
+    private static final long TIMEOUT_MS = 10_000;
+
+    @TempDir
+    Path spillDir;
+
+    private final Server broker = new Server();
+    private String brokerUrl;
+    private MqttClient publisher;
+    private final List<Node> nodes = new ArrayList<>();
+
+    @BeforeEach
+    void startBroker() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        Properties properties = new Properties();
+        properties.setProperty(IConfig.HOST_PROPERTY_NAME, "127.0.0.1");
+        properties.setProperty(IConfig.PORT_PROPERTY_NAME, String.valueOf(port));
+        properties.setProperty(IConfig.WEB_SOCKET_PORT_PROPERTY_NAME, "disabled");
+        properties.setProperty(IConfig.ALLOW_ANONYMOUS_PROPERTY_NAME, "true");
+        properties.setProperty(IConfig.PERSISTENCE_ENABLED_PROPERTY_NAME, "false");
+        broker.startServer(new MemoryConfig(properties));
+        brokerUrl = "tcp://127.0.0.1:" + port;
+        publisher = new MqttClient(brokerUrl, "dps-test-publisher", new MemoryPersistence());
+        publisher.connect(options());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Node node : nodes) {
+            node.close();
+        }
+        if (publisher.isConnected()) {
+            publisher.disconnect();
+        }
+        publisher.close();
+        broker.stopServer();
+    }
+
+    @Test
+    void shared_brokerSplitsMessagesBetweenConnectionsExactlyOnce() throws Exception {
+        Node node = node("node-1", ScaleOutMode.SHARED, List.of("$share/dps/data/#"), 2);
+        node.start();
+
+        publish("s", 200);
+        await(() -> node.handled.size() >= 200);
+        node.stop();
+
+        assertEquals(200, node.handled.size());
+        assertEquals(200, Set.copyOf(node.handled).size(), "같은 메시지가 두 연결로 중복 수신됨");
+        List<MqttConnectionStats> stats = node.pool.stats();
+        assertEquals(2, stats.size());
+        assertTrue(stats.get(0).received() > 0, "첫 번째 연결이 메시지를 받지 못함");
+        assertTrue(stats.get(1).received() > 0, "두 번째 연결이 메시지를 받지 못함");
+        assertEquals(200, stats.get(0).received() + stats.get(1).received());
+        assertEquals(200, node.manager.counters().viaCallback());
+        assertEquals(0, node.manager.counters().orphaned());
+        assertTrue(node.manager.counters().isBalanced());
+    }
+
+    @Test
+    void hash_handsTopicsOverWhenRegistryChanges() throws Exception {
+        Node first = node("node-1", ScaleOutMode.HASH, List.of("data/#"), 1);
+        first.start();
+
+        // 혼자일 때는 모든 토픽을 맡음
+        publish("alone", TOPICS);
+        await(() -> first.handled("alone").size() >= TOPICS);
+        assertEquals(TOPICS, first.handled("alone").size());
+
+        // 두 번째 인스턴스 합류: 레지스트리 갱신으로 양쪽 링이 같아지면 토픽마다 한 인스턴스만 처리
+        Node second = node("node-2", ScaleOutMode.HASH, List.of("data/#"), 1);
+        second.start();
+        first.ownership.rebalance(List.of("node-1", "node-2"));
+        second.ownership.rebalance(List.of("node-1", "node-2"));
+
+        publish("joined", TOPICS);
+        await(() -> first.routed() >= 2L * TOPICS && second.routed() >= TOPICS
+                && first.handled("joined").size() + second.handled("joined").size() >= TOPICS);
+        Set<String> firstTopics = topics(first.handled("joined"));
+        Set<String> secondTopics = topics(second.handled("joined"));
+        assertFalse(firstTopics.isEmpty(), "node-1이 맡은 토픽이 없음");
+        assertFalse(secondTopics.isEmpty(), "node-2로 넘어간 토픽이 없음");
+        assertTrue(disjoint(firstTopics, secondTopics), "두 인스턴스가 같은 토픽을 처리함");
+        assertEquals(TOPICS, firstTopics.size() + secondTopics.size());
+        assertEquals(TOPICS, second.ownership.skippedMessages() + second.ownership.ownedMessages());
+
+        // 두 번째 인스턴스 이탈: 남은 인스턴스가 넘겨줬던 토픽까지 다시 맡음
+        second.stop();
+        first.ownership.rebalance(List.of("node-1"));
+
+        publish("left", TOPICS);
+        await(() -> first.handled("left").size() >= TOPICS);
+        Set<String> afterLeave = topics(first.handled("left"));
+        assertEquals(TOPICS, afterLeave.size());
+        assertTrue(afterLeave.containsAll(secondTopics));
+        assertTrue(second.handled("left").isEmpty());
+        assertEquals(2, first.ownership.rebalances());
+        assertTrue(first.manager.counters().isBalanced());
+    }
+
+    private Node node(String id, ScaleOutMode mode, List<String> filters, int connections) throws Exception {
+        Node node = new Node(id, mode, filters, connections);
+        nodes.add(node);
+        return node;
+    }
+
+    private void publish(String round, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            String topic = "data/room" + (i % TOPICS) + "/temperature";
+            publisher.publish(topic, (round + "-" + i).getBytes(StandardCharsets.UTF_8), 1, false);
+        }
+    }
+
+    private static Set<String> topics(List<String> handled) {
+        return handled.stream().map(entry -> entry.substring(0, entry.indexOf(' '))).collect(Collectors.toSet());
+    }
+
+    private static boolean disjoint(Set<String> a, Set<String> b) {
+        Set<String> common = new HashSet<>(a);
+        common.retainAll(b);
+        return common.isEmpty();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() - deadline < 0, TIMEOUT_MS + "ms 안에 조건을 만족하지 못함");
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+    }
+
+    private static MqttConnectOptions options() {
+        MqttConnectOptions options = new MqttConnectOptions();
+        options.setCleanSession(true);
+        options.setConnectionTimeout(5);
+        return options;
+    }
+
+    /**
+     * 인스턴스 하나: 수집 파이프라인, 연결 풀, 토픽 담당 판정, 구독 관리자. 처리한 메시지를 "토픽 페이로드"로 남깁니다.
+     */
+    private final class Node {
+        private final IngestPipeline pipeline;
+        private final MqttConnectionPool pool;
+        private final TopicOwnership ownership;
+        private final MqttSubscriptionManager manager;
+        private final List<String> handled = new CopyOnWriteArrayList<>();
+
+        private Node(String id, ScaleOutMode mode, List<String> filters, int connections) throws Exception {
+            pipeline = new IngestPipeline(2, 1024, BackpressurePolicy.BLOCK, 5000,
+                    spillDir.resolve(id).toString(), false);
+            pipeline.start(m -> handled.add(m.topic() + " " + new String(m.payload(), StandardCharsets.UTF_8)));
+            pool = new MqttConnectionPool(brokerUrl, "dps-test-" + id, filters, connections, mode);
+            ownership = new TopicOwnership(mode, 64, id);
+            manager = new MqttSubscriptionManager(pool, options(), new MqttInboundRouter(pipeline, ownership), 0, 100, true);
+        }
+
+        private void start() throws InterruptedException {
+            manager.start();
+            await(() -> manager.counters().subscribes() >= pool.size());
+        }
+
+        /**
+         * 담당 여부 판정까지 끝난(처리 또는 건너뜀) 메시지 수
+         */
+        private long routed() {
+            return manager.counters().accepted() + manager.counters().skipped();
+        }
+
+        private List<String> handled(String round) {
+            return handled.stream().filter(entry -> entry.contains(" " + round + "-")).toList();
+        }
+
+        private void stop() {
+            manager.stop();
+        }
+
+        private void close() {
+            manager.stop();
+            pipeline.shutdown();
+            pool.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import com.nhnacademy.dataprocessorservice.ingest.BackpressurePolicy;
+import com.nhnacademy.dataprocessorservice.ingest.IngestPipeline;
+import org.eclipse.paho.client.mqttv3.MqttConnectOptions;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MqttSubscriptionManagerTest {
+
+    @TempDir
+    Path spillDir;
+
+    private IngestPipeline pipeline;
+    private MqttConnectionPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null) {
+            pipeline.shutdown();
+        }
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    @Test
+    void deliver_routesEachMessageOnceAndBalancesCounters() throws Exception {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        MqttSubscriptionManager manager = manager(ScaleOutMode.NONE, List.of("data/a/#", "data/b/#"), 2, handled);
+
+        for (int i = 0; i < 50; i++) {
+            manager.deliver(0, "data/a/temperature", message("a" + i, false), true);
+            manager.deliver(1, "data/b/temperature", message("b" + i, false), true);
+        }
+        pipeline.shutdown();
+
+        MqttDeliveryCounters counters = manager.counters();
+        assertEquals(100, handled.size());
+        assertEquals(100, counters.arrived());
+        assertEquals(100, counters.viaListener());
+        assertEquals(100, counters.accepted());
+        assertEquals(0, counters.orphaned());
+        assertTrue(counters.isBalanced());
+        assertEquals(50, pool.stats().get(0).received());
+        assertEquals(50, pool.stats().get(1).received());
+    }
+
+    @Test
+    void deliver_withoutListenerIsStillRoutedButCountedAsOrphaned() throws Exception {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        MqttSubscriptionManager manager = manager(ScaleOutMode.NONE, List.of("data/#"), 1, handled);
+
+        manager.deliver(0, "data/a/temperature", message("listener", false), true);
+        manager.deliver(0, "data/a/temperature", message("callback", true), false);
+        pipeline.shutdown();
+
+        MqttDeliveryCounters counters = manager.counters();
+        assertEquals(List.of("listener", "callback"), handled);
+        assertEquals(1, counters.orphaned());
+        assertEquals(1, counters.redelivered());
+        assertTrue(counters.isBalanced());
+    }
+
+    @Test
+    void deliver_sharedSubscriptionsUseCallbackWithoutOrphans() throws Exception {
+        List<String> handled = new CopyOnWriteArrayList<>();
+        MqttSubscriptionManager manager = manager(ScaleOutMode.SHARED, List.of("$share/dps/data/#"), 2, handled);
+
+        manager.deliver(0, "data/a/co2", message("x", false), false);
+        manager.deliver(1, "data/b/co2", message("y", false), false);
+        pipeline.shutdown();
+
+        assertEquals(2, handled.size());
+        assertEquals(2, manager.counters().viaCallback());
+        assertEquals(0, manager.counters().orphaned());
+    }
+
+    @Test
+    void deliver_countsDropsAfterPipelineStops() throws Exception {
+        MqttSubscriptionManager manager = manager(ScaleOutMode.NONE, List.of("data/#"), 1, new CopyOnWriteArrayList<>());
+        pipeline.shutdown();
+
+        manager.deliver(0, "data/a/temperature", message("late", false), true);
+
+        assertEquals(1, manager.counters().dropped());
+        assertTrue(manager.counters().isBalanced());
+    }
+
+    @Test
+    void start_returnsWithoutWaitingForBrokerHandshake() throws Exception {
+        // 연결은 받지만 CONNACK을 보내지 않는 브로커 (accept 전이라도 커널 backlog에서 TCP 연결은 성립)
+        try (ServerSocket silentBroker = new ServerSocket(0)) {
+            MqttConnectOptions options = new MqttConnectOptions();
+            options.setConnectionTimeout(10);
+            MqttSubscriptionManager manager = manager("tcp://localhost:" + silentBroker.getLocalPort(), options,
+                    ScaleOutMode.NONE, List.of("data/a/#", "data/b/#"), 2, new CopyOnWriteArrayList<>());
+
+            long startedAt = System.nanoTime();
+            manager.start();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            assertTrue(elapsedMs < 2000, "start()가 브로커 응답을 기다림: " + elapsedMs + "ms");
+            assertTrue(manager.isRunning());
+            assertFalse(pool.isConnected());
+            manager.stop();
+            assertFalse(manager.isRunning());
+        }
+    }
+
+    private MqttSubscriptionManager manager(ScaleOutMode mode, List<String> filters, int connections,
+                                            List<String> handled) throws Exception {
+        return manager("tcp://localhost:1883", new MqttConnectOptions(), mode, filters, connections, handled);
+    }
+
+    private MqttSubscriptionManager manager(String brokerUrl, MqttConnectOptions options, ScaleOutMode mode,
+                                            List<String> filters, int connections,
+                                            List<String> handled) throws Exception {
+        pipeline = new IngestPipeline(2, 1024, BackpressurePolicy.BLOCK, 5000, spillDir.toString(), false);
+        pipeline.start(m -> handled.add(new String(m.payload(), StandardCharsets.UTF_8)));
+        pool = new MqttConnectionPool(brokerUrl, "dps-test", filters, connections, mode);
+        MqttInboundRouter router = new MqttInboundRouter(pipeline, new TopicOwnership(mode, 16, "node-1"));
+        return new MqttSubscriptionManager(pool, options, router, 0, 1000, true);
+    }
+
+    private static MqttMessage message(String payload, boolean duplicate) {
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        // setDuplicate는 Paho 내부용(protected)이라 하위 클래스로 DUP 플래그를 흉내 냄
+        return duplicate ? new MqttMessage(bytes) {
+            @Override
+            public boolean isDuplicate() {
+                return true;
+            }
+        } : new MqttMessage(bytes);
+    }
+}
@@ -0,0 +1,61 @@
+package com.nhnacademy.dataprocessorservice.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicOwnershipTest {
+
+    @Test
+    void hash_eachTopicOwnedByExactlyOneInstance() {
+        List<String> members = List.of("node-1", "node-2", "node-3");
+        List<TopicOwnership> instances = members.stream()
+                .map(id -> new TopicOwnership(ScaleOutMode.HASH, 64, id))
+                .toList();
+        instances.forEach(instance -> instance.rebalance(members));
+
+        for (int i = 0; i < 1_000; i++) {
+            String topic = "data/room" + i + "/temperature";
+            long owners = instances.stream().filter(instance -> instance.owns(topic)).count();
+            assertEquals(1, owners, topic);
+        }
+        assertEquals(1_000, instances.stream().mapToLong(TopicOwnership::ownedMessages).sum());
+    }
+
+    @Test
+    void hash_aloneOwnsEverythingUntilPeersAppear() {
+        TopicOwnership ownership = new TopicOwnership(ScaleOutMode.HASH, 64, "node-1");
+
+        assertTrue(ownership.owns("data/room1/co2"));
+        assertTrue(ownership.owns("data/room2/co2"));
+
+        ownership.rebalance(List.of("node-2", "node-3"));
+        assertEquals(List.of("node-1", "node-2", "node-3"), ownership.members());
+        assertEquals(1, ownership.rebalances());
+
+        ownership.rebalance(List.of("node-1", "node-2", "node-3"));
+        assertEquals(1, ownership.rebalances());
+    }
+
+    @Test
+    void otherModes_ownEveryTopic() {
+        TopicOwnership ownership = new TopicOwnership(ScaleOutMode.SHARED, 64, "node-1");
+        ownership.rebalance(List.of("node-2", "node-3"));
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(ownership.owns("data/room" + i + "/temperature"));
+        }
+        assertEquals(0, ownership.skippedMessages());
+    }
+
+    @Test
+    void shared_prefixesEachConfiguredTopic() {
+        assertEquals(List.of("$share/dps/data/#", "$share/dps/alerts/+"),
+                MqttTopicFilters.subscriptionFilters(" data/# , alerts/+ ,", ScaleOutMode.SHARED, "dps"));
+        assertEquals(List.of("data/#"), MqttTopicFilters.subscriptionFilters("data/#", ScaleOutMode.HASH, "dps"));
+        assertEquals("$share/other/data/#",
+                MqttTopicFilters.subscriptionFilter("$share/other/data/#", ScaleOutMode.SHARED, "dps"));
+    }
+}
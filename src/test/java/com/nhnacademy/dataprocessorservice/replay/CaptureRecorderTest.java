@@ -0,0 +1,100 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaptureRecorderTest {
+
+    @TempDir
+    Path dir;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    private static byte[] payload(long time, double value) {
+        return ("{\"time\":" + time + ",\"value\":" + value + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<CaptureRecord> readAll(Path file) throws IOException {
+        List<CaptureRecord> records = new ArrayList<>();
+        CaptureReader reader = CaptureReader.open(file);
+        CaptureRecord record;
+        while ((record = reader.next()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void record_writesRecordsReadableInOrder() throws IOException {
+        CaptureRecorder recorder = new CaptureRecorder(true, dir, 1 << 20, 3_600_000, now::get);
+
+        recorder.record("data/roomA/dev1/temperature", 1000L, payload(1000L, 23.5));
+        recorder.record("data/roomB/dev2/co2", 2000L, payload(2000L, 612));
+        recorder.close();
+
+        List<Path> files = ReplayService.resolveFiles(List.of(dir));
+        assertEquals(1, files.size());
+        List<CaptureRecord> records = readAll(files.get(0));
+        assertEquals(2, records.size());
+        assertEquals("data/roomA/dev1/temperature", records.get(0).topic());
+        assertEquals(1000L, records.get(0).deviceTime());
+        assertArrayEquals(payload(1000L, 23.5), records.get(0).payload());
+        assertEquals("data/roomB/dev2/co2", records.get(1).topic());
+        assertEquals(2, recorder.recordedCount());
+    }
+
+    @Test
+    void record_rollsToNewFileBySizeAndInterval() throws IOException {
+        CaptureRecorder recorder = new CaptureRecorder(true, dir, 100, 60_000, now::get);
+
+        recorder.record("data/roomA/dev1/temperature", 1L, payload(1L, 1));
+        recorder.record("data/roomA/dev1/temperature", 2L, payload(2L, 2));
+        now.addAndGet(60_000);
+        recorder.record("data/roomA/dev1/temperature", 3L, payload(3L, 3));
+        recorder.close();
+
+        List<Path> files = ReplayService.resolveFiles(List.of(dir));
+        assertEquals(3, files.size());
+        for (int i = 0; i < files.size(); i++) {
+            assertEquals(i + 1L, readAll(files.get(i)).get(0).deviceTime());
+        }
+    }
+
+    @Test
+    void reader_skipsTruncatedTailAndRejectsForeignFile() throws IOException {
+        CaptureRecorder recorder = new CaptureRecorder(true, dir, 1 << 20, 3_600_000, now::get);
+        recorder.record("data/roomA/dev1/temperature", 1L, payload(1L, 1));
+        recorder.record("data/roomA/dev1/temperature", 2L, payload(2L, 2));
+        recorder.close();
+        Path file = ReplayService.resolveFiles(List.of(dir)).get(0);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5), StandardOpenOption.TRUNCATE_EXISTING);
+        Path foreign = Files.writeString(dir.resolve("foreign.dpscap"), "not a capture");
+
+        assertEquals(1, readAll(file).size());
+        assertThrows(IOException.class, () -> CaptureReader.open(foreign));
+    }
+
+    @Test
+    void disabled_writesNothing() throws IOException {
+        CaptureRecorder recorder = new CaptureRecorder(false, dir, 1 << 20, 3_600_000, now::get);
+
+        recorder.record("data/roomA/dev1/temperature", 1L, payload(1L, 1));
+        recorder.flush();
+        recorder.close();
+
+        assertTrue(ReplayService.resolveFiles(List.of(dir)).isEmpty());
+    }
+}
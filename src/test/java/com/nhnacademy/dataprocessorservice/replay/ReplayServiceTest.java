@@ -0,0 +1,144 @@
+package com.nhnacademy.dataprocessorservice.replay;
+
+import com.nhnacademy.dataprocessorservice.exception.MqttProcessingException;
+import com.nhnacademy.dataprocessorservice.influx.DownsampleOptions;
+import com.nhnacademy.dataprocessorservice.influx.TumblingAggregator;
+import com.nhnacademy.dataprocessorservice.influx.WindowAggregate;
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
+import com.nhnacademy.dataprocessorservice.service.MqttSubscriberService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReplayServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final MqttSubscriberService subscriber = mock(MqttSubscriberService.class);
+    private final ReplayService service = new ReplayService(subscriber);
+
+    @BeforeEach
+    void routeBySeries() {
+        // "…/{location}/{device}/{type}"에서 디바이스를 뺀 (위치, 센서 종류)
+        when(subscriber.seriesKeyOf(any())).thenAnswer(invocation -> seriesKey(invocation.getArgument(0)));
+    }
+
+    private void capture(int count) {
+        AtomicLong now = new AtomicLong(1_700_000_000_000L);
+        CaptureRecorder recorder = new CaptureRecorder(true, dir, 1 << 20, 3_600_000, now::get);
+        for (int i = 1; i <= count; i++) {
+            recorder.record("data/room" + (i % 3) + "/dev/temperature", i * 1000L,
+                    ("{\"time\":" + i * 1000L + ",\"value\":20}").getBytes(StandardCharsets.UTF_8));
+        }
+        recorder.close();
+    }
+
+    private static ReplayOptions.ReplayOptionsBuilder options(Path path) {
+        return ReplayOptions.builder().paths(List.of(path)).dispatchToModel(true).parallelism(2);
+    }
+
+    @Test
+    void replay_pushesEveryRecordThroughProcessingPath() throws Exception {
+        capture(10);
+
+        ReplayService.Result result = service.replay(options(dir).build());
+
+        assertEquals(1, result.files());
+        assertEquals(10, result.read());
+        assertEquals(10, result.processed());
+        assertEquals(0, result.failed());
+        verify(subscriber, times(10)).replayMessage(any(), any(), eq(true), any());
+    }
+
+    @Test
+    void replay_filtersByDeviceTimeAndCanSkipModelDispatch() throws Exception {
+        capture(10);
+
+        ReplayService.Result result = service.replay(options(dir)
+                .dispatchToModel(false)
+                .fromMillis(3000)
+                .toMillis(8000)
+                .build());
+
+        assertEquals(5, result.processed());
+        assertEquals(5, result.filtered());
+        verify(subscriber, times(5)).replayMessage(any(), any(), eq(false), any());
+        verify(subscriber, never()).replayMessage(any(), any(), eq(true), any());
+    }
+
+    @Test
+    void replay_countsFailuresAndContinues() throws Exception {
+        capture(4);
+        doThrow(new MqttProcessingException("bad")).when(subscriber)
+                .replayMessage(eq("data/room1/dev/temperature"), any(), anyBoolean(), any());
+
+        ReplayService.Result result = service.replay(options(dir).build());
+
+        assertEquals(4, result.read());
+        assertEquals(2, result.failed());
+        assertEquals(2, result.processed());
+    }
+
+    @Test
+    void replay_aggregatesSeriesSpreadOverDeviceTopicsIntoFullWindows() throws Exception {
+        long base = 1_700_000_040_000L - 1_700_000_040_000L % 60_000;
+        AtomicLong now = new AtomicLong(base);
+        CaptureRecorder recorder = new CaptureRecorder(true, dir, 1 << 20, 3_600_000, now::get);
+        // 3분 동안 roomA 디바이스 세 대가 1초마다 temperature를 보냄 → (roomA, temperature) 윈도우마다 180건
+        for (int second = 0; second < 180; second++) {
+            for (int device = 0; device < 3; device++) {
+                long time = base + second * 1000L + device * 10L;
+                recorder.record("data/roomA/dev" + device + "/temperature", time,
+                        ("{\"time\":" + time + ",\"value\":20}").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        recorder.close();
+
+        List<WindowAggregate> emitted = new CopyOnWriteArrayList<>();
+        TumblingAggregator aggregates = new TumblingAggregator(DownsampleOptions.builder()
+                .policy(WritePolicy.AGGREGATED)
+                .measurement("sensor_agg")
+                .windowMs(60_000)
+                .graceMs(5_000)
+                .flushIntervalMs(1_000)
+                .build(), emitted::add);
+        when(subscriber.newBackfillAggregator()).thenReturn(aggregates);
+        doAnswer(invocation -> {
+            String topic = invocation.getArgument(0);
+            String payload = new String(invocation.<byte[]>getArgument(1), StandardCharsets.UTF_8);
+            long time = Long.parseLong(payload.substring(payload.indexOf(':') + 1, payload.indexOf(',')));
+            String[] segments = topic.split("/");
+            invocation.<TumblingAggregator>getArgument(3).record(segments[1], segments[3], 20, time);
+            return null;
+        }).when(subscriber).replayMessage(any(), any(), anyBoolean(), any());
+
+        ReplayService.Result result = service.replay(options(dir).parallelism(4).build());
+
+        assertEquals(540, result.processed());
+        assertEquals(0, aggregates.lateSamples());
+        assertEquals(3, emitted.size());
+        for (WindowAggregate window : emitted) {
+            assertEquals(180, window.count(), "윈도우 " + window.windowStart());
+        }
+        assertEquals(List.of(base, base + 60_000, base + 120_000),
+                emitted.stream().map(WindowAggregate::windowStart).sorted().toList());
+    }
+
+    private static String seriesKey(String topic) {
+        String[] segments = topic.split("/");
+        return segments[1] + "/" + segments[3];
+    }
+}
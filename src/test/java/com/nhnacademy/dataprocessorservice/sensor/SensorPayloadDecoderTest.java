@@ -0,0 +1,63 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException.Reason;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensorPayloadDecoderTest {
+
+    private final SensorPayloadDecoder decoder = new SensorPayloadDecoder(new ObjectMapper());
+
+    @Test
+    void decode_flatValue() {
+        SensorReading reading = decoder.decode(bytes("{\"time\":1700000000123,\"value\":23.5}"), "temperature");
+
+        assertEquals(1700000000123L, reading.time());
+        assertEquals(23.5, reading.value());
+    }
+
+    @Test
+    void decode_nestedValueInAnyFieldOrder() {
+        SensorReading reading = decoder.decode(
+                bytes("{\"value\":{\"humidity\":41,\"extra\":{\"a\":[1,2]},\"co2\":612},\"deviceId\":\"x\",\"time\":5}"),
+                "co2");
+
+        assertEquals(5L, reading.time());
+        assertEquals(612.0, reading.value());
+    }
+
+    @Test
+    void decode_rejectsMissingNestedType() {
+        byte[] payload = bytes("{\"time\":1,\"value\":{\"humidity\":41}}");
+
+        assertThrows(InvalidPayloadException.class, () -> decoder.decode(payload, "temperature"));
+    }
+
+    @Test
+    void decode_rejectsMalformedJson() {
+        assertThrows(InvalidPayloadException.class, () -> decoder.decode(bytes("{\"time\":1,\"value\":"), "co2"));
+        assertThrows(InvalidPayloadException.class, () -> decoder.decode(bytes("[1,2]"), "co2"));
+        assertThrows(InvalidPayloadException.class, () -> decoder.decode(bytes("{\"time\":1,\"value\":\"hot\"}"), "co2"));
+    }
+
+    @Test
+    void decode_classifiesFailureReason() {
+        assertEquals(Reason.MALFORMED_JSON, reasonOf("{\"time\":1,\"value\":"));
+        assertEquals(Reason.NOT_OBJECT, reasonOf("[1,2]"));
+        assertEquals(Reason.MISSING_VALUE, reasonOf("{\"time\":1,\"value\":\"hot\"}"));
+        assertEquals(Reason.BAD_TIME, reasonOf("{\"time\":\"noon\",\"value\":1}"));
+    }
+
+    private Reason reasonOf(String json) {
+        return assertThrows(InvalidPayloadException.class, () -> decoder.decode(bytes(json), "co2")).reason();
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SensorTypeRegistryTest {
+
+    @Test
+    void defaults_indexBuiltInTypesByOrdinal() {
+        SensorTypeRegistry registry = SensorTypeRegistry.defaults();
+
+        for (SensorType type : SensorType.values()) {
+            SensorTypeDescriptor descriptor = registry.find(type.getId());
+            assertEquals(type.ordinal(), descriptor.index());
+            assertSame(descriptor, registry.get(type.ordinal()));
+        }
+        assertTrue(registry.find("temperature").modelEligible());
+        assertFalse(registry.find("battery").modelEligible());
+        assertNull(registry.find("pm25"));
+    }
+
+    @Test
+    void defaults_acceptEveryValueBuiltInTypesAcceptedBeforeRanges() {
+        SensorTypeRegistry registry = SensorTypeRegistry.defaults();
+
+        assertTrue(registry.find("co2").accepts(50_000));
+        assertTrue(registry.find("illumination").accepts(250_000));
+        assertTrue(registry.find("temperature").accepts(-60));
+        assertTrue(registry.find("humidity").accepts(101));
+        assertTrue(registry.find("battery").accepts(-1));
+        assertFalse(registry.find("co2").accepts(Double.NaN));
+    }
+
+    @Test
+    void reload_appliesConfiguredRangeToBuiltInType() {
+        SensorTypeRegistry registry = new SensorTypeRegistry(Map.of(
+                "co2", new SensorTypeSpec(null, null, 0.0, 10_000.0, null, null, null)),
+                WritePolicy.RAW);
+
+        assertTrue(registry.find("co2").accepts(10_000));
+        assertFalse(registry.find("co2").accepts(50_000));
+        assertTrue(registry.find("illumination").accepts(250_000));
+    }
+
+    @Test
+    void reload_overridesBuiltInAndAppendsNewTypes() {
+        SensorTypeRegistry registry = new SensorTypeRegistry(Map.of(
+                "battery", new SensorTypeSpec(null, null, null, null, true, null, null),
+                "pm25", new SensorTypeSpec("미세먼지", "㎍/㎥", 0.0, 500.0, null, WritePolicy.BOTH, null)),
+                WritePolicy.RAW);
+
+        assertTrue(registry.find("battery").modelEligible());
+        assertEquals("%", registry.find("battery").unit());
+
+        SensorTypeDescriptor pm25 = registry.find("pm25");
+        assertEquals(SensorType.values().length, pm25.index());
+        assertEquals(WritePolicy.BOTH, pm25.storage());
+        assertFalse(pm25.modelEligible());
+        assertTrue(pm25.accepts(35));
+        assertFalse(pm25.accepts(501));
+        assertFalse(pm25.accepts(Double.NaN));
+    }
+
+    @Test
+    void reload_keepsIndexesAndBumpsGeneration() {
+        SensorTypeRegistry registry = SensorTypeRegistry.defaults();
+        registry.reload(Map.of("pm25", new SensorTypeSpec(null, null, null, null, null, null, null)));
+        int pm25 = registry.find("pm25").index();
+        long generation = registry.generation();
+
+        registry.reload(Map.of(
+                "pm10", new SensorTypeSpec(null, null, null, null, null, null, null),
+                "pm25", new SensorTypeSpec(null, "㎍/㎥", null, null, null, null, null),
+                "co2", new SensorTypeSpec(null, null, null, null, null, null, false)));
+
+        assertEquals(pm25, registry.find("pm25").index());
+        assertEquals(pm25 + 1, registry.find("pm10").index());
+        assertNull(registry.find("co2"));
+        assertNull(registry.get(SensorType.CO2.ordinal()));
+        assertEquals(generation + 1, registry.generation());
+    }
+}
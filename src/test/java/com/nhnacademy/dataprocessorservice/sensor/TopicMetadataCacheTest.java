@@ -0,0 +1,79 @@
+package com.nhnacademy.dataprocessorservice.sensor;
+
+import com.nhnacademy.dataprocessorservice.exception.InvalidPayloadException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicMetadataCacheTest {
+
+    @Test
+    void resolve_extractsLocationAndType() {
+        TopicMetadataCache cache = new TopicMetadataCache(SensorTypeRegistry.defaults(), 100);
+
+        TopicMetadata metadata = cache.resolve("data/class_a/24e124128c067999/temperature");
+
+        assertEquals("class_a", metadata.location());
+        assertEquals("temperature", metadata.type().id());
+        assertEquals(SensorType.TEMPERATURE.ordinal(), metadata.type().index());
+        assertEquals("℃", metadata.unit());
+    }
+
+    @Test
+    void resolve_productionTopicKeepsThirdSegmentFromEnd() {
+        TopicMetadataCache cache = new TopicMetadataCache(SensorTypeRegistry.defaults(), 100);
+
+        // 운영 토픽 …/p/{place}/d/{device}/e/{type} 에서도 기존 extractLocation처럼 끝에서 세 번째 세그먼트를 위치로 씀
+        TopicMetadata metadata = cache.resolve("data/s/nhnacademy/b/gyeongnam/p/class_a/d/24e124128c067999/e/temperature");
+
+        assertEquals("24e124128c067999", metadata.location());
+        assertTrue(metadata.isSupported());
+    }
+
+    @Test
+    void resolve_cachesUnsupportedType() {
+        TopicMetadataCache cache = new TopicMetadataCache(SensorTypeRegistry.defaults(), 100);
+
+        assertFalse(cache.resolve("room/dev/vdd").isSupported());
+        assertFalse(cache.resolve("room/dev/vdd").isSupported());
+
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void resolve_rejectsShortTopic() {
+        TopicMetadataCache cache = new TopicMetadataCache(SensorTypeRegistry.defaults(), 100);
+
+        assertThrows(InvalidPayloadException.class, () -> cache.resolve("dev/temperature"));
+    }
+
+    @Test
+    void resolve_evictsWhenFull() {
+        TopicMetadataCache cache = new TopicMetadataCache(SensorTypeRegistry.defaults(), 10);
+
+        for (int i = 0; i < 50; i++) {
+            cache.resolve("room" + i + "/dev/co2");
+        }
+
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.evictions() >= 40);
+    }
+
+    @Test
+    void resolve_reresolvesAfterSensorTypesReload() {
+        SensorTypeRegistry sensorTypes = SensorTypeRegistry.defaults();
+        TopicMetadataCache cache = new TopicMetadataCache(sensorTypes, 100);
+
+        assertFalse(cache.resolve("data/class_a/dev1/pm25").isSupported());
+
+        sensorTypes.reload(Map.of("pm25", new SensorTypeSpec("미세먼지", "㎍/㎥", 0.0, 1000.0, null, null, null)));
+
+        TopicMetadata metadata = cache.resolve("data/class_a/dev1/pm25");
+        assertTrue(metadata.isSupported());
+        assertEquals("㎍/㎥", metadata.unit());
+        assertEquals(2, cache.misses());
+    }
+}
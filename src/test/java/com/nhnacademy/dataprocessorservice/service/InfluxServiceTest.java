@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.*;
 import com.influxdb.client.WriteApi;
 import com.influxdb.client.domain.WritePrecision;
 import com.influxdb.client.write.Point;
+import com.nhnacademy.dataprocessorservice.influx.DownsampleOptions;
+import com.nhnacademy.dataprocessorservice.influx.WritePolicy;
 import org.mockito.ArgumentCaptor;
 
 import static org.mockito.Mockito.*;
@@ -28,4 +30,44 @@ class InfluxServiceTest {
         assertTrue(line.contains("type=temperature"));                  // tag type
         assertTrue(line.contains("value=23.5"));                        // field value
     }
-}
\ No newline at end of file
+
+    @Test
+    void writeSensorData_aggregatedPolicyWritesOnlyWindowAggregates() {
+        WriteApi writeApi = mock(WriteApi.class);
+        InfluxService svc = new InfluxService(writeApi, null, DownsampleOptions.builder()
+                .policy(WritePolicy.AGGREGATED)
+                .measurement("sensor_agg")
+                .windowMs(60_000)
+                .graceMs(0)
+                .flushIntervalMs(60_000)
+                .build());
+
+        svc.writeSensorData("roomA", "co2", 600, 1_700_000_000_000L);
+        svc.writeSensorData("roomA", "co2", 700, 1_700_000_001_000L);
+        svc.writeSensorData("roomA", "co2", 500, 1_700_000_002_000L);
+        verify(writeApi, never()).writePoint(any(Point.class));
+        svc.flushAggregates();
+
+        ArgumentCaptor<Point> captor = ArgumentCaptor.forClass(Point.class);
+        verify(writeApi).writePoint(captor.capture());
+        String line = captor.getValue().toLineProtocol();
+        assertTrue(line.startsWith("sensor_agg,location=roomA,type=co2 "));
+        assertTrue(line.contains("count=3i"));
+        assertTrue(line.contains("min=500"));
+        assertTrue(line.contains("max=700"));
+        assertTrue(line.contains("mean=600"));
+        assertTrue(line.contains("last=500"));
+    }
+
+    @Test
+    void writeSensorData_perTypeAggregationFallsBackToRawWhenDownsamplingIsOff() {
+        WriteApi writeApi = mock(WriteApi.class);
+        InfluxService svc = new InfluxService(writeApi);
+
+        svc.writeSensorData("roomA", "pm25", 35, 1_700_000_000_000L, WritePolicy.AGGREGATED);
+
+        ArgumentCaptor<Point> captor = ArgumentCaptor.forClass(Point.class);
+        verify(writeApi).writePoint(captor.capture());
+        assertTrue(captor.getValue().toLineProtocol().startsWith("sensor,location=roomA,type=pm25 "));
+    }
+}
@@ -0,0 +1,60 @@
+package com.nhnacademy.dataprocessorservice.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingStatsStoreTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final RollingStatsStore store = new RollingStatsStore(true, 4, now::get);
+
+    @Test
+    void record_keepsLastValueAndWindowAggregates() {
+        store.record("roomA", "temperature", 20.0, 1L);
+        store.record("roomA", "temperature", 24.0, 2L);
+        store.record("roomA", "temperature", 22.0, 3L);
+
+        SensorStats stats = store.find("roomA", "temperature").orElseThrow();
+
+        assertEquals(22.0, stats.lastValue());
+        assertEquals(3L, stats.lastTime());
+        WindowStats minute = stats.windows().get("1m");
+        assertEquals(3, minute.count());
+        assertEquals(20.0, minute.min());
+        assertEquals(24.0, minute.max());
+        assertEquals(22.0, minute.mean());
+        assertEquals(minute, stats.windows().get("1h"));
+    }
+
+    @Test
+    void snapshot_expiresSamplesOutsideEachWindow() {
+        store.record("roomA", "co2", 900, 0L);
+        now.addAndGet(2 * 60_000);
+        store.record("roomA", "co2", 500, 0L);
+
+        SensorStats stats = store.find("roomA", "co2").orElseThrow();
+
+        assertEquals(new WindowStats(1, 500.0, 500.0, 500.0), stats.windows().get("1m"));
+        assertEquals(2, stats.windows().get("5m").count());
+        assertEquals(900.0, stats.windows().get("1h").max());
+
+        now.addAndGet(2 * 3_600_000);
+        assertEquals(WindowStats.EMPTY, store.find("roomA", "co2").orElseThrow().windows().get("1h"));
+        assertEquals(500.0, store.find("roomA", "co2").orElseThrow().lastValue());
+    }
+
+    @Test
+    void find_returnsEmptyForUnknownSeriesAndGroupsByLocation() {
+        store.record("roomA", "temperature", 20.0, 1L);
+        store.record("roomA", "humidity", 40.0, 1L);
+        store.record("roomB", "humidity", 50.0, 1L);
+
+        assertTrue(store.find("roomC", "temperature").isEmpty());
+        assertEquals(2, store.findByLocation("roomA").size());
+        assertEquals(3, store.findAll().size());
+        assertEquals(3, store.seriesCount());
+    }
+}
@@ -0,0 +1,50 @@
+package com.nhnacademy.dataprocessorservice.trace;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TraceSamplerTest {
+
+    @Test
+    void contextOf_samplesRoughlyTheConfiguredRate() {
+        TraceSampler sampler = new TraceSampler(0.1);
+
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (sampler.newContext().sampled()) {
+                sampled++;
+            }
+        }
+
+        assertTrue(sampled > 9_000 && sampled < 11_000, "샘플 수: " + sampled);
+    }
+
+    @Test
+    void contextOf_isDeterministicPerTraceIdAndRespectsBounds() {
+        TraceSampler sampler = new TraceSampler(0.5);
+        long id = TraceIds.next();
+
+        assertEquals(sampler.contextOf(id), sampler.contextOf(id));
+        assertSame(TraceContext.NONE, sampler.contextOf(0));
+        assertFalse(new TraceSampler(0).newContext().sampled());
+        assertTrue(new TraceSampler(1).newContext().sampled());
+    }
+
+    @Test
+    void bindMdc_onlyTouchesMdcWhenSampled() {
+        TraceContext unsampled = new TraceContext(42, false);
+        assertFalse(unsampled.bindMdc("svc"));
+        assertNull(MDC.get("traceId"));
+
+        TraceContext sampled = new TraceContext(0xABCL, true);
+        assertTrue(sampled.bindMdc("svc"));
+        assertEquals("0000000000000abc", MDC.get("traceId"));
+        assertEquals("svc", MDC.get("source"));
+        assertEquals(16, MDC.get("messageId").length());
+
+        sampled.clearMdc();
+        assertNull(MDC.get("traceId"));
+    }
+}